@@ -0,0 +1,343 @@
+package dev.morphia;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.lang.Nullable;
+import dev.morphia.internal.BatchSave;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.query.CachedEntities;
+import dev.morphia.query.Query;
+import dev.morphia.query.ValidationException;
+import dev.morphia.query.experimental.filters.Filter;
+import dev.morphia.query.experimental.updates.UpdateOperator;
+import dev.morphia.sofia.Sofia;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects inserts, saves, updates and deletes so that they can be sent in as few round trips as possible.  Operations are grouped by
+ * collection and each group is sent using bulk writes of at most {@link BulkOptions#getBatchSize()} operations.  Ordered operations are
+ * only grouped while they follow each other, so they are sent in the order they were added; unordered operations on a collection are all
+ * sent together.
+ * <p>
+ * Entities are saved following the same rules as {@link Datastore#save(Object)}: a versioned entity only replaces the stored document if
+ * the versions match.  Versions are incremented when the operations are executed and restored on any entity which was not written.  The
+ * outcome of each operation is available from the {@link BulkResult} using the position at which it was added.
+ *
+ * @see Datastore#bulk()
+ * @since 2.3
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class BulkOperations {
+    private final DatastoreImpl datastore;
+    private final Mapper mapper;
+    private final List<Operation> operations = new ArrayList<>();
+
+    BulkOperations(DatastoreImpl datastore) {
+        this.datastore = datastore;
+        this.mapper = datastore.getMapper();
+    }
+
+    /**
+     * Adds the deletion of the first document matching a filter
+     *
+     * @param type   the entity type
+     * @param filter the filter
+     * @param <T>    the entity type
+     * @return this
+     */
+    public <T> BulkOperations delete(Class<T> type, Filter filter) {
+        return add(new QueryOperation(type, query(type, filter).toDocument(), null, false));
+    }
+
+    /**
+     * Adds the deletion of every document matching a filter
+     *
+     * @param type   the entity type
+     * @param filter the filter
+     * @param <T>    the entity type
+     * @return this
+     */
+    public <T> BulkOperations deleteMany(Class<T> type, Filter filter) {
+        return add(new QueryOperation(type, query(type, filter).toDocument(), null, true));
+    }
+
+    /**
+     * Executes the operations
+     *
+     * @return the results
+     */
+    public BulkResult execute() {
+        return execute(new BulkOptions());
+    }
+
+    /**
+     * Executes the operations.  Write errors do not throw exceptions but are reported as the outcome of the operations which caused
+     * them.
+     *
+     * @param options the options to apply
+     * @return the results
+     */
+    public BulkResult execute(BulkOptions options) {
+        // ordered operations are only grouped with those next to them so that the writes are sent in the order they were added
+        List<List<Integer>> groups = new ArrayList<>();
+        Map<String, List<Integer>> byCollection = new HashMap<>();
+        String previous = null;
+        for (int i = 0; i < operations.size(); i++) {
+            String collection = mapper.getEntityModel(operations.get(i).type).getCollectionName();
+            List<Integer> group;
+            if (options.isOrdered()) {
+                group = collection.equals(previous) ? groups.get(groups.size() - 1) : null;
+            } else {
+                group = byCollection.get(collection);
+            }
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.add(group);
+                byCollection.put(collection, group);
+            }
+            group.add(i);
+            previous = collection;
+        }
+
+        BulkResult result = new BulkResult(operations.size());
+        ClientSession session = datastore.findSession(options);
+        boolean proceed = true;
+        for (List<Integer> indexes : groups) {
+            MongoCollection collection = options.prepare(mapper.getCollection(operations.get(indexes.get(0)).type));
+            for (int start = 0; proceed && start < indexes.size(); start += options.getBatchSize()) {
+                List<Integer> batch = indexes.subList(start, Math.min(start + options.getBatchSize(), indexes.size()));
+                proceed = write(collection, batch, options, session, result) || !options.isOrdered();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the insertion of an entity
+     *
+     * @param entity the entity
+     * @param <T>    the entity type
+     * @return this
+     */
+    public <T> BulkOperations insert(T entity) {
+        PropertyModel versionProperty = mapper.getEntityModel(entity.getClass()).getVersionProperty();
+        if (versionProperty != null) {
+            Object value = versionProperty.getValue(entity);
+            if (value != null && !value.equals(0L)) {
+                throw new ValidationException(Sofia.versionManuallySet());
+            }
+        }
+        return add(new EntityOperation(entity, versionProperty, true));
+    }
+
+    /**
+     * Adds the saving of an entity.  New entities are inserted and others replace the stored document.
+     *
+     * @param entity the entity
+     * @param <T>    the entity type
+     * @return this
+     * @see Datastore#save(Object)
+     */
+    public <T> BulkOperations save(T entity) {
+        return add(new EntityOperation(entity, mapper.getEntityModel(entity.getClass()).getVersionProperty(), false));
+    }
+
+    /**
+     * @return the number of operations added
+     */
+    public int size() {
+        return operations.size();
+    }
+
+    /**
+     * Adds an update of the first document matching a filter
+     *
+     * @param type    the entity type
+     * @param filter  the filter
+     * @param first   the first update operator
+     * @param updates any other update operators
+     * @param <T>     the entity type
+     * @return this
+     */
+    public <T> BulkOperations update(Class<T> type, Filter filter, UpdateOperator first, UpdateOperator... updates) {
+        Query<T> query = query(type, filter);
+        return add(new QueryOperation(type, query.toDocument(), query.update(first, updates).toDocument(), false));
+    }
+
+    /**
+     * Adds an update of every document matching a filter
+     *
+     * @param type    the entity type
+     * @param filter  the filter
+     * @param first   the first update operator
+     * @param updates any other update operators
+     * @param <T>     the entity type
+     * @return this
+     */
+    public <T> BulkOperations updateMany(Class<T> type, Filter filter, UpdateOperator first, UpdateOperator... updates) {
+        Query<T> query = query(type, filter);
+        return add(new QueryOperation(type, query.toDocument(), query.update(first, updates).toDocument(), true));
+    }
+
+    private BulkOperations add(Operation operation) {
+        operations.add(operation);
+        return this;
+    }
+
+    private <T> Query<T> query(Class<T> type, Filter filter) {
+        return datastore.find(type).filter(filter);
+    }
+
+    /**
+     * Sends one batch of operations.
+     *
+     * @return true if every operation in the batch was written
+     */
+    private boolean write(MongoCollection collection, List<Integer> batch, BulkOptions options, @Nullable ClientSession session,
+                          BulkResult result) {
+        // the entities are saved exactly as Datastore.save() would so their models and version changes come from a BatchSave
+        List<Object> entities = new ArrayList<>();
+        BitSet inserts = new BitSet();
+        for (Integer index : batch) {
+            Operation operation = operations.get(index);
+            if (operation instanceof EntityOperation) {
+                EntityOperation entityOperation = (EntityOperation) operation;
+                // the snapshot of a change tracked entity would no longer match what is stored
+                mapper.getSnapshots().remove(entityOperation.entity);
+                inserts.set(entities.size(), entityOperation.insert);
+                entities.add(entityOperation.entity);
+            }
+        }
+        InsertManyOptions saveOptions = new InsertManyOptions()
+                                            .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                            .ordered(options.isOrdered());
+        BatchSave<Object> save = new BatchSave<>(mapper, entities, inserts, saveOptions);
+        Iterator<WriteModel<Object>> saves = save.getModels().iterator();
+        List<WriteModel> models = new ArrayList<>(batch.size());
+        for (Integer index : batch) {
+            Operation operation = operations.get(index);
+            models.add(operation instanceof EntityOperation ? saves.next() : ((QueryOperation) operation).model());
+        }
+
+        BulkWriteOptions bulkWriteOptions = save.getOptions();
+        int written = batch.size();
+        try {
+            BulkWriteResult writeResult = session == null
+                                          ? collection.bulkWrite(models, bulkWriteOptions)
+                                          : collection.bulkWrite(session, models, bulkWriteOptions);
+            result.add(writeResult, batch);
+        } catch (MongoBulkWriteException e) {
+            result.add(e.getWriteResult(), batch);
+            result.add(e.getWriteConcernError());
+            for (BulkWriteError error : e.getWriteErrors()) {
+                Operation operation = operations.get(batch.get(error.getIndex()));
+                result.failed(batch.get(error.getIndex()), error, operation.isVersioned());
+                written = Math.min(written, error.getIndex());
+            }
+            if (!options.isOrdered()) {
+                written = batch.size();
+            }
+        }
+
+        boolean complete = true;
+        int saved = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            int index = batch.get(i);
+            Operation operation = operations.get(index);
+            boolean entity = operation instanceof EntityOperation;
+            if (i < written && result.getError(index) == null) {
+                result.written(index);
+            } else {
+                if (entity) {
+                    save.rollback(saved);
+                }
+                complete = false;
+            }
+            if (entity) {
+                saved++;
+            }
+            operation.invalidate(session);
+        }
+        return complete;
+    }
+
+    private abstract static class Operation {
+        final Class<?> type;
+
+        Operation(Class<?> type) {
+            this.type = type;
+        }
+
+        abstract void invalidate(@Nullable ClientSession session);
+
+        boolean isVersioned() {
+            return false;
+        }
+    }
+
+    private final class EntityOperation extends Operation {
+        private final Object entity;
+        private final boolean versioned;
+        private final boolean insert;
+
+        private EntityOperation(Object entity, @Nullable PropertyModel versionProperty, boolean insert) {
+            super(entity.getClass());
+            this.entity = entity;
+            this.versioned = versionProperty != null;
+            this.insert = insert;
+        }
+
+        @Override
+        void invalidate(@Nullable ClientSession session) {
+            datastore.invalidate(entity, session);
+        }
+
+        @Override
+        boolean isVersioned() {
+            return versioned;
+        }
+    }
+
+    private final class QueryOperation extends Operation {
+        private final Document filter;
+        @Nullable
+        private final Document update;
+        private final boolean many;
+
+        private QueryOperation(Class<?> type, Document filter, @Nullable Document update, boolean many) {
+            super(type);
+            this.filter = filter;
+            this.update = update;
+            this.many = many;
+        }
+
+        @Override
+        void invalidate(@Nullable ClientSession session) {
+            CachedEntities.invalidate(datastore, mapper.getEntityModel(type).getCollectionName(), null, session);
+        }
+
+        WriteModel model() {
+            if (update == null) {
+                return many ? new DeleteManyModel<>(filter) : new DeleteOneModel<>(filter);
+            }
+            return many ? new UpdateManyModel<>(filter, update) : new UpdateOneModel<>(filter, update);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.morphia;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.ClientSession;
+import com.mongodb.lang.Nullable;
+import dev.morphia.internal.SessionConfigurable;
+import dev.morphia.internal.WriteConfigurable;
+import dev.morphia.sofia.Sofia;
+
+/**
+ * Options to apply when executing {@link BulkOperations}.  The setter methods return {@code this} so that a chaining style can be used.
+ *
+ * @since 2.3
+ */
+public class BulkOptions implements SessionConfigurable<BulkOptions>, WriteConfigurable<BulkOptions> {
+    private boolean ordered = true;
+    private Boolean bypassDocumentValidation;
+    private int batchSize = 1000;
+    private WriteConcern writeConcern;
+    private ClientSession clientSession;
+
+    /**
+     * Creates a new options wrapper
+     */
+    public BulkOptions() {
+    }
+
+    /**
+     * @param that the options to copy
+     * @morphia.internal
+     */
+    public BulkOptions(BulkOptions that) {
+        this.ordered = that.ordered;
+        this.bypassDocumentValidation = that.bypassDocumentValidation;
+        this.batchSize = that.batchSize;
+        this.writeConcern = that.writeConcern;
+        this.clientSession = that.clientSession;
+    }
+
+    /**
+     * Sets the largest number of operations sent to a collection in one bulk write.  Larger batches are split into several bulk writes.
+     * The default is 1000.  The driver further splits any batch which would exceed the server's message size limit.
+     *
+     * @param batchSize the batch size
+     * @return this
+     */
+    public BulkOptions batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(Sofia.invalidBatchSize(batchSize));
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets whether to bypass document validation.
+     *
+     * @param bypassDocumentValidation whether to bypass document validation, or null if unspecified
+     * @return this
+     * @mongodb.server.release 3.2
+     */
+    public BulkOptions bypassDocumentValidation(@Nullable Boolean bypassDocumentValidation) {
+        this.bypassDocumentValidation = bypassDocumentValidation;
+        return this;
+    }
+
+    @Override
+    public BulkOptions clientSession(@Nullable ClientSession clientSession) {
+        this.clientSession = clientSession;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public ClientSession clientSession() {
+        return clientSession;
+    }
+
+    /**
+     * @return the largest number of operations sent to a collection in one bulk write
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets whether to bypass document validation, or null if unspecified.  The default is null.
+     *
+     * @return whether to bypass document validation, or null if unspecified.
+     * @mongodb.server.release 3.2
+     */
+    @Nullable
+    public Boolean getBypassDocumentValidation() {
+        return bypassDocumentValidation;
+    }
+
+    /**
+     * Gets whether the operations are executed in the order given, stopping at the first failure.  The default is true.  If false, the
+     * server attempts every operation regardless of any failures.
+     *
+     * @return whether the operations are executed in order
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Sets whether the operations are executed in the order given, stopping at the first failure.
+     *
+     * @param ordered true if the operations should be executed in order
+     * @return this
+     */
+    public BulkOptions ordered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    @Override
+    public BulkOptions writeConcern(@Nullable WriteConcern writeConcern) {
+        this.writeConcern = writeConcern;
+        return this;
+    }
+
+    @Override
+    @Nullable
+    public WriteConcern writeConcern() {
+        return writeConcern;
+    }
+}
@@ -0,0 +1,189 @@
+package dev.morphia;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.lang.Nullable;
+import org.bson.BsonValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The outcome of executing {@link BulkOperations}.  Besides the totals reported by the server, the outcome of each operation can be looked
+ * up using the position at which it was added.
+ *
+ * @since 2.3
+ */
+public final class BulkResult {
+    private final Status[] statuses;
+    private final BulkWriteError[] errors;
+    private final BsonValue[] upsertedIds;
+    private final List<WriteConcernError> writeConcernErrors = new ArrayList<>();
+    private boolean acknowledged = true;
+    private int insertedCount;
+    private int matchedCount;
+    private int modifiedCount;
+    private int deletedCount;
+
+    BulkResult(int size) {
+        statuses = new Status[size];
+        errors = new BulkWriteError[size];
+        upsertedIds = new BsonValue[size];
+        Arrays.fill(statuses, Status.NOT_ATTEMPTED);
+    }
+
+    /**
+     * @return the number of documents deleted
+     * @throws UnsupportedOperationException if the write was unacknowledged
+     */
+    public int getDeletedCount() {
+        checkAcknowledged();
+        return deletedCount;
+    }
+
+    /**
+     * @param index the position of the operation
+     * @return the error the operation failed with or null if it did not fail
+     */
+    @Nullable
+    public BulkWriteError getError(int index) {
+        return errors[index];
+    }
+
+    /**
+     * @return the number of documents inserted, not counting upserts
+     * @throws UnsupportedOperationException if the write was unacknowledged
+     */
+    public int getInsertedCount() {
+        checkAcknowledged();
+        return insertedCount;
+    }
+
+    /**
+     * @return the number of documents matched by updates and replacements
+     * @throws UnsupportedOperationException if the write was unacknowledged
+     */
+    public int getMatchedCount() {
+        checkAcknowledged();
+        return matchedCount;
+    }
+
+    /**
+     * @return the number of documents modified by updates and replacements
+     * @throws UnsupportedOperationException if the write was unacknowledged
+     */
+    public int getModifiedCount() {
+        checkAcknowledged();
+        return modifiedCount;
+    }
+
+    /**
+     * @param index the position of the operation
+     * @return the outcome of the operation
+     */
+    public Status getStatus(int index) {
+        return statuses[index];
+    }
+
+    /**
+     * @param index the position of the operation
+     * @return the ID of the document the operation upserted or null if it did not upsert one
+     */
+    @Nullable
+    public BsonValue getUpsertedId(int index) {
+        return upsertedIds[index];
+    }
+
+    /**
+     * @return any write concern errors reported by the server
+     */
+    public List<WriteConcernError> getWriteConcernErrors() {
+        return writeConcernErrors;
+    }
+
+    /**
+     * @return true if every operation was written and no write concern errors were reported
+     */
+    public boolean isSuccessful() {
+        return writeConcernErrors.isEmpty() && Arrays.stream(statuses).allMatch(status -> status == Status.WRITTEN);
+    }
+
+    /**
+     * @return the number of operations
+     */
+    public int size() {
+        return statuses.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkResult{statuses=%s, writeConcernErrors=%s}", Arrays.toString(statuses), writeConcernErrors);
+    }
+
+    /**
+     * @return true if the writes were acknowledged
+     */
+    public boolean wasAcknowledged() {
+        return acknowledged;
+    }
+
+    void add(BulkWriteResult result, List<Integer> indexes) {
+        if (!result.wasAcknowledged()) {
+            acknowledged = false;
+            return;
+        }
+        insertedCount += result.getInsertedCount();
+        matchedCount += result.getMatchedCount();
+        modifiedCount += result.getModifiedCount();
+        deletedCount += result.getDeletedCount();
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            upsertedIds[indexes.get(upsert.getIndex())] = upsert.getId();
+        }
+    }
+
+    void add(@Nullable WriteConcernError error) {
+        if (error != null) {
+            writeConcernErrors.add(error);
+        }
+    }
+
+    void failed(int index, BulkWriteError error, boolean versioned) {
+        statuses[index] = versioned ? Status.VERSION_MISMATCH : Status.FAILED;
+        errors[index] = error;
+    }
+
+    void written(int index) {
+        statuses[index] = Status.WRITTEN;
+    }
+
+    private void checkAcknowledged() {
+        if (!acknowledged) {
+            throw new UnsupportedOperationException("Cannot get information about an unacknowledged write");
+        }
+    }
+
+    /**
+     * The outcome of a single operation
+     */
+    public enum Status {
+        /**
+         * The operation was written
+         */
+        WRITTEN,
+        /**
+         * The operation failed
+         */
+        FAILED,
+        /**
+         * The operation saved a versioned entity which was changed by another process since it was loaded
+         */
+        VERSION_MISMATCH,
+        /**
+         * The operation was not attempted because an earlier one in an ordered execution failed
+         */
+        NOT_ATTEMPTED
+    }
+}
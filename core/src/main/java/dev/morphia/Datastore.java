@@ -55,6 +55,15 @@ public interface Datastore {
      */
     <T> Aggregation<T> aggregate(Class<T> source);
 
+    /**
+     * Starts a new set of bulk operations.  Inserts, saves, updates and deletes added to it are sent together using as few round trips as
+     * possible when executed.
+     *
+     * @return the new bulk operations
+     * @since 2.3
+     */
+    BulkOperations bulk();
+
     /**
      * Returns a new query bound to the kind (a specific {@link DBCollection})
      *
@@ -361,7 +370,7 @@ public interface Datastore {
      *
      * @param entity the entity to merge back in to the database
      * @param <T>    the type of the entity
-     * @return the new merged entity.  NOTE:  this is a database fetch.
+     * @return the new merged entity as returned by the update itself
      */
     <T> T merge(T entity);
 
@@ -371,7 +380,8 @@ public interface Datastore {
      * @param entity  the entity to merge back in to the database
      * @param options the options to apply
      * @param <T>     the type of the entity
-     * @return the new merged entity.  NOTE:  this is a database fetch.
+     * @return the new merged entity as returned by the update itself, or the given entity if {@link InsertOneOptions#returnEntity()} is
+     * false
      * @since 2.0
      */
     <T> T merge(T entity, InsertOneOptions options);
@@ -436,7 +446,9 @@ public interface Datastore {
     }
 
     /**
-     * Saves the entities (Objects) and updates the @Id field
+     * Saves the entities (Objects) and updates the @Id field.  The entities are written with one bulk write per collection.  If any
+     * versioned entities fail their version check, the versions of the entities which were not written are restored and a
+     * {@link VersionMismatchException} is thrown for the first of them with any others attached as suppressed exceptions.
      *
      * @param entities the entities to save
      * @param <T>      the type of the entity
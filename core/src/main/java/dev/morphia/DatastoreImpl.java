@@ -1,6 +1,7 @@
 package dev.morphia;
 
 import com.mongodb.ClientSessionOptions;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoCommandException;
 import com.mongodb.MongoWriteException;
 import com.mongodb.client.ClientSession;
@@ -9,6 +10,7 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.CreateCollectionOptions;
 import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.model.ValidationOptions;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
@@ -17,11 +19,14 @@ import dev.morphia.aggregation.experimental.Aggregation;
 import dev.morphia.aggregation.experimental.AggregationImpl;
 import dev.morphia.annotations.CappedAt;
 import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.TrackChanges;
 import dev.morphia.annotations.Validation;
 import dev.morphia.annotations.builders.IndexHelper;
 import dev.morphia.experimental.MorphiaSession;
 import dev.morphia.experimental.MorphiaSessionImpl;
+import dev.morphia.internal.BatchSave;
 import dev.morphia.internal.SessionConfigurable;
+import dev.morphia.mapping.EntitySnapshots;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MapperOptions;
 import dev.morphia.mapping.MappingException;
@@ -29,6 +34,7 @@ import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.MergingEncoder;
 import dev.morphia.mapping.codec.pojo.MorphiaCodec;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.query.CachedEntities;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.Query;
 import dev.morphia.query.QueryFactory;
@@ -38,7 +44,11 @@ import dev.morphia.query.ValidationException;
 import dev.morphia.query.experimental.updates.UpdateOperators;
 import dev.morphia.sofia.Sofia;
 import dev.morphia.transactions.experimental.MorphiaTransaction;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentWriter;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.EncoderContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +56,6 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import static dev.morphia.query.experimental.filters.Filters.eq;
 import static java.lang.String.format;
@@ -104,6 +113,11 @@ public class DatastoreImpl implements AdvancedDatastore {
         return new AggregationImpl(this, mapper.getCollection(source));
     }
 
+    @Override
+    public BulkOperations bulk() {
+        return new BulkOperations(this);
+    }
+
     @Override
     public dev.morphia.aggregation.AggregationPipeline createAggregation(Class source) {
         return new dev.morphia.aggregation.AggregationPipelineImpl(this, mapper.getCollection(source), source);
@@ -310,36 +324,32 @@ public class DatastoreImpl implements AdvancedDatastore {
             return List.of();
         }
 
-        Map<MongoCollection, List<T>> grouped = new LinkedHashMap<>();
-        List<T> list = new ArrayList<>();
+        // subtypes sharing a collection are written together, through the collection looked up for the first of them
+        Map<String, List<T>> grouped = new LinkedHashMap<>();
+        List<T> tracked = new ArrayList<>();
         for (T entity : entities) {
-            Class<?> type = entity.getClass();
-
-            EntityModel model = getMapper().getEntityModel(type);
-            if (getMapper().getId(entity) != null || model.getVersionProperty() != null) {
-                list.add(entity);
+            EntityModel model = mapper.getEntityModel(entity.getClass());
+            if (model.getAnnotation(TrackChanges.class) != null) {
+                tracked.add(entity);
             } else {
-                grouped.computeIfAbsent(mapper.getCollection(type), c -> new ArrayList<>())
+                grouped.computeIfAbsent(model.getCollectionName(), c -> new ArrayList<>())
                        .add(entity);
             }
         }
 
-        for (Entry<MongoCollection, List<T>> entry : grouped.entrySet()) {
-            MongoCollection<T> collection = entry.getKey();
-            ClientSession clientSession = options.clientSession();
-            if (clientSession == null) {
-                collection.insertMany(entry.getValue(), options.getOptions());
-            } else {
-                collection.insertMany(clientSession, entry.getValue(), options.getOptions());
-            }
+        ClientSession clientSession = findSession(options);
+        for (List<T> group : grouped.values()) {
+            saveBatch(mapper.getCollection(group.get(0).getClass()), group, options, clientSession);
         }
 
-        InsertOneOptions insertOneOptions = new InsertOneOptions()
-                                                .bypassDocumentValidation(options.getBypassDocumentValidation())
-                                                .clientSession(findSession(options))
-                                                .writeConcern(options.writeConcern());
-        for (T entity : list) {
-            save(entity, insertOneOptions);
+        if (!tracked.isEmpty()) {
+            InsertOneOptions insertOneOptions = new InsertOneOptions()
+                                                    .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                                    .clientSession(clientSession)
+                                                    .writeConcern(options.writeConcern());
+            for (T entity : tracked) {
+                save(entity, insertOneOptions);
+            }
         }
         return entities;
     }
@@ -391,6 +401,7 @@ public class DatastoreImpl implements AdvancedDatastore {
             } else {
                 mongoCollection.insertMany(session, entities, options.getOptions());
             }
+            entities.forEach(entity -> invalidate(entity, session));
         }
     }
 
@@ -425,19 +436,43 @@ public class DatastoreImpl implements AdvancedDatastore {
                 (MorphiaCodec) mapper.getCodecRegistry().get(entity.getClass())))
                          .encode(entity);
         }
-        UpdateResult execute = update
-                                   .execute(new UpdateOptions()
-                                                .clientSession(findSession(options))
-                                                .writeConcern(options.writeConcern()));
-        if (execute.getModifiedCount() != 1) {
+        ClientSession clientSession = findSession(options);
+        if (!options.returnEntity()) {
+            UpdateResult execute = update
+                                       .execute(new UpdateOptions()
+                                                    .clientSession(clientSession)
+                                                    .writeConcern(options.writeConcern()));
+            if (execute.getModifiedCount() != 1) {
+                updateVersion(entity, versionProperty, oldVersion);
+                if (versionProperty != null) {
+                    throw new VersionMismatchException(entity.getClass(), id);
+                }
+                throw new UpdateException("Nothing updated");
+            }
+            return entity;
+        }
+
+        // the post image comes back with the update itself rather than being fetched afterwards
+        ModifyOptions modifyOptions = new ModifyOptions()
+                                          .returnDocument(ReturnDocument.AFTER)
+                                          .bypassDocumentValidation(options.getBypassDocumentValidation());
+        MongoCollection<T> collection = options.prepare(mapper.getCollection((Class<T>) entity.getClass()));
+        T merged;
+        try {
+            merged = clientSession == null
+                     ? collection.findOneAndUpdate(query.toDocument(), update.toDocument(), modifyOptions)
+                     : collection.findOneAndUpdate(clientSession, query.toDocument(), update.toDocument(), modifyOptions);
+        } finally {
+            CachedEntities.invalidate(this, model.getCollectionName(), id, clientSession);
+        }
+        if (merged == null) {
             updateVersion(entity, versionProperty, oldVersion);
             if (versionProperty != null) {
                 throw new VersionMismatchException(entity.getClass(), id);
             }
             throw new UpdateException("Nothing updated");
         }
-
-        return (T) find(entity.getClass()).filter(eq("_id", id)).iterator(new FindOptions().limit(1)).next();
+        return merged;
     }
 
     /**
@@ -473,10 +508,14 @@ public class DatastoreImpl implements AdvancedDatastore {
         setInitialVersion(mapper.getEntityModel(entity.getClass()), entity);
         MongoCollection mongoCollection = mapper.enforceWriteConcern(collection, entity.getClass());
         ClientSession clientSession = findSession(options);
-        if (clientSession == null) {
-            mongoCollection.insertOne(entity, options.getOptions());
-        } else {
-            mongoCollection.insertOne(clientSession, entity, options.getOptions());
+        try {
+            if (clientSession == null) {
+                mongoCollection.insertOne(entity, options.getOptions());
+            } else {
+                mongoCollection.insertOne(clientSession, entity, options.getOptions());
+            }
+        } finally {
+            invalidate(entity, clientSession);
         }
     }
 
@@ -538,7 +577,11 @@ public class DatastoreImpl implements AdvancedDatastore {
 
         Runnable operation;
 
-        if (id == null || newVersion == 1) {
+        if (model.getAnnotation(TrackChanges.class) != null) {
+            Long expectedVersion = oldVersion;
+            boolean insert = id == null || newVersion == 1;
+            operation = () -> saveTracked(collection, entity, insert, versionProperty, expectedVersion, options, clientSession);
+        } else if (id == null || newVersion == 1) {
             operation = () -> {
                 if (clientSession == null) {
                     options.prepare(collection).insertOne(entity, options.getOptions());
@@ -576,6 +619,115 @@ public class DatastoreImpl implements AdvancedDatastore {
                 throw new VersionMismatchException(entity.getClass(), id);
             }
             throw e;
+        } finally {
+            invalidate(entity, clientSession);
+        }
+    }
+
+    /**
+     * Writes entities bound for the same collection with a single bulk write
+     *
+     * @see BatchSave
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> void saveBatch(MongoCollection collection, List<T> entities, InsertManyOptions options,
+                               @Nullable ClientSession clientSession) {
+        BatchSave<T> batch = new BatchSave<>(mapper, entities, options);
+        MongoCollection<T> prepared = options.prepare(collection);
+        try {
+            if (clientSession == null) {
+                prepared.bulkWrite(batch.getModels(), batch.getOptions());
+            } else {
+                prepared.bulkWrite(clientSession, batch.getModels(), batch.getOptions());
+            }
+        } catch (MongoBulkWriteException e) {
+            throw batch.rollback(e);
+        } finally {
+            entities.forEach(entity -> invalidate(entity, clientSession));
+        }
+    }
+
+    /**
+     * Saves an entity whose type tracks changes.  If the entity has a snapshot only the differences from it are written.  Afterwards the
+     * written document becomes the new snapshot unless the write is part of a transaction which might yet be aborted.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> void saveTracked(MongoCollection collection, T entity, boolean insert, @Nullable PropertyModel versionProperty,
+                                 @Nullable Long oldVersion, InsertOneOptions options, @Nullable ClientSession clientSession) {
+        EntitySnapshots snapshots = mapper.getSnapshots();
+        MorphiaCodec<T> codec = (MorphiaCodec<T>) mapper.getCodecRegistry().get(entity.getClass());
+        codec.generateIdIfAbsentFromDocument(entity);
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), entity, EncoderContext.builder().isEncodingCollectibleDocument(true).build());
+
+        MongoCollection<BsonDocument> documents = options.prepare(collection).withDocumentClass(BsonDocument.class);
+        Object id = mapper.getId(entity);
+        Document filter = new Document("_id", id);
+        if (versionProperty != null) {
+            filter.put(versionProperty.getMappedName(), oldVersion);
+        }
+        RawBsonDocument snapshot = insert ? null : snapshots.get(entity);
+
+        if (insert) {
+            if (clientSession == null) {
+                documents.insertOne(document, options.getOptions());
+            } else {
+                documents.insertOne(clientSession, document, options.getOptions());
+            }
+        } else if (snapshot != null) {
+            BsonDocument changes = EntitySnapshots.changes(snapshot, document);
+            BsonDocument set = changes.getDocument("$set", new BsonDocument());
+            boolean versionOnly = versionProperty != null && !changes.containsKey("$unset") && set.size() == 1
+                                  && set.containsKey(versionProperty.getMappedName());
+            if (changes.isEmpty() || versionOnly) {
+                updateVersion(entity, versionProperty, oldVersion);
+                return;
+            }
+            UpdateOptions updateOptions = new UpdateOptions().bypassDocumentValidation(options.getBypassDocumentValidation());
+            UpdateResult result = clientSession == null
+                                  ? documents.updateOne(filter, changes, updateOptions)
+                                  : documents.updateOne(clientSession, filter, changes, updateOptions);
+            if (result.getMatchedCount() == 0) {
+                if (versionProperty != null) {
+                    throw new VersionMismatchException(entity.getClass(), id);
+                }
+                replace(documents, filter, document, options, clientSession);
+            }
+        } else {
+            UpdateResult result = replace(documents, filter, document, options, clientSession);
+            if (versionProperty != null && result.getModifiedCount() != 1) {
+                throw new VersionMismatchException(entity.getClass(), id);
+            }
+        }
+
+        if (clientSession == null) {
+            snapshots.snapshot(entity, document);
+        } else {
+            snapshots.remove(entity);
+        }
+    }
+
+    private UpdateResult replace(MongoCollection<BsonDocument> documents, Document filter, BsonDocument document,
+                                 InsertOneOptions options, @Nullable ClientSession clientSession) {
+        ReplaceOptions replaceOptions = new ReplaceOptions()
+                                            .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                            .upsert(true);
+        return clientSession == null
+               ? documents.replaceOne(filter, document, replaceOptions)
+               : documents.replaceOne(clientSession, filter, document, replaceOptions);
+    }
+
+    /**
+     * Discards any copy of an entity held by the second level entity cache.  Call once the entity has been written.
+     *
+     * @param entity  the entity written
+     * @param session the session it was written with, if any
+     */
+    void invalidate(Object entity, @Nullable ClientSession session) {
+        CachedEntities cached = mapper.getCachedEntities(mapper.getEntityModel(entity.getClass()).getCollectionName());
+        Object id = mapper.getId(entity);
+        if (cached != null && id != null) {
+            cached.invalidate(id, session);
         }
     }
 
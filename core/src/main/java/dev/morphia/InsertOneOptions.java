@@ -32,6 +32,7 @@ public class InsertOneOptions implements SessionConfigurable<InsertOneOptions>,
     private WriteConcern writeConcern = WriteConcern.ACKNOWLEDGED;
     private ClientSession clientSession;
     private boolean unset;
+    private boolean returnEntity = true;
 
     /**
      * Creates a new options wrapper
@@ -48,6 +49,8 @@ public class InsertOneOptions implements SessionConfigurable<InsertOneOptions>,
         this.options = that.options;
         this.writeConcern = that.writeConcern;
         this.clientSession = that.clientSession;
+        this.unset = that.unset;
+        this.returnEntity = that.returnEntity;
     }
 
     /**
@@ -83,6 +86,28 @@ public class InsertOneOptions implements SessionConfigurable<InsertOneOptions>,
         return options.getBypassDocumentValidation();
     }
 
+    /**
+     * Sets whether a merge returns the entity as stored after the merge.  The default is true.  If false, a merge returns the entity
+     * passed to it which saves decoding the updated document when the caller does not need it.
+     *
+     * @param returnEntity true if the merged entity should be returned
+     * @return this
+     * @see Datastore#merge(Object, InsertOneOptions)
+     * @since 2.3
+     */
+    public InsertOneOptions returnEntity(boolean returnEntity) {
+        this.returnEntity = returnEntity;
+        return this;
+    }
+
+    /**
+     * @return true if a merge returns the entity as stored after the merge
+     * @since 2.3
+     */
+    public boolean returnEntity() {
+        return returnEntity;
+    }
+
     /**
      * Applies the rules for storing null/empty values for fields no present in the object to be merged.
      *
@@ -94,7 +94,7 @@ public class AggregationOptions implements SessionConfigurable<AggregationOption
      * @return the configuration value
      */
     public int batchSize() {
-        return batchSize;
+        return batchSize != null ? batchSize : 0;
     }
 
     /**
@@ -171,7 +171,7 @@ public class AggregationOptions implements SessionConfigurable<AggregationOption
      * @return the configuration value
      */
     public int getBatchSize() {
-        return batchSize;
+        return batchSize != null ? batchSize : 0;
     }
 
     /**
@@ -193,14 +193,14 @@ public class AggregationOptions implements SessionConfigurable<AggregationOption
      * @return the configuration value
      */
     public long getMaxTime(TimeUnit unit) {
-        return unit.convert(maxTimeMS, TimeUnit.MILLISECONDS);
+        return unit.convert(getMaxTimeMS(), TimeUnit.MILLISECONDS);
     }
 
     /**
      * @return the configuration value
      */
     public long getMaxTimeMS() {
-        return maxTimeMS;
+        return maxTimeMS != null ? maxTimeMS : 0;
     }
 
     /**
@@ -284,7 +284,7 @@ public class AggregationOptions implements SessionConfigurable<AggregationOption
      * @return the configuration value
      */
     public long maxTimeMS() {
-        return maxTimeMS;
+        return maxTimeMS != null ? maxTimeMS : 0;
     }
 
     /**
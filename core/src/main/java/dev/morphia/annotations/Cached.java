@@ -0,0 +1,46 @@
+package dev.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks an entity type as eligible for the second level entity cache.  Entities loaded by ID, either by a query filtering only on
+ * {@code _id} or when resolving references, are kept in the cache and served from there until they are evicted or invalidated by a
+ * write through Morphia.  This is best suited to read mostly reference data.  The documents of entities are cached and every read decodes
+ * a new instance so readers never share an entity.
+ *
+ * @see dev.morphia.cache.EntityCacheFactory
+ * @since 2.3
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Cached {
+    /**
+     * @return the maximum number of entities to cache.  The least recently used entities are evicted beyond this.
+     */
+    long maxSize() default 10_000;
+
+    /**
+     * @return the number of bytes of direct memory in which to cache the documents of entities rather than caching the entities on the
+     * heap.  A value of 0 caches entities on the heap, limited by {@link #maxSize()}.
+     * @see dev.morphia.cache.OffHeapEntityCache
+     */
+    long offHeapBytes() default 0;
+
+    /**
+     * @return how long after being cached an entity expires.  A value of 0 means entities do not expire.
+     */
+    long expireAfterWrite() default 0;
+
+    /**
+     * @return the unit of {@link #expireAfterWrite()}
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,29 @@
+package dev.morphia.annotations;
+
+import dev.morphia.mapping.codec.PackedArrayCodec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores a primitive numeric array as a single BSON binary value rather than as a BSON array.  This avoids the type byte and index key
+ * stored for every element of an array and lets the values be copied in bulk when decoding, which considerably shrinks large vectors and
+ * series.  {@code double[]}, {@code float[]}, {@code int[]}, {@code long[]} and {@code short[]} properties are supported.
+ * <p>
+ * The value is stored with the user defined binary subtype, {@code 0x80}, and holds the elements back to back in little endian order
+ * with no header.  The element count is the length of the binary divided by the size of the element type.  Values stored as BSON arrays,
+ * e.g. before the annotation was added, are still read.  Since the server sees a single opaque value, queries, indexes and update
+ * operators can not address the individual elements.
+ *
+ * @see PackedArrayCodec
+ * @since 2.3
+ */
+@Documented
+@Handler(PackedArrayCodec.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Packed {
+}
@@ -0,0 +1,26 @@
+package dev.morphia.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables change tracking for an entity type.  The document each entity is loaded from is remembered, and saving an entity which was
+ * loaded or saved before sends only a {@code $set} and {@code $unset} of the fields which changed rather than replacing the whole
+ * document.  If nothing changed, nothing is written.  Large documents of which only a few fields change between saves benefit the most.
+ * <p>
+ * Since only the changes are sent, fields changed in the database by others since the entity was loaded keep their new values unless
+ * the entity changes them as well.  Use {@link Version} to detect such conflicts instead.  Entities saved as part of a transaction are
+ * fully replaced the next time they are saved since the transaction may not commit.
+ *
+ * @since 2.3
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface TrackChanges {
+}
@@ -0,0 +1,87 @@
+package dev.morphia.cache;
+
+import java.util.StringJoiner;
+
+/**
+ * A snapshot of the statistics of an {@link EntityCache}
+ *
+ * @since 2.3
+ */
+public final class CacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final long evictionCount;
+    private final long invalidationCount;
+
+    /**
+     * Creates a snapshot
+     *
+     * @param hitCount          the number of lookups which found an entity
+     * @param missCount         the number of lookups which found no entity
+     * @param putCount          the number of entities cached
+     * @param evictionCount     the number of entities evicted due to size or expiry
+     * @param invalidationCount the number of entities removed due to writes
+     */
+    public CacheStats(long hitCount, long missCount, long putCount, long evictionCount, long invalidationCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.evictionCount = evictionCount;
+        this.invalidationCount = invalidationCount;
+    }
+
+    /**
+     * @return the number of entities evicted due to size or expiry
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of lookups which found an entity
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the ratio of hits to lookups or 1 if there have been no lookups
+     */
+    public double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * @return the number of entities removed due to writes
+     */
+    public long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    /**
+     * @return the number of lookups which found no entity
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of entities cached
+     */
+    public long getPutCount() {
+        return putCount;
+    }
+
+    @Override
+    public String toString() {
+        return new StringJoiner(", ", CacheStats.class.getSimpleName() + "[", "]")
+                   .add("hitCount=" + hitCount)
+                   .add("missCount=" + missCount)
+                   .add("putCount=" + putCount)
+                   .add("evictionCount=" + evictionCount)
+                   .add("invalidationCount=" + invalidationCount)
+                   .toString();
+    }
+}
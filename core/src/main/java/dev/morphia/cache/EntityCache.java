@@ -0,0 +1,64 @@
+package dev.morphia.cache;
+
+import com.mongodb.lang.Nullable;
+import org.bson.RawBsonDocument;
+
+/**
+ * A second level cache of the entities of one collection keyed by their ID.  Implementations must be safe for concurrent use.
+ *
+ * @see dev.morphia.annotations.Cached
+ * @see EntityCacheFactory
+ * @since 2.3
+ */
+public interface EntityCache {
+    /**
+     * @param id the entity ID
+     * @return the cached entity or null if none is cached for the ID
+     */
+    @Nullable
+    Object get(Object id);
+
+    /**
+     * @return the statistics of this cache
+     */
+    CacheStats getStats();
+
+    /**
+     * Removes an entity from the cache
+     *
+     * @param id the entity ID
+     */
+    void invalidate(Object id);
+
+    /**
+     * Removes every entity from the cache
+     */
+    void invalidateAll();
+
+    /**
+     * Caches an entity
+     *
+     * @param id     the entity ID
+     * @param entity the entity
+     */
+    void put(Object id, Object entity);
+
+    /**
+     * Caches an entity read from the database.  Caches which hold the encoded form of entities rather than the entities themselves
+     * should override this to store the document as read.
+     *
+     * @param id       the entity ID
+     * @param entity   the entity
+     * @param document the document the entity was decoded from
+     * @see HeapEntityCache
+     * @see OffHeapEntityCache
+     */
+    default void put(Object id, Object entity, RawBsonDocument document) {
+        put(id, entity);
+    }
+
+    /**
+     * @return the number of entities cached
+     */
+    long size();
+}
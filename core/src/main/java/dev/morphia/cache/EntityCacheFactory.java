@@ -0,0 +1,41 @@
+package dev.morphia.cache;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.annotations.Cached;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+
+/**
+ * Creates the second level caches for entity types.  A factory may be configured with
+ * {@link dev.morphia.mapping.MapperOptions.Builder#entityCacheFactory(EntityCacheFactory)} to plug in a different cache implementation or
+ * to decide which types are cached without annotating them.
+ *
+ * @since 2.3
+ */
+@FunctionalInterface
+public interface EntityCacheFactory {
+    /**
+     * The default factory which caches types annotated with {@link Cached} in a {@link HeapEntityCache} or, if
+     * {@link Cached#offHeapBytes()} is set, in an {@link OffHeapEntityCache}
+     */
+    EntityCacheFactory DEFAULT = (mapper, model, cached) -> {
+        if (cached == null) {
+            return null;
+        }
+        return cached.offHeapBytes() > 0
+               ? new OffHeapEntityCache(mapper, cached.offHeapBytes(), cached.expireAfterWrite(), cached.unit())
+               : new HeapEntityCache(mapper, cached.maxSize(), cached.expireAfterWrite(), cached.unit());
+    };
+
+    /**
+     * Creates the cache for the collection of a type.  This is called as the types mapped to a collection are mapped until a cache has been
+     * created for that collection.
+     *
+     * @param mapper the mapper
+     * @param model  the model of the type
+     * @param cached the {@link Cached} annotation of the type, if any
+     * @return the cache or null if the type should not be cached
+     */
+    @Nullable
+    EntityCache create(Mapper mapper, EntityModel model, @Nullable Cached cached);
+}
@@ -0,0 +1,179 @@
+package dev.morphia.cache;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.Mapper;
+import org.bson.BsonReader;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An on heap {@link EntityCache}.  Entities are spread over a fixed number of independently locked segments, each of which evicts its
+ * least recently used entries once it holds its share of the maximum size.  Lookups on different segments never contend with each other.
+ * <p>
+ * The documents entities were read from are cached rather than the entities themselves and each hit decodes a new instance, so callers
+ * never share, or see each other's changes to, a cached entity.  Because the document is needed, only entities read from the database
+ * through a query are cached; {@link #put(Object, Object)} does nothing.
+ *
+ * @since 2.3
+ */
+public class HeapEntityCache implements EntityCache {
+    private static final int SEGMENTS = 16;
+
+    private final Mapper mapper;
+    private final Segment[] segments;
+    private final long expireAfterWrite;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a cache
+     *
+     * @param mapper           the mapper used to decode cached documents
+     * @param maxSize          the maximum number of entities to hold
+     * @param expireAfterWrite how long after being cached an entity expires or 0 if entities should not expire
+     * @param unit             the unit of {@code expireAfterWrite}
+     */
+    public HeapEntityCache(Mapper mapper, long maxSize, long expireAfterWrite, TimeUnit unit) {
+        this.mapper = mapper;
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        int count = (int) Math.min(SEGMENTS, maxSize);
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+        }
+        this.expireAfterWrite = unit.toNanos(expireAfterWrite);
+    }
+
+    @Override
+    @Nullable
+    public Object get(Object id) {
+        Segment segment = segmentFor(id);
+        Entry entry;
+        synchronized (segment) {
+            entry = segment.get(id);
+            if (entry != null && entry.isExpired()) {
+                segment.remove(id);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        BsonReader reader = entry.document.asBsonReader();
+        try {
+            return mapper.getCodecRegistry()
+                         .get(entry.type)
+                         .decode(reader, DecoderContext.builder().build());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), puts.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    @Override
+    public void invalidate(Object id) {
+        Segment segment = segmentFor(id);
+        synchronized (segment) {
+            if (segment.remove(id) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                invalidations.add(segment.size());
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Does nothing since the document of the entity is not known
+     *
+     * @param id     the entity ID
+     * @param entity the entity
+     */
+    @Override
+    public void put(Object id, Object entity) {
+    }
+
+    @Override
+    public void put(Object id, Object entity, RawBsonDocument document) {
+        Segment segment = segmentFor(id);
+        Entry entry = new Entry(entity.getClass(), document, expireAfterWrite == 0 ? Long.MAX_VALUE : System.nanoTime() + expireAfterWrite);
+        synchronized (segment) {
+            segment.put(id, entry);
+        }
+        puts.increment();
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(Object id) {
+        int hash = id.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private static final class Entry {
+        private final Class<?> type;
+        private final RawBsonDocument document;
+        private final long expiresAt;
+
+        private Entry(Class<?> type, RawBsonDocument document, long expiresAt) {
+            this.type = type;
+            this.document = document;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return expiresAt != Long.MAX_VALUE && System.nanoTime() - expiresAt > 0;
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<Object, Entry> {
+        private final long capacity;
+
+        private Segment(long capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,489 @@
+package dev.morphia.cache;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.Mapper;
+import org.bson.BsonReader;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link EntityCache} which holds the BSON documents of entities in direct memory rather than the entities themselves.  This allows
+ * very large numbers of documents to be cached without growing the heap or adding to garbage collection pauses.  Each hit decodes a new
+ * instance of the entity from the cached document through the entity's codec.
+ * <p>
+ * Memory is allocated in pages of 1MB, up to the capacity of the cache, and each page is divided into slots of a single size.  A document
+ * is stored in the smallest slot which fits it.  Once no more pages can be allocated, slots are reused in CLOCK order, passing over those
+ * which were read since the hand last visited them.  A slot size which holds no page at that point takes the coldest page, the one with
+ * the fewest documents read since they were last passed over, from another slot size instead.  Pages emptied by {@link #invalidateAll()}
+ * are kept for reuse by any slot size rather than freed.  Documents larger than a page are not cached.  Because the document is needed,
+ * only entities read from the database through a query are cached; {@link #put(Object, Object)} does nothing.
+ *
+ * @since 2.3
+ */
+public class OffHeapEntityCache implements EntityCache {
+    /**
+     * The size of the pages of direct memory allocated by the cache
+     */
+    public static final int PAGE_SIZE = 1 << 20;
+    private static final int MIN_SLOT_SIZE = 64;
+    private static final double GROWTH_FACTOR = 1.25;
+    private static final int[] SLOT_SIZES = slotSizes();
+    private static final long SEGMENT_CAPACITY = 64L * PAGE_SIZE;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Mapper mapper;
+    private final long capacity;
+    private final long expireAfterWrite;
+    private final AtomicLong allocated = new AtomicLong();
+    private final Queue<ByteBuffer> freePages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reclaimHand = new AtomicInteger();
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Creates a cache
+     *
+     * @param mapper           the mapper used to decode cached documents
+     * @param capacity         the maximum number of bytes of direct memory to allocate
+     * @param expireAfterWrite how long after being cached a document expires or 0 if documents should not expire
+     * @param unit             the unit of {@code expireAfterWrite}
+     */
+    public OffHeapEntityCache(Mapper mapper, long capacity, long expireAfterWrite, TimeUnit unit) {
+        if (capacity < PAGE_SIZE) {
+            throw new IllegalArgumentException("capacity must be at least " + PAGE_SIZE + " bytes: " + capacity);
+        }
+        this.mapper = mapper;
+        this.capacity = capacity;
+        this.expireAfterWrite = unit.toNanos(expireAfterWrite);
+        int count = (int) Math.max(1, Math.min(MAX_SEGMENTS, capacity / SEGMENT_CAPACITY));
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    private static int[] slotSizes() {
+        List<Integer> sizes = new ArrayList<>();
+        for (int size = MIN_SLOT_SIZE; size < PAGE_SIZE; size = (int) (size * GROWTH_FACTOR + 7) & ~7) {
+            sizes.add(size);
+        }
+        sizes.add(PAGE_SIZE);
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int slabFor(int length) {
+        int index = Arrays.binarySearch(SLOT_SIZES, length);
+        index = index >= 0 ? index : -index - 1;
+        return index < SLOT_SIZES.length ? index : -1;
+    }
+
+    @Override
+    @Nullable
+    public Object get(Object id) {
+        Segment segment = segmentFor(id);
+        Class<?> type = null;
+        byte[] document = null;
+        synchronized (segment) {
+            Long location = segment.index.get(id);
+            if (location != null) {
+                Slab slab = segment.slabs[(int) (location >>> 32)];
+                int slot = location.intValue();
+                if (slab.isExpired(slot)) {
+                    segment.remove(id);
+                    evictions.increment();
+                } else {
+                    slab.referenced[slot] = true;
+                    type = slab.types[slot];
+                    document = slab.read(slot);
+                }
+            }
+        }
+        if (document == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        BsonReader reader = new RawBsonDocument(document).asBsonReader();
+        try {
+            return mapper.getCodecRegistry()
+                         .get(type)
+                         .decode(reader, DecoderContext.builder().build());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * @return the number of bytes of direct memory allocated so far
+     */
+    public long getAllocatedBytes() {
+        return allocated.get();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), puts.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    @Override
+    public void invalidate(Object id) {
+        Segment segment = segmentFor(id);
+        synchronized (segment) {
+            if (segment.remove(id)) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                invalidations.add(segment.index.size());
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Does nothing since the document of the entity is not known
+     *
+     * @param id     the entity ID
+     * @param entity the entity
+     */
+    @Override
+    public void put(Object id, Object entity) {
+    }
+
+    @Override
+    public void put(Object id, Object entity, RawBsonDocument document) {
+        ByteBuffer bytes = document.getByteBuffer().asNIO();
+        int slabIndex = slabFor(bytes.remaining());
+        if (slabIndex < 0) {
+            return;
+        }
+        long expiresAt = expireAfterWrite == 0 ? Long.MAX_VALUE : System.nanoTime() + expireAfterWrite;
+        Segment segment = segmentFor(id);
+        // pages are reclaimed without holding the segment's lock since doing so locks the other segments
+        if (store(segment, slabIndex, id, entity.getClass(), bytes, expiresAt)
+            || reclaimPage() && store(segment, slabIndex, id, entity.getClass(), bytes, expiresAt)) {
+            puts.increment();
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.index.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Moves the coldest page of the next segment holding any to the free pages.  Must be called without holding a segment's lock.
+     */
+    private boolean reclaimPage() {
+        for (int i = 0; i < segments.length; i++) {
+            Segment segment = segments[Math.floorMod(reclaimHand.getAndIncrement(), segments.length)];
+            synchronized (segment) {
+                if (segment.releaseColdestPage()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean reservePage() {
+        long current;
+        do {
+            current = allocated.get();
+            if (current + PAGE_SIZE > capacity) {
+                return false;
+            }
+        } while (!allocated.compareAndSet(current, current + PAGE_SIZE));
+        return true;
+    }
+
+    private Segment segmentFor(Object id) {
+        int hash = id.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private boolean store(Segment segment, int slabIndex, Object id, Class<?> type, ByteBuffer bytes, long expiresAt) {
+        synchronized (segment) {
+            segment.remove(id);
+            Slab slab = segment.slab(slabIndex);
+            int slot = slab.allocate();
+            if (slot < 0) {
+                return false;
+            }
+            slab.write(slot, id, type, bytes.duplicate(), expiresAt);
+            segment.index.put(id, (long) slabIndex << 32 | slot);
+            return true;
+        }
+    }
+
+    /**
+     * The documents whose IDs hash to one segment along with the slabs holding them.  Each location in the index packs the slab index
+     * into the high 32 bits and the slot into the low 32 bits.
+     */
+    private final class Segment {
+        private final Map<Object, Long> index = new HashMap<>();
+        private final Slab[] slabs = new Slab[SLOT_SIZES.length];
+
+        private void clear() {
+            index.clear();
+            for (Slab slab : slabs) {
+                if (slab != null) {
+                    slab.clear();
+                }
+            }
+        }
+
+        /**
+         * Releases the page, across all slot sizes, with the smallest share of slots read since the CLOCK hand last passed them.
+         */
+        private boolean releaseColdestPage() {
+            Slab coldest = null;
+            int coldestPage = -1;
+            double coldestHeat = Double.MAX_VALUE;
+            for (Slab slab : slabs) {
+                if (slab == null) {
+                    continue;
+                }
+                for (int page = 0; page < slab.pages.size(); page++) {
+                    if (slab.pages.get(page) != null) {
+                        double heat = slab.heat(page);
+                        if (heat < coldestHeat) {
+                            coldest = slab;
+                            coldestPage = page;
+                            coldestHeat = heat;
+                        }
+                    }
+                }
+            }
+            if (coldest == null) {
+                return false;
+            }
+            coldest.releasePage(coldestPage);
+            return true;
+        }
+
+        private boolean remove(Object id) {
+            Long location = index.remove(id);
+            if (location == null) {
+                return false;
+            }
+            slabs[(int) (location >>> 32)].release(location.intValue());
+            return true;
+        }
+
+        private Slab slab(int slabIndex) {
+            if (slabs[slabIndex] == null) {
+                slabs[slabIndex] = new Slab(this, SLOT_SIZES[slabIndex]);
+            }
+            return slabs[slabIndex];
+        }
+    }
+
+    /**
+     * The pages of one slot size in a segment.  The slots of a page occupy a fixed range of the slot numbers so a page given up to another
+     * slab leaves a gap, marked by a null page, which the next page added fills.
+     */
+    private final class Slab {
+        private final Segment segment;
+        private final int slotSize;
+        private final int slotsPerPage;
+        private final List<ByteBuffer> pages = new ArrayList<>();
+        private int livePages;
+        private Object[] ids = new Object[0];
+        private Class<?>[] types = new Class<?>[0];
+        private int[] lengths = new int[0];
+        private long[] expiresAt = new long[0];
+        private boolean[] referenced = new boolean[0];
+        private int[] free = new int[0];
+        private int freeCount;
+        private int hand;
+
+        private Slab(Segment segment, int slotSize) {
+            this.segment = segment;
+            this.slotSize = slotSize;
+            slotsPerPage = PAGE_SIZE / slotSize;
+        }
+
+        private int allocate() {
+            if (freeCount == 0 && !addPage()) {
+                return evict();
+            }
+            return free[--freeCount];
+        }
+
+        private boolean addPage() {
+            ByteBuffer buffer = freePages.poll();
+            if (buffer == null) {
+                if (!reservePage()) {
+                    return false;
+                }
+                buffer = ByteBuffer.allocateDirect(PAGE_SIZE);
+            }
+            int page = pages.indexOf(null);
+            if (page < 0) {
+                page = pages.size();
+                pages.add(buffer);
+                int total = ids.length + slotsPerPage;
+                ids = Arrays.copyOf(ids, total);
+                types = Arrays.copyOf(types, total);
+                lengths = Arrays.copyOf(lengths, total);
+                expiresAt = Arrays.copyOf(expiresAt, total);
+                referenced = Arrays.copyOf(referenced, total);
+                free = Arrays.copyOf(free, total);
+            } else {
+                pages.set(page, buffer);
+            }
+            livePages++;
+            for (int slot = (page + 1) * slotsPerPage - 1; slot >= page * slotsPerPage; slot--) {
+                free[freeCount++] = slot;
+            }
+            return true;
+        }
+
+        /**
+         * Empties the slab and gives its pages back to the free pages
+         */
+        private void clear() {
+            for (ByteBuffer page : pages) {
+                if (page != null) {
+                    freePages.add(page);
+                }
+            }
+            pages.clear();
+            livePages = 0;
+            ids = new Object[0];
+            types = new Class<?>[0];
+            lengths = new int[0];
+            expiresAt = new long[0];
+            referenced = new boolean[0];
+            free = new int[0];
+            freeCount = 0;
+            hand = 0;
+        }
+
+        /**
+         * Every slot of the live pages is in use when this is called so the hand stops within two turns at most.
+         */
+        private int evict() {
+            if (livePages == 0) {
+                return -1;
+            }
+            int slots = ids.length;
+            while (true) {
+                int slot = hand;
+                hand = (hand + 1) % slots;
+                if (pages.get(slot / slotsPerPage) == null) {
+                    continue;
+                }
+                if (referenced[slot]) {
+                    referenced[slot] = false;
+                } else {
+                    segment.index.remove(ids[slot]);
+                    empty(slot);
+                    evictions.increment();
+                    return slot;
+                }
+            }
+        }
+
+        private void empty(int slot) {
+            ids[slot] = null;
+            types[slot] = null;
+            referenced[slot] = false;
+        }
+
+        /**
+         * @return the share of the page's slots read since the hand last passed them
+         */
+        private double heat(int page) {
+            int read = 0;
+            for (int slot = page * slotsPerPage; slot < (page + 1) * slotsPerPage; slot++) {
+                if (referenced[slot]) {
+                    read++;
+                }
+            }
+            return (double) read / slotsPerPage;
+        }
+
+        private boolean isExpired(int slot) {
+            return expiresAt[slot] != Long.MAX_VALUE && System.nanoTime() - expiresAt[slot] > 0;
+        }
+
+        private ByteBuffer page(int slot) {
+            ByteBuffer page = pages.get(slot / slotsPerPage).duplicate();
+            page.position(slot % slotsPerPage * slotSize);
+            return page;
+        }
+
+        private byte[] read(int slot) {
+            byte[] bytes = new byte[lengths[slot]];
+            page(slot).get(bytes);
+            return bytes;
+        }
+
+        /**
+         * Evicts the documents held by a page and moves the page to the free pages
+         */
+        private void releasePage(int page) {
+            int first = page * slotsPerPage;
+            int last = first + slotsPerPage;
+            for (int slot = first; slot < last; slot++) {
+                if (ids[slot] != null) {
+                    segment.index.remove(ids[slot]);
+                    evictions.increment();
+                }
+                empty(slot);
+            }
+            int kept = 0;
+            for (int i = 0; i < freeCount; i++) {
+                if (free[i] < first || free[i] >= last) {
+                    free[kept++] = free[i];
+                }
+            }
+            freeCount = kept;
+            freePages.add(pages.set(page, null));
+            livePages--;
+        }
+
+        private void release(int slot) {
+            empty(slot);
+            free[freeCount++] = slot;
+        }
+
+        private void write(int slot, Object id, Class<?> type, ByteBuffer bytes, long expiry) {
+            lengths[slot] = bytes.remaining();
+            page(slot).put(bytes);
+            ids[slot] = id;
+            types[slot] = type;
+            expiresAt[slot] = expiry;
+        }
+    }
+}
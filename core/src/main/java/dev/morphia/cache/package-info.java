@@ -0,0 +1,4 @@
+@NonNullApi
+package dev.morphia.cache;
+
+import com.mongodb.lang.NonNullApi;
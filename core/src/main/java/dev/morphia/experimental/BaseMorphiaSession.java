@@ -22,6 +22,8 @@ import org.bson.BsonTimestamp;
  */
 public abstract class BaseMorphiaSession extends DatastoreImpl implements MorphiaSession {
     private final ClientSession session;
+    @Nullable
+    private IdentityMap identityMap;
 
     BaseMorphiaSession(ClientSession session,
                        MongoClient mongoClient,
@@ -32,6 +34,22 @@ public abstract class BaseMorphiaSession extends DatastoreImpl implements Morphi
         this.session = session;
     }
 
+    @Override
+    @Nullable
+    public IdentityMap getIdentityMap() {
+        return identityMap;
+    }
+
+    @Override
+    public MorphiaSession identityMap(boolean enabled) {
+        if (!enabled) {
+            identityMap = null;
+        } else if (identityMap == null) {
+            identityMap = new IdentityMap();
+        }
+        return this;
+    }
+
     @Override
     @Nullable
     public ServerAddress getPinnedServerAddress() {
@@ -0,0 +1,404 @@
+package dev.morphia.experimental;
+
+import dev.morphia.BulkOperations;
+import dev.morphia.BulkOptions;
+import dev.morphia.BulkResult;
+import dev.morphia.BulkResult.Status;
+import dev.morphia.Datastore;
+import dev.morphia.query.experimental.updates.UpdateOperator;
+import dev.morphia.query.experimental.updates.UpdateOperators;
+import dev.morphia.sofia.Sofia;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+import static dev.morphia.query.experimental.filters.Filters.eq;
+
+/**
+ * Accumulates {@code $inc}, {@code $max} and {@code $min} updates of counters in memory and writes them periodically.  Values recorded
+ * for the same field of the same document are combined, so a counter incremented on every page view costs one update per document per
+ * interval rather than one per view.  Each flush sends all the combined updates using {@link BulkOperations}.  Different operations
+ * recorded for the same field of a document, an {@code $inc} and a {@code $max} for example, can not be part of one update so they are
+ * sent as separate updates of that document.
+ * <p>
+ * Values are held in striped cells so that threads recording against the same counter rarely contend.  The type and field of a counter
+ * are validated when its first value is recorded so that an invalid counter is reported to the caller rather than failing a flush.  Updates
+ * only change existing documents.  Updates which fail are logged and dropped rather than retried since the server may have applied some of
+ * them.  Pending values are written when the counters are closed or, if they never are, when the JVM shuts down.
+ *
+ * @morphia.experimental
+ * @since 2.3
+ */
+public final class Counters implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(Counters.class);
+
+    private final Datastore datastore;
+    private final BulkOptions options;
+    private final Map<Key, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Set<String>> validated = new ConcurrentHashMap<>();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final ScheduledExecutorService executor;
+    private final Thread shutdownHook = new Thread(this::flushQuietly, "morphia-counters-shutdown");
+    private final Object flushLock = new Object();
+    private volatile boolean closed;
+
+    /**
+     * Creates new counters and starts their background thread
+     *
+     * @param datastore the datastore to write with
+     * @param interval  the time between flushes
+     * @param unit      the unit of the interval
+     */
+    public Counters(Datastore datastore, long interval, TimeUnit unit) {
+        this(datastore, interval, unit, new BulkOptions().ordered(false));
+    }
+
+    /**
+     * Creates new counters and starts their background thread
+     *
+     * @param datastore the datastore to write with
+     * @param interval  the time between flushes
+     * @param unit      the unit of the interval
+     * @param options   the options used to write each flush
+     */
+    public Counters(Datastore datastore, long interval, TimeUnit unit, BulkOptions options) {
+        this.datastore = datastore;
+        this.options = new BulkOptions(options);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "morphia-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flushQuietly, interval, interval, unit);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Stops the background thread and writes any pending values.  Once closed, no more values are accepted.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdown();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            LOG.debug("The JVM is already shutting down so the counters are flushed by the shutdown hook", e);
+        }
+        flush();
+    }
+
+    /**
+     * Writes every pending value on the calling thread
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<TypedId, List<Map<String, UpdateOperator>>> updates = new LinkedHashMap<>();
+            for (Entry<Key, Cell> entry : cells.entrySet()) {
+                Key key = entry.getKey();
+                Cell cell = entry.getValue();
+                long value = cell.drain();
+                if (value == key.operation.identity && cells.remove(key, cell)) {
+                    // a value recorded while the idle cell was being removed is either taken here or moved by the recording thread
+                    value = cell.drain();
+                }
+                flushed.add(cell.count.sumThenReset());
+                if (value != key.operation.identity) {
+                    add(updates.computeIfAbsent(new TypedId(key.type, key.id), k -> new ArrayList<>()), key,
+                        key.operation.operator(key.field, value));
+                }
+            }
+            if (!updates.isEmpty()) {
+                write(updates);
+            }
+        }
+    }
+
+    /**
+     * @return the number of writes avoided by combining the values flushed so far.  Values still pending are not counted.
+     */
+    public long getAvoidedWrites() {
+        return flushed.sum() - written.sum();
+    }
+
+    /**
+     * @return the number of values recorded so far
+     */
+    public long getRecorded() {
+        return recorded.sum();
+    }
+
+    /**
+     * @return the number of document updates sent so far
+     */
+    public long getWritten() {
+        return written.sum();
+    }
+
+    /**
+     * Increments a counter by 1
+     *
+     * @param type  the entity type
+     * @param id    the ID of the document
+     * @param field the counter field
+     */
+    public void inc(Class<?> type, Object id, String field) {
+        inc(type, id, field, 1);
+    }
+
+    /**
+     * Increments a counter
+     *
+     * @param type  the entity type
+     * @param id    the ID of the document
+     * @param field the counter field
+     * @param delta the amount to add
+     */
+    public void inc(Class<?> type, Object id, String field, long delta) {
+        record(new Key(type, id, field, Operation.INC), delta);
+    }
+
+    /**
+     * Raises a field to a value if the value is greater than the stored one
+     *
+     * @param type  the entity type
+     * @param id    the ID of the document
+     * @param field the field
+     * @param value the value
+     */
+    public void max(Class<?> type, Object id, String field, long value) {
+        record(new Key(type, id, field, Operation.MAX), value);
+    }
+
+    /**
+     * Lowers a field to a value if the value is less than the stored one
+     *
+     * @param type  the entity type
+     * @param id    the ID of the document
+     * @param field the field
+     * @param value the value
+     */
+    public void min(Class<?> type, Object id, String field, long value) {
+        record(new Key(type, id, field, Operation.MIN), value);
+    }
+
+    /**
+     * Adds an operator to the first update of a document which does not already change the field
+     */
+    private static void add(List<Map<String, UpdateOperator>> documentUpdates, Key key, UpdateOperator operator) {
+        for (Map<String, UpdateOperator> update : documentUpdates) {
+            if (update.putIfAbsent(key.field, operator) == null) {
+                return;
+            }
+        }
+        Map<String, UpdateOperator> update = new LinkedHashMap<>();
+        update.put(key.field, operator);
+        documentUpdates.add(update);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // an exception would cancel the scheduled flushes
+            LOG.error("Counter flush failed", e);
+        }
+    }
+
+    private void record(Key key, long value) {
+        if (closed) {
+            throw new IllegalStateException(Sofia.countersClosed());
+        }
+        Set<String> fields = validated.computeIfAbsent(key.type, type -> ConcurrentHashMap.newKeySet());
+        if (!fields.contains(key.field)) {
+            // throws a ValidationException now rather than failing the flush which would send the update
+            datastore.find(key.type).update(key.operation.operator(key.field, value)).toDocument();
+            fields.add(key.field);
+        }
+        recorded.increment();
+        long pending = value;
+        long count = 1;
+        while (pending != key.operation.identity) {
+            Cell cell = cells.computeIfAbsent(key, k -> new Cell(k.operation));
+            cell.accumulate(pending);
+            cell.count.add(count);
+            if (cells.get(key) == cell) {
+                return;
+            }
+            // a flush removed the cell while the value was added so move whatever that flush did not take to a new cell
+            pending = cell.drain();
+            count = cell.count.sumThenReset();
+            if (pending == key.operation.identity) {
+                flushed.add(count);
+            }
+        }
+    }
+
+    private void write(Map<TypedId, List<Map<String, UpdateOperator>>> updates) {
+        BulkOperations bulk = datastore.bulk();
+        for (Entry<TypedId, List<Map<String, UpdateOperator>>> entry : updates.entrySet()) {
+            for (Map<String, UpdateOperator> update : entry.getValue()) {
+                List<UpdateOperator> operators = new ArrayList<>(update.values());
+                try {
+                    bulk.update(entry.getKey().type, eq("_id", entry.getKey().id), operators.get(0),
+                        operators.subList(1, operators.size()).toArray(new UpdateOperator[0]));
+                } catch (RuntimeException e) {
+                    // counters are validated as they are recorded so this should not happen but must not stop the other updates
+                    LOG.error(String.format("Counter update of %s was not written", entry.getKey().id), e);
+                }
+            }
+        }
+        if (bulk.size() == 0) {
+            return;
+        }
+        written.add(bulk.size());
+        try {
+            BulkResult result = bulk.execute(options);
+            for (int i = 0; i < result.size(); i++) {
+                if (result.getStatus(i) != Status.WRITTEN) {
+                    LOG.error(String.format("Counter update %d of %d was not written: %s", i, result.size(), result.getError(i)));
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Counter updates were not written", e);
+        }
+    }
+
+    private enum Operation {
+        INC(Long::sum, 0) {
+            @Override
+            UpdateOperator operator(String field, long value) {
+                return UpdateOperators.inc(field, value);
+            }
+        },
+        MAX(Math::max, Long.MIN_VALUE) {
+            @Override
+            UpdateOperator operator(String field, long value) {
+                return UpdateOperators.max(field, value);
+            }
+        },
+        MIN(Math::min, Long.MAX_VALUE) {
+            @Override
+            UpdateOperator operator(String field, long value) {
+                return UpdateOperators.min(field, value);
+            }
+        };
+
+        private final LongBinaryOperator function;
+        private final long identity;
+
+        Operation(LongBinaryOperator function, long identity) {
+            this.function = function;
+            this.identity = identity;
+        }
+
+        abstract UpdateOperator operator(String field, long value);
+    }
+
+    /**
+     * Holds the value of one counter spread over several slots so that concurrent threads mostly update different cache lines.  Draining
+     * takes each slot atomically so every recorded value is taken exactly once.
+     */
+    private static final class Cell {
+        private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        private static final int PADDING = 8;
+
+        private final Operation operation;
+        private final AtomicLongArray slots = new AtomicLongArray(STRIPES * PADDING);
+        private final LongAdder count = new LongAdder();
+
+        private Cell(Operation operation) {
+            this.operation = operation;
+            for (int i = 0; i < STRIPES; i++) {
+                slots.set(i * PADDING, operation.identity);
+            }
+        }
+
+        private void accumulate(long value) {
+            int slot = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+            slots.accumulateAndGet(slot, value, operation.function);
+        }
+
+        private long drain() {
+            long value = operation.identity;
+            for (int i = 0; i < STRIPES; i++) {
+                value = operation.function.applyAsLong(value, slots.getAndSet(i * PADDING, operation.identity));
+            }
+            return value;
+        }
+    }
+
+    private static final class Key {
+        private final Class<?> type;
+        private final Object id;
+        private final String field;
+        private final Operation operation;
+
+        private Key(Class<?> type, Object id, String field, Operation operation) {
+            this.type = type;
+            this.id = id;
+            this.field = field;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return type.equals(that.type) && id.equals(that.id) && field.equals(that.field) && operation == that.operation;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id, field, operation);
+        }
+    }
+
+    private static final class TypedId {
+        private final Class<?> type;
+        private final Object id;
+
+        private TypedId(Class<?> type, Object id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TypedId)) {
+                return false;
+            }
+            TypedId that = (TypedId) o;
+            return type.equals(that.type) && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + id.hashCode();
+        }
+    }
+}
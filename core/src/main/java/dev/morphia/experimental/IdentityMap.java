@@ -0,0 +1,154 @@
+package dev.morphia.experimental;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.Datastore;
+import dev.morphia.mapping.Mapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the entities loaded or written through a {@link MorphiaSession} so that each document is represented by a single instance for
+ * the life of the session.  Entities are keyed by their collection and ID.  Queries by ID and the resolution of eager references made
+ * through the session are answered from this map when possible rather than going back to the database.
+ * <p>
+ * Like the session itself, an identity map is not thread safe.
+ *
+ * @morphia.experimental
+ * @see MorphiaSession#identityMap(boolean)
+ * @since 2.3
+ */
+public class IdentityMap {
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Map<Object, Object>> entities = new HashMap<>();
+
+    /**
+     * @return the identity map in effect for the current thread, if any
+     * @morphia.internal
+     */
+    @Nullable
+    public static IdentityMap current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param datastore the datastore
+     * @return the identity map of the datastore if it is a session with one enabled
+     * @morphia.internal
+     */
+    @Nullable
+    public static IdentityMap of(Datastore datastore) {
+        return datastore instanceof MorphiaSession ? ((MorphiaSession) datastore).getIdentityMap() : null;
+    }
+
+    /**
+     * Runs an operation with this identity map in effect for the current thread
+     *
+     * @param operation the operation
+     * @param <R>       the result type
+     * @return the result of the operation
+     * @morphia.internal
+     */
+    public <R> R apply(Supplier<R> operation) {
+        IdentityMap previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes every entity from the map
+     */
+    public void clear() {
+        entities.clear();
+    }
+
+    /**
+     * Removes every entity of a collection from the map
+     *
+     * @param collection the collection
+     */
+    public void evict(String collection) {
+        entities.remove(collection);
+    }
+
+    /**
+     * Removes an entity from the map
+     *
+     * @param mapper the mapper
+     * @param entity the entity
+     */
+    public void evict(Mapper mapper, Object entity) {
+        Object id = mapper.getId(entity);
+        Map<Object, Object> known = entities.get(collection(mapper, entity));
+        if (id != null && known != null) {
+            known.remove(id);
+        }
+    }
+
+    /**
+     * @param collection the collection
+     * @param id         the ID
+     * @return the entity known for the ID or null
+     */
+    @Nullable
+    public Object get(String collection, Object id) {
+        Map<Object, Object> known = entities.get(collection);
+        return known != null ? known.get(id) : null;
+    }
+
+    /**
+     * Records an entity as the current state of its document replacing any entity already known for the same ID
+     *
+     * @param mapper the mapper
+     * @param entity the entity
+     */
+    public void put(Mapper mapper, Object entity) {
+        Object id = mapper.getId(entity);
+        if (id != null) {
+            entities.computeIfAbsent(collection(mapper, entity), k -> new HashMap<>())
+                    .put(id, entity);
+        }
+    }
+
+    /**
+     * Records a newly loaded entity unless an entity is already known for the same ID
+     *
+     * @param mapper the mapper
+     * @param entity the entity
+     * @param <T>    the entity type
+     * @return the entity known for the ID, which is the given entity if none was known before
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T register(Mapper mapper, T entity) {
+        Object id = mapper.getId(entity);
+        if (id == null) {
+            return entity;
+        }
+        Object known = entities.computeIfAbsent(collection(mapper, entity), k -> new HashMap<>())
+                               .putIfAbsent(id, entity);
+        return known != null && entity.getClass().isInstance(known) ? (T) known : entity;
+    }
+
+    /**
+     * @return the number of entities in the map
+     */
+    public int size() {
+        return entities.values().stream()
+                       .mapToInt(Map::size)
+                       .sum();
+    }
+
+    private String collection(Mapper mapper, Object entity) {
+        return mapper.getEntityModel(entity.getClass()).getCollectionName();
+    }
+}
@@ -1,6 +1,7 @@
 package dev.morphia.experimental;
 
 import com.mongodb.client.ClientSession;
+import com.mongodb.lang.Nullable;
 import dev.morphia.AdvancedDatastore;
 
 /**
@@ -10,4 +11,22 @@ import dev.morphia.AdvancedDatastore;
  */
 @SuppressWarnings("removal")
 public interface MorphiaSession extends AdvancedDatastore, ClientSession {
+    /**
+     * @return the identity map of this session or null if it is not enabled
+     * @see #identityMap(boolean)
+     * @since 2.3
+     */
+    @Nullable
+    IdentityMap getIdentityMap();
+
+    /**
+     * Enables or disables the identity map of this session.  When enabled, each document loaded or written through this session is
+     * represented by a single entity instance.  Queries by ID and eager references are answered from the identity map when possible.
+     * Disabling the identity map discards it.
+     *
+     * @param enabled true to enable the identity map
+     * @return this
+     * @since 2.3
+     */
+    MorphiaSession identityMap(boolean enabled);
 }
@@ -37,35 +37,62 @@ public class MorphiaSessionImpl extends BaseMorphiaSession {
     public <T> void insert(T entity, InsertOneOptions options) {
         super.insert(entity, new InsertOneOptions(options)
                                  .clientSession(findSession(options)));
+        remember(entity);
     }
 
     @Override
     public <T> void insert(List<T> entities, InsertManyOptions options) {
         super.insert(entities, new InsertManyOptions(options)
                                    .clientSession(findSession(options)));
+        entities.forEach(this::remember);
     }
 
     @Override
     public <T> DeleteResult delete(T entity, DeleteOptions options) {
+        IdentityMap identityMap = getIdentityMap();
+        if (identityMap != null) {
+            identityMap.evict(getMapper(), entity);
+        }
         return super.delete(entity, new DeleteOptions(options)
                                         .clientSession(findSession(options)));
     }
 
     @Override
     public <T> T merge(T entity, InsertOneOptions options) {
+        IdentityMap identityMap = getIdentityMap();
+        if (identityMap != null) {
+            identityMap.evict(getMapper(), entity);
+        }
         return super.merge(entity, new InsertOneOptions(options)
                                        .clientSession(findSession(options)));
     }
 
+    @Override
+    public <T> void refresh(T entity) {
+        super.refresh(entity);
+        remember(entity);
+    }
+
     @Override
     public <T> List<T> save(List<T> entities, InsertManyOptions options) {
-        return super.save(entities, new InsertManyOptions(options)
-                                        .clientSession(findSession(options)));
+        List<T> saved = super.save(entities, new InsertManyOptions(options)
+                                                 .clientSession(findSession(options)));
+        saved.forEach(this::remember);
+        return saved;
     }
 
     @Override
     public <T> T save(T entity, InsertOneOptions options) {
-        return super.save(entity, new InsertOneOptions(options)
-                                      .clientSession(findSession(options)));
+        T saved = super.save(entity, new InsertOneOptions(options)
+                                         .clientSession(findSession(options)));
+        remember(saved);
+        return saved;
+    }
+
+    private void remember(Object entity) {
+        IdentityMap identityMap = getIdentityMap();
+        if (identityMap != null) {
+            identityMap.put(getMapper(), entity);
+        }
     }
 }
@@ -0,0 +1,297 @@
+package dev.morphia.experimental;
+
+import com.mongodb.MongoException;
+import com.mongodb.bulk.BulkWriteError;
+import dev.morphia.BulkOperations;
+import dev.morphia.BulkResult;
+import dev.morphia.BulkResult.Status;
+import dev.morphia.Datastore;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.pojo.MorphiaCodec;
+import dev.morphia.sofia.Sofia;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static dev.morphia.query.experimental.filters.Filters.eq;
+import static dev.morphia.query.experimental.updates.UpdateOperators.set;
+
+/**
+ * Buffers saves and merges of entities and writes them from a background thread.  Repeated writes of a document, identified by its
+ * collection and ID, within a window are coalesced so that an entity saved many times a second is written at most once per window.
+ * Pending writes are sent as bulk writes when the window ends or once enough of them are pending, whichever comes first.
+ * <p>
+ * Entities are written in the state they are in when flushed rather than when they were saved so they should not be changed while a
+ * flush might be running.  Writes which fail are handed to the {@link FailureHandler} and are not retried.  Merges of versioned entities
+ * are written one at a time since a bulk write can not tell which of them failed their version check.
+ *
+ * @morphia.experimental
+ * @since 2.3
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class WriteBehind implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehind.class);
+
+    private final Datastore datastore;
+    private final Mapper mapper;
+    private final WriteBehindOptions options;
+    private final FailureHandler failureHandler;
+    private final ScheduledExecutorService executor;
+    private final Object flushLock = new Object();
+    private Map<Key, List<Write>> pending = new LinkedHashMap<>();
+    private int size;
+    private boolean flushRequested;
+    private boolean closed;
+
+    /**
+     * Creates a new buffer and starts its background thread
+     *
+     * @param datastore the datastore to write with
+     * @param options   the options to apply
+     */
+    public WriteBehind(Datastore datastore, WriteBehindOptions options) {
+        this.datastore = datastore;
+        this.mapper = datastore.getMapper();
+        this.options = options;
+        this.failureHandler = options.getFailureHandler() != null ? options.getFailureHandler() : WriteBehind::log;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "morphia-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long window = options.getWindow(TimeUnit.NANOSECONDS);
+        executor.scheduleWithFixedDelay(this::flushQuietly, window, window, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops the background thread and writes any pending writes.  Once closed, no more writes are accepted.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            executor.shutdown();
+        }
+        flush();
+    }
+
+    /**
+     * Writes every pending write on the calling thread.  Returns once all the writes pending when called are written or failed.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Key, List<Write>> writes;
+            synchronized (this) {
+                writes = pending;
+                pending = new LinkedHashMap<>();
+                size = 0;
+                flushRequested = false;
+            }
+
+            // only the first write of each document goes in a round so that the writes of a document keep their order
+            List<Write> round = new ArrayList<>();
+            while (!writes.isEmpty()) {
+                round.clear();
+                Iterator<List<Write>> iterator = writes.values().iterator();
+                while (iterator.hasNext()) {
+                    List<Write> list = iterator.next();
+                    round.add(list.remove(0));
+                    if (list.isEmpty()) {
+                        iterator.remove();
+                    }
+                }
+                write(round);
+            }
+        }
+    }
+
+    /**
+     * Queues a merge of an entity.  A merge adds nothing if a write of the same instance is already pending since that write sends the
+     * state of the entity at the time of the flush.
+     *
+     * @param entity the entity to merge
+     * @param <T>    the entity type
+     * @see Datastore#merge(Object)
+     */
+    public <T> void merge(T entity) {
+        Object id = mapper.getId(entity);
+        if (id == null) {
+            throw new MappingException("Could not get id for " + entity.getClass().getName());
+        }
+        add(new Key(collection(entity), id), entity, true);
+    }
+
+    /**
+     * @return the number of pending writes
+     */
+    public synchronized int pending() {
+        return size;
+    }
+
+    /**
+     * Queues a save of an entity.  A save replaces any writes of the same document already pending.  Entities without an ID are given
+     * one immediately so that later saves of them are coalesced as well.
+     *
+     * @param entity the entity to save
+     * @param <T>    the entity type
+     * @see Datastore#save(Object)
+     */
+    public <T> void save(T entity) {
+        ((MorphiaCodec<T>) mapper.getCodecRegistry().get(entity.getClass())).generateIdIfAbsentFromDocument(entity);
+        Object id = mapper.getId(entity);
+        if (id == null) {
+            throw new MappingException("Could not get id for " + entity.getClass().getName());
+        }
+        add(new Key(collection(entity), id), entity, false);
+    }
+
+    private static void log(Object entity, RuntimeException cause) {
+        LOG.error(String.format("Write behind of %s failed", entity.getClass().getName()), cause);
+    }
+
+    private synchronized void add(Key key, Object entity, boolean merge) {
+        if (closed) {
+            throw new IllegalStateException(Sofia.writeBehindClosed());
+        }
+        List<Write> writes = pending.computeIfAbsent(key, k -> new ArrayList<>());
+        if (!merge) {
+            size -= writes.size();
+            writes.clear();
+            writes.add(new Write(entity, false));
+            size++;
+        } else if (writes.stream().noneMatch(write -> write.entity == entity)) {
+            writes.add(new Write(entity, true));
+            size++;
+        }
+        if (size >= options.getMaxSize() && !flushRequested) {
+            flushRequested = true;
+            executor.execute(this::flushQuietly);
+        }
+    }
+
+    private String collection(Object entity) {
+        return mapper.getEntityModel(entity.getClass()).getCollectionName();
+    }
+
+    private void failed(Object entity, RuntimeException cause) {
+        try {
+            failureHandler.failed(entity, cause);
+        } catch (RuntimeException e) {
+            LOG.error("The write behind failure handler failed", e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // an exception would cancel the scheduled flushes
+            LOG.error("Write behind flush failed", e);
+        }
+    }
+
+    private void write(List<Write> writes) {
+        BulkOperations bulk = datastore.bulk();
+        List<Write> batched = new ArrayList<>();
+        for (Write write : writes) {
+            Object entity = write.entity;
+            try {
+                if (!write.merge) {
+                    bulk.save(entity);
+                    batched.add(write);
+                } else if (mapper.getEntityModel(entity.getClass()).getVersionProperty() != null) {
+                    datastore.merge(entity);
+                } else {
+                    bulk.update((Class) entity.getClass(), eq("_id", mapper.getId(entity)), set(entity));
+                    batched.add(write);
+                }
+            } catch (RuntimeException e) {
+                failed(entity, e);
+            }
+        }
+        if (batched.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkResult result = bulk.execute(options.getBulkOptions());
+            for (int i = 0; i < batched.size(); i++) {
+                Object entity = batched.get(i).entity;
+                Status status = result.getStatus(i);
+                if (status == Status.VERSION_MISMATCH) {
+                    failed(entity, new VersionMismatchException(entity.getClass(), mapper.getId(entity)));
+                } else if (status == Status.FAILED) {
+                    BulkWriteError error = result.getError(i);
+                    failed(entity, new MongoException(error.getCode(), error.getMessage()));
+                } else if (status == Status.NOT_ATTEMPTED) {
+                    failed(entity, new MongoException(Sofia.writeBehindNotAttempted(entity.getClass().getName(), mapper.getId(entity))));
+                }
+            }
+        } catch (RuntimeException e) {
+            for (Write write : batched) {
+                failed(write.entity, e);
+            }
+        }
+    }
+
+    /**
+     * Told of writes which failed
+     */
+    @FunctionalInterface
+    public interface FailureHandler {
+        /**
+         * Called once for each write which failed
+         *
+         * @param entity the entity which was not written
+         * @param cause  the reason it was not written
+         */
+        void failed(Object entity, RuntimeException cause);
+    }
+
+    private static final class Key {
+        private final String collection;
+        private final Object id;
+
+        private Key(String collection, Object id) {
+            this.collection = collection;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return collection.equals(that.collection) && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * collection.hashCode() + id.hashCode();
+        }
+    }
+
+    private static final class Write {
+        private final Object entity;
+        private final boolean merge;
+
+        private Write(Object entity, boolean merge) {
+            this.entity = entity;
+            this.merge = merge;
+        }
+    }
+}
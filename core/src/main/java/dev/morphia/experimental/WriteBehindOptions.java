@@ -0,0 +1,103 @@
+package dev.morphia.experimental;
+
+import dev.morphia.BulkOptions;
+import dev.morphia.experimental.WriteBehind.FailureHandler;
+import dev.morphia.sofia.Sofia;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options to configure a {@link WriteBehind} buffer.  The setter methods return {@code this} so that a chaining style can be used.
+ *
+ * @morphia.experimental
+ * @since 2.3
+ */
+public class WriteBehindOptions {
+    private long window = 100;
+    private TimeUnit windowUnit = TimeUnit.MILLISECONDS;
+    private int maxSize = 1000;
+    private BulkOptions bulkOptions = new BulkOptions().ordered(false);
+    private FailureHandler failureHandler;
+
+    /**
+     * Sets the options used to write each flush.  The default is an unordered write using the default batch size.
+     *
+     * @param bulkOptions the options
+     * @return this
+     */
+    public WriteBehindOptions bulkOptions(BulkOptions bulkOptions) {
+        this.bulkOptions = new BulkOptions(bulkOptions);
+        return this;
+    }
+
+    /**
+     * Sets the handler told of writes which failed.  By default failures are logged.
+     *
+     * @param failureHandler the handler
+     * @return this
+     */
+    public WriteBehindOptions failureHandler(FailureHandler failureHandler) {
+        this.failureHandler = failureHandler;
+        return this;
+    }
+
+    /**
+     * @return the options used to write each flush
+     */
+    public BulkOptions getBulkOptions() {
+        return bulkOptions;
+    }
+
+    /**
+     * @return the handler told of writes which failed or null if failures are logged
+     */
+    public FailureHandler getFailureHandler() {
+        return failureHandler;
+    }
+
+    /**
+     * @return the number of pending writes which triggers a flush before the window ends
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param unit the unit to use
+     * @return the time between scheduled flushes
+     */
+    public long getWindow(TimeUnit unit) {
+        return unit.convert(window, windowUnit);
+    }
+
+    /**
+     * Sets the number of pending writes which triggers a flush before the window ends.  The default is 1000.
+     *
+     * @param maxSize the size
+     * @return this
+     */
+    public WriteBehindOptions maxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(Sofia.invalidBatchSize(maxSize));
+        }
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Sets the time between scheduled flushes.  Repeated writes of an entity within the window are coalesced into one.  The default is
+     * 100 milliseconds.
+     *
+     * @param window the time between flushes
+     * @param unit   the unit of the time
+     * @return this
+     */
+    public WriteBehindOptions window(long window, TimeUnit unit) {
+        if (window < 1) {
+            throw new IllegalArgumentException(Sofia.invalidWriteBehindWindow(window));
+        }
+        this.window = window;
+        this.windowUnit = unit;
+        return this;
+    }
+}
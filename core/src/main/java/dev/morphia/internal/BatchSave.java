@@ -0,0 +1,167 @@
+package dev.morphia.internal;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.lang.Nullable;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The bulk write saving entities bound for the same collection.  New entities are inserted and the others replaced using the same
+ * version filters as single saves.  Creating the batch increments the versions of the entities so, should the write fail, the batch must
+ * be rolled back to restore the versions of those which were not written.
+ *
+ * @param <T> the entity type
+ * @morphia.internal
+ * @since 2.3
+ */
+public final class BatchSave<T> {
+    private final Mapper mapper;
+    private final List<T> entities;
+    private final boolean ordered;
+    private final List<WriteModel<T>> models;
+    private final List<Long> oldVersions;
+    private final BulkWriteOptions bulkWriteOptions;
+
+    /**
+     * Builds the write models of the entities and increments their versions
+     *
+     * @param mapper   the mapper
+     * @param entities the entities to save
+     * @param options  the options of the save
+     */
+    public BatchSave(Mapper mapper, List<T> entities, InsertManyOptions options) {
+        this(mapper, entities, new BitSet(), options);
+    }
+
+    /**
+     * Builds the write models of the entities and increments their versions
+     *
+     * @param mapper   the mapper
+     * @param entities the entities to save
+     * @param inserts  the positions of the entities to insert whether or not they are new
+     * @param options  the options of the save
+     */
+    public BatchSave(Mapper mapper, List<T> entities, BitSet inserts, InsertManyOptions options) {
+        this.mapper = mapper;
+        this.entities = entities;
+        ordered = options.isOrdered();
+        models = new ArrayList<>(entities.size());
+        oldVersions = new ArrayList<>(entities.size());
+        ReplaceOptions replaceOptions = new ReplaceOptions()
+                                            .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                            .upsert(true);
+        for (int i = 0; i < entities.size(); i++) {
+            T entity = entities.get(i);
+            PropertyModel versionProperty = mapper.getEntityModel(entity.getClass()).getVersionProperty();
+            Object id = mapper.getId(entity);
+            Long oldVersion = null;
+            long newVersion = -1;
+            if (versionProperty != null) {
+                oldVersion = (Long) versionProperty.getValue(entity);
+                newVersion = oldVersion == null ? 1L : oldVersion + 1;
+            }
+
+            if (inserts.get(i) || id == null || newVersion == 1) {
+                models.add(new InsertOneModel<>(entity));
+            } else {
+                Document filter = new Document("_id", id);
+                if (versionProperty != null) {
+                    filter.put(versionProperty.getMappedName(), oldVersion);
+                }
+                models.add(new ReplaceOneModel<>(filter, entity, replaceOptions));
+            }
+            oldVersions.add(oldVersion);
+            updateVersion(entity, versionProperty, newVersion);
+        }
+        bulkWriteOptions = new BulkWriteOptions()
+                               .bypassDocumentValidation(options.getBypassDocumentValidation())
+                               .ordered(ordered);
+    }
+
+    /**
+     * @return the entities saved
+     */
+    public List<T> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return the write models of the entities, in the same order
+     */
+    public List<WriteModel<T>> getModels() {
+        return models;
+    }
+
+    /**
+     * @return the options to send the bulk write with
+     */
+    public BulkWriteOptions getOptions() {
+        return bulkWriteOptions;
+    }
+
+    /**
+     * Restores the versions of the entities a failed bulk write did not write.  An ordered write stops at its first error so nothing after
+     * it was written either.
+     *
+     * @param e the failure of the bulk write
+     * @return the exception to report: a {@link VersionMismatchException} if any versioned entity failed, with any others suppressed by
+     * it, or else the failure itself
+     */
+    public RuntimeException rollback(MongoBulkWriteException e) {
+        Set<Integer> failed = new HashSet<>();
+        for (BulkWriteError error : e.getWriteErrors()) {
+            failed.add(error.getIndex());
+        }
+        int firstUnattempted = ordered && !e.getWriteErrors().isEmpty()
+                               ? e.getWriteErrors().get(0).getIndex() + 1
+                               : entities.size();
+
+        VersionMismatchException mismatch = null;
+        for (int i = 0; i < entities.size(); i++) {
+            if (failed.contains(i) || i >= firstUnattempted) {
+                T entity = entities.get(i);
+                rollback(i);
+                if (mapper.getEntityModel(entity.getClass()).getVersionProperty() != null && failed.contains(i)) {
+                    VersionMismatchException exception = new VersionMismatchException(entity.getClass(), mapper.getId(entity));
+                    if (mismatch == null) {
+                        mismatch = exception;
+                    } else {
+                        mismatch.addSuppressed(exception);
+                    }
+                }
+            }
+        }
+        return mismatch != null ? mismatch : e;
+    }
+
+    /**
+     * Restores the version of an entity which was not written
+     *
+     * @param index the position of the entity in the batch
+     */
+    public void rollback(int index) {
+        T entity = entities.get(index);
+        updateVersion(entity, mapper.getEntityModel(entity.getClass()).getVersionProperty(), oldVersions.get(index));
+    }
+
+    private static void updateVersion(Object entity, @Nullable PropertyModel versionProperty, @Nullable Long version) {
+        if (versionProperty != null) {
+            versionProperty.setValue(entity, version);
+        }
+    }
+}
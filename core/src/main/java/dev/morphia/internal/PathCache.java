@@ -0,0 +1,82 @@
+package dev.morphia.internal;
+
+import dev.morphia.internal.PathTarget.Resolution;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers how paths resolve against each mapped type so that queries, updates, sorts, projections and indexes using the same paths
+ * need not walk the mapping metadata again.  Resolutions which fail validation are not cached.  The cache is emptied whenever a new type
+ * is mapped since new subtypes can change how paths resolve.
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+public final class PathCache {
+    /**
+     * Paths with map keys in them can be unbounded in number so once this many are cached any more are simply resolved each time
+     */
+    private static final int MAX_SIZE = 10_000;
+
+    private volatile Map<Key, Resolution> resolutions = new ConcurrentHashMap<>();
+
+    /**
+     * Discards all cached resolutions
+     */
+    public void clear() {
+        resolutions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the number of cached resolutions
+     */
+    public int size() {
+        return resolutions.size();
+    }
+
+    Resolution resolve(EntityModel root, String path, boolean validateNames, Supplier<Resolution> resolver) {
+        // read once so that a resolution made against an older mapping can never land in a cache created after it changed
+        Map<Key, Resolution> current = resolutions;
+        Key key = new Key(root, path, validateNames);
+        Resolution resolution = current.get(key);
+        if (resolution == null) {
+            resolution = resolver.get();
+            if (current.size() < MAX_SIZE) {
+                current.putIfAbsent(key, resolution);
+            }
+        }
+        return resolution;
+    }
+
+    private static final class Key {
+        private final EntityModel root;
+        private final String path;
+        private final boolean validateNames;
+
+        private Key(EntityModel root, String path, boolean validateNames) {
+            this.root = root;
+            this.path = path;
+            this.validateNames = validateNames;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return root == that.root && validateNames == that.validateNames && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(root) + path.hashCode()) + Boolean.hashCode(validateNames);
+        }
+    }
+}
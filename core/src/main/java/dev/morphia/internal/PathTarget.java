@@ -26,7 +26,7 @@ import dev.morphia.sofia.Sofia;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.StringJoiner;
+import java.util.regex.Pattern;
 
 import static java.util.Arrays.asList;
 
@@ -35,14 +35,13 @@ import static java.util.Arrays.asList;
  * @since 1.3
  */
 public class PathTarget {
-    private final List<String> segments;
-    private final boolean validateNames;
-    private int position;
+    private static final Pattern ARRAY_OPERATOR = Pattern.compile("\\$|\\$\\[.*]|[0-9]+");
+
     private final Mapper mapper;
     private final EntityModel root;
-    private EntityModel context;
-    private PropertyModel target;
-    private boolean resolved;
+    private final String path;
+    private final boolean validateNames;
+    private Resolution resolution;
 
     /**
      * Creates a resolution context for the given root and path.
@@ -64,11 +63,13 @@ public class PathTarget {
      * @param validateNames true if names should be validated
      */
     public PathTarget(Mapper mapper, @Nullable EntityModel root, String path, boolean validateNames) {
-        segments = asList(path.split("\\."));
         this.root = root;
         this.mapper = mapper;
+        this.path = path;
         this.validateNames = validateNames;
-        resolved = path.startsWith("$");
+        if (path.startsWith("$")) {
+            resolution = new Resolution(path, null);
+        }
     }
 
     /**
@@ -102,12 +103,7 @@ public class PathTarget {
      * @return the translated path
      */
     public String translatedPath() {
-        if (!resolved) {
-            resolve();
-        }
-        StringJoiner joiner = new StringJoiner(".");
-        segments.forEach(joiner::add);
-        return joiner.toString();
+        return resolution().translatedPath;
     }
 
     /**
@@ -117,90 +113,116 @@ public class PathTarget {
      */
     @Nullable
     public PropertyModel getTarget() {
-        if (!resolved) {
-            resolve();
-        }
-        return target;
+        return resolution().target;
     }
 
     @Override
     public String toString() {
-        return String.format("PathTarget{root=%s, segments=%s, target=%s}", root.getType().getSimpleName(), segments, target);
+        return String.format("PathTarget{root=%s, path=%s, target=%s}", root.getType().getSimpleName(), path,
+            resolution != null ? resolution.target : null);
     }
 
-    private boolean hasNext() {
-        return position < segments.size();
+    private Resolution resolution() {
+        if (resolution == null) {
+            resolution = root != null
+                         ? mapper.getPathCache().resolve(root, path, validateNames, () -> new Resolver().resolve())
+                         : new Resolver().resolve();
+        }
+        return resolution;
     }
 
-    private void failValidation(String pathElement) {
-        resolved = true;
-        throw new ValidationException(Sofia.invalidPathTarget(translatedPath(), root.getType().getName(), pathElement));
+    /**
+     * The outcome of resolving a path
+     */
+    static final class Resolution {
+        private final String translatedPath;
+        @Nullable
+        private final PropertyModel target;
+
+        private Resolution(String translatedPath, @Nullable PropertyModel target) {
+            this.translatedPath = translatedPath;
+            this.target = target;
+        }
     }
 
-    private void resolve() {
-        context = this.root;
-        position = 0;
-        PropertyModel property = null;
-        while (hasNext()) {
-            String segment = next();
-
-            // array operator
-            if ("$".equals(segment) || (segment.startsWith("$[") && segment.endsWith("]")) || segment.matches("[0-9]+")) {
-                if (!hasNext()) {
-                    break;
-                }
-                segment = next();
-            }
-            property = resolveProperty(segment);
-
-            if (property != null) {
-                if (hasNext() && property.isReference()) {
-                    failValidation(segment);
-                }
-                translate(property.getMappedName());
-                if (property.isMap() && hasNext()) {
-                    next();  // consume the map key segment
+    /**
+     * Walks the path segment by segment through the mapped types translating each one to its mapped name
+     */
+    private final class Resolver {
+        private final List<String> segments = asList(path.split("\\."));
+        private int position;
+        private EntityModel context = root;
+
+        private Resolution resolve() {
+            PropertyModel property = null;
+            while (hasNext()) {
+                String segment = next();
+
+                // array operator
+                if (ARRAY_OPERATOR.matcher(segment).matches()) {
+                    if (!hasNext()) {
+                        break;
+                    }
+                    segment = next();
                 }
-            } else {
-                if (validateNames) {
-                    failValidation(segment);
+                property = resolveProperty(segment);
+
+                if (property != null) {
+                    if (hasNext() && property.isReference()) {
+                        failValidation(segment);
+                    }
+                    translate(property.getMappedName());
+                    if (property.isMap() && hasNext()) {
+                        next();  // consume the map key segment
+                    }
+                } else {
+                    if (validateNames) {
+                        failValidation(segment);
+                    }
                 }
             }
+            return new Resolution(String.join(".", segments), property);
         }
-        target = property;
-        resolved = true;
-    }
 
-    private void translate(String nameToStore) {
-        segments.set(position - 1, nameToStore);
-    }
+        private void failValidation(String pathElement) {
+            throw new ValidationException(Sofia.invalidPathTarget(String.join(".", segments), root.getType().getName(), pathElement));
+        }
 
-    @Nullable
-    private PropertyModel resolveProperty(String segment) {
-        if (context != null) {
-            PropertyModel model = context.getProperty(segment);
-            if (model == null) {
-                Iterator<EntityModel> subTypes = context.getSubtypes().iterator();
-                while (model == null && subTypes.hasNext()) {
-                    context = subTypes.next();
-                    model = resolveProperty(segment);
+        private boolean hasNext() {
+            return position < segments.size();
+        }
+
+        private String next() {
+            return segments.get(position++);
+        }
+
+        @Nullable
+        private PropertyModel resolveProperty(String segment) {
+            if (context != null) {
+                PropertyModel model = context.getProperty(segment);
+                if (model == null) {
+                    Iterator<EntityModel> subTypes = context.getSubtypes().iterator();
+                    while (model == null && subTypes.hasNext()) {
+                        context = subTypes.next();
+                        model = resolveProperty(segment);
+                    }
                 }
-            }
 
-            if (model != null) {
-                try {
-                    context = mapper.getEntityModel(model.getNormalizedType());
-                } catch (NotMappableException ignored) {
-                    context = null;
+                if (model != null) {
+                    try {
+                        context = mapper.getEntityModel(model.getNormalizedType());
+                    } catch (NotMappableException ignored) {
+                        context = null;
+                    }
                 }
+                return model;
+            } else {
+                return null;
             }
-            return model;
-        } else {
-            return null;
         }
-    }
 
-    String next() {
-        return segments.get(position++);
+        private void translate(String nameToStore) {
+            segments.set(position - 1, nameToStore);
+        }
     }
 }
@@ -34,6 +34,11 @@ import static java.lang.String.format;
  */
 public final class DiscriminatorLookup {
     private final Map<String, Class<?>> discriminatorClassMap = new ConcurrentHashMap<>();
+    /**
+     * The names which could not be loaded.  These are remembered so that repeated lookups of an unknown discriminator do not pay for a
+     * failed class load each time.
+     */
+    private final Set<String> missingClasses = ConcurrentHashMap.newKeySet();
     private final Set<String> packages = new ConcurrentSkipListSet<>();
     private final ClassLoader classLoader;
 
@@ -62,8 +67,9 @@ public final class DiscriminatorLookup {
      * @return the mapped class
      */
     public Class<?> lookup(String discriminator) {
-        if (discriminatorClassMap.containsKey(discriminator)) {
-            return discriminatorClassMap.get(discriminator);
+        Class<?> known = discriminatorClassMap.get(discriminator);
+        if (known != null) {
+            return known;
         }
 
         Class<?> clazz = getClassForName(discriminator);
@@ -81,11 +87,14 @@ public final class DiscriminatorLookup {
 
     @Nullable
     private Class<?> getClassForName(String discriminator) {
+        if (missingClasses.contains(discriminator)) {
+            return null;
+        }
         Class<?> clazz = null;
         try {
             clazz = Class.forName(discriminator, true, classLoader);
         } catch (ClassNotFoundException e) {
-            // Ignore
+            missingClasses.add(discriminator);
         }
         return clazz;
     }
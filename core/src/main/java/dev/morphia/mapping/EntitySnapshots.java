@@ -0,0 +1,149 @@
+package dev.morphia.mapping;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.annotations.TrackChanges;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the last known stored form of entities whose types track changes.  Entities are held weakly and by identity so neither the
+ * lifetime nor the {@code equals()} of an entity is affected by having a snapshot.
+ *
+ * @morphia.internal
+ * @see TrackChanges
+ * @since 2.3
+ */
+public final class EntitySnapshots {
+    private final Map<IdentityKey, RawBsonDocument> snapshots = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /**
+     * Compares the current form of an entity with its snapshot
+     *
+     * @param snapshot the snapshot
+     * @param current  the entity as it would be stored now
+     * @return the update document holding a {@code $set} and {@code $unset} of the changed fields.  Empty if nothing changed.
+     */
+    public static BsonDocument changes(RawBsonDocument snapshot, BsonDocument current) {
+        BsonDocument set = new BsonDocument();
+        BsonDocument unset = new BsonDocument();
+        diff("", snapshot.decode(new BsonDocumentCodec()), current, set, unset);
+        set.remove("_id");
+        BsonDocument update = new BsonDocument();
+        if (!set.isEmpty()) {
+            update.put("$set", set);
+        }
+        if (!unset.isEmpty()) {
+            update.put("$unset", unset);
+        }
+        return update;
+    }
+
+    /**
+     * @param entity the entity
+     * @return the snapshot of the entity or null if there is none
+     */
+    @Nullable
+    public RawBsonDocument get(Object entity) {
+        return snapshots.get(new IdentityKey(entity, null));
+    }
+
+    /**
+     * Discards the snapshot of an entity
+     *
+     * @param entity the entity
+     */
+    public void remove(Object entity) {
+        snapshots.remove(new IdentityKey(entity, null));
+    }
+
+    /**
+     * @return the number of snapshots held
+     */
+    public int size() {
+        expunge();
+        return snapshots.size();
+    }
+
+    /**
+     * Records the stored form of an entity
+     *
+     * @param entity   the entity
+     * @param document the document as stored
+     */
+    public void snapshot(Object entity, RawBsonDocument document) {
+        expunge();
+        snapshots.put(new IdentityKey(entity, queue), document);
+    }
+
+    /**
+     * Records the stored form of an entity
+     *
+     * @param entity   the entity
+     * @param document the document as stored
+     */
+    public void snapshot(Object entity, BsonDocument document) {
+        snapshot(entity, new RawBsonDocument(document, new BsonDocumentCodec()));
+    }
+
+    private static void diff(String prefix, BsonDocument before, BsonDocument after, BsonDocument set, BsonDocument unset) {
+        for (Entry<String, BsonValue> entry : after.entrySet()) {
+            String path = prefix + entry.getKey();
+            BsonValue old = before.get(entry.getKey());
+            BsonValue value = entry.getValue();
+            if (old != null && old.isDocument() && value.isDocument()) {
+                diff(path + ".", old.asDocument(), value.asDocument(), set, unset);
+            } else if (!value.equals(old)) {
+                set.put(path, value);
+            }
+        }
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key)) {
+                unset.put(prefix + key, new BsonString(""));
+            }
+        }
+    }
+
+    private void expunge() {
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null) {
+            snapshots.remove(reference);
+        }
+    }
+
+    private static final class IdentityKey extends WeakReference<Object> {
+        private final int hash;
+
+        private IdentityKey(Object entity, @Nullable ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            hash = System.identityHashCode(entity);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IdentityKey)) {
+                return false;
+            }
+            Object entity = get();
+            return entity != null && entity == ((IdentityKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -34,10 +34,7 @@ public class InstanceCreatorFactoryImpl implements InstanceCreatorFactory {
                         return new NoArgCreator(constructor);
                     };
                 } catch (NoSuchMethodException e) {
-                    Constructor<?> constructor = ConstructorCreator.getFullConstructor(model);
-                    creator = () -> {
-                        return new ConstructorCreator(model, constructor);
-                    };
+                    creator = ConstructorCreator.factory(model, ConstructorCreator.getFullConstructor(model));
                 }
             } else {
                 throw new MappingException(Sofia.noSuitableConstructor(model.getType().getName()));
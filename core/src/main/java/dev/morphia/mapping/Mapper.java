@@ -8,9 +8,12 @@ import dev.morphia.Datastore;
 import dev.morphia.EntityInterceptor;
 import dev.morphia.Key;
 import dev.morphia.aggregation.experimental.codecs.AggregationCodecProvider;
+import dev.morphia.annotations.Cached;
 import dev.morphia.annotations.Embedded;
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.experimental.EmbeddedBuilder;
+import dev.morphia.cache.EntityCache;
+import dev.morphia.internal.PathCache;
 import dev.morphia.mapping.codec.EnumCodecProvider;
 import dev.morphia.mapping.codec.MorphiaCodecProvider;
 import dev.morphia.mapping.codec.MorphiaTypesCodecProvider;
@@ -22,6 +25,7 @@ import dev.morphia.mapping.codec.reader.DocumentReader;
 import dev.morphia.mapping.codec.references.MorphiaProxy;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
 import dev.morphia.mapping.validation.MappingValidator;
+import dev.morphia.query.CachedEntities;
 import dev.morphia.sofia.Sofia;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
@@ -34,8 +38,8 @@ import org.bson.codecs.configuration.CodecRegistry;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -43,7 +47,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
 
 import static dev.morphia.sofia.Sofia.entityOrEmbedded;
@@ -63,11 +66,29 @@ public class Mapper {
      */
     public static final String IGNORED_FIELDNAME = ".";
 
+    /**
+     * Whether a type, or one of its supertypes, carries a mapping annotation.  This depends only on the type so it is shared by every
+     * mapper.
+     */
+    private static final ClassValue<Boolean> MAPPABLE = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            Class<?> actual = MorphiaProxy.class.isAssignableFrom(type) ? type.getSuperclass() : type;
+            return hasAnnotation(actual, Entity.class, Embedded.class);
+        }
+    };
+
     /**
      * Set of classes that registered by this mapper
      */
     private final Map<Class, EntityModel> mappedEntities = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Set<EntityModel>> mappedEntitiesByCollection = new ConcurrentHashMap<>();
+    /**
+     * The models mapped to each collection.  The lists are replaced rather than modified so readers always see an immutable snapshot.
+     */
+    private final Map<String, List<EntityModel>> mappedEntitiesByCollection = new ConcurrentHashMap<>();
+    private final Map<String, CachedEntities> entityCaches = new ConcurrentHashMap<>();
+    private final PathCache pathCache = new PathCache();
+    private final EntitySnapshots snapshots = new EntitySnapshots();
 
     //EntityInterceptors; these are called after EntityListeners and lifecycle methods on an Entity, for all Entities
     private final List<EntityInterceptor> interceptors = new LinkedList<>();
@@ -175,6 +196,18 @@ public class Mapper {
                    .decode(reader, DecoderContext.builder().build());
     }
 
+    /**
+     * @param collection the collection name
+     * @return the cached entities of the collection, which guard its second level cache against concurrent writes, or null if its
+     * entities are not cached
+     * @morphia.internal
+     * @since 2.3
+     */
+    @Nullable
+    public CachedEntities getCachedEntities(String collection) {
+        return entityCaches.get(collection);
+    }
+
     /**
      * Gets the class as defined by any discriminator field
      *
@@ -225,15 +258,15 @@ public class Mapper {
      * Finds all the types mapped to a named collection
      *
      * @param collection the collection to check
-     * @return the mapped types
+     * @return the mapped types.  This is an unmodifiable snapshot which types mapped later are not added to.
      * @morphia.internal
      */
     public List<EntityModel> getClassesMappedToCollection(String collection) {
-        final Set<EntityModel> entities = mappedEntitiesByCollection.get(collection);
+        final List<EntityModel> entities = mappedEntitiesByCollection.get(collection);
         if (entities == null || entities.isEmpty()) {
             throw new MappingException(Sofia.collectionNotMapped(collection));
         }
-        return new ArrayList<>(entities);
+        return entities;
     }
 
     /**
@@ -269,6 +302,37 @@ public class Mapper {
         return discriminatorLookup;
     }
 
+    /**
+     * @param collection the collection name
+     * @return the second level cache for the collection or null if its entities are not cached
+     * @see Cached
+     * @since 2.3
+     */
+    @Nullable
+    public EntityCache getEntityCache(String collection) {
+        CachedEntities cached = entityCaches.get(collection);
+        return cached != null ? cached.getCache() : null;
+    }
+
+    /**
+     * @return the cache of resolved property paths
+     * @morphia.internal
+     * @since 2.3
+     */
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    /**
+     * @return the snapshots of entities whose types track changes
+     * @morphia.internal
+     * @see dev.morphia.annotations.TrackChanges
+     * @since 2.3
+     */
+    public EntitySnapshots getSnapshots() {
+        return snapshots;
+    }
+
     /**
      * Maps a set of classes
      *
@@ -294,8 +358,12 @@ public class Mapper {
      * @return the EntityModel for the object given
      */
     public EntityModel getEntityModel(Class type) {
+        EntityModel model = mappedEntities.get(type);
+        if (model != null) {
+            return model;
+        }
         final Class actual = MorphiaProxy.class.isAssignableFrom(type) ? type.getSuperclass() : type;
-        EntityModel model = mappedEntities.get(actual);
+        model = mappedEntities.get(actual);
 
         if (model == null) {
             if (!isMappable(actual)) {
@@ -440,8 +508,7 @@ public class Mapper {
      * @return true if the type is mappable
      */
     public <T> boolean isMappable(Class<T> type) {
-        final Class actual = MorphiaProxy.class.isAssignableFrom(type) ? type.getSuperclass() : type;
-        return hasAnnotation(actual, List.of(Entity.class, Embedded.class));
+        return MAPPABLE.get(type);
     }
 
     /**
@@ -486,7 +553,7 @@ public class Mapper {
      *
      * @param packageName the name of the package to process
      */
-    public synchronized void mapPackage(String packageName) {
+    public void mapPackage(String packageName) {
         try {
             getClasses(options.getClassLoader(), packageName, getOptions().isMapSubPackages())
                 .stream()
@@ -641,25 +708,47 @@ public class Mapper {
         return new ArrayList<>(classes);
     }
 
-    private <T> boolean hasAnnotation(Class<T> clazz, List<Class<? extends Annotation>> annotations) {
+    @SafeVarargs
+    private static boolean hasAnnotation(Class<?> clazz, Class<? extends Annotation>... annotations) {
         for (Class<? extends Annotation> annotation : annotations) {
             if (clazz.getAnnotation(annotation) != null) {
                 return true;
             }
         }
-
-        return clazz.getSuperclass() != null && hasAnnotation(clazz.getSuperclass(), annotations)
-               || Arrays.stream(clazz.getInterfaces())
-                        .map(i -> hasAnnotation(i, annotations))
-                        .reduce(false, (l, r) -> l || r);
+        if (clazz.getSuperclass() != null && MAPPABLE.get(clazz.getSuperclass())) {
+            return true;
+        }
+        for (Class<?> anInterface : clazz.getInterfaces()) {
+            if (MAPPABLE.get(anInterface)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private EntityModel register(EntityModel entityModel) {
         discriminatorLookup.addModel(entityModel);
         mappedEntities.put(entityModel.getType(), entityModel);
+        pathCache.clear();
         if (entityModel.getCollectionName() != null) {
-            mappedEntitiesByCollection.computeIfAbsent(entityModel.getCollectionName(), s -> new CopyOnWriteArraySet<>())
-                                      .add(entityModel);
+            mappedEntitiesByCollection.compute(entityModel.getCollectionName(), (s, models) -> {
+                if (models == null) {
+                    return List.of(entityModel);
+                }
+                if (models.contains(entityModel)) {
+                    return models;
+                }
+                List<EntityModel> updated = new ArrayList<>(models);
+                updated.add(entityModel);
+                return Collections.unmodifiableList(updated);
+            });
+            if (entityModel.getEntityAnnotation() != null) {
+                Cached cached = entityModel.getAnnotation(Cached.class);
+                entityCaches.computeIfAbsent(entityModel.getCollectionName(), s -> {
+                    EntityCache cache = options.getEntityCacheFactory().create(this, entityModel, cached);
+                    return cache != null ? new CachedEntities(cache) : null;
+                });
+            }
         }
 
         if (!entityModel.isInterface()) {
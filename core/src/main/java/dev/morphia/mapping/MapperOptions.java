@@ -1,8 +1,10 @@
 package dev.morphia.mapping;
 
 
+import dev.morphia.annotations.Cached;
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Property;
+import dev.morphia.cache.EntityCacheFactory;
 import dev.morphia.mapping.conventions.ConfigureProperties;
 import dev.morphia.mapping.conventions.FieldDiscovery;
 import dev.morphia.mapping.conventions.MethodDiscovery;
@@ -21,6 +23,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.ServiceLoader;
 
+import static dev.morphia.mapping.MapperOptions.PropertyAccess.REFLECTION;
 import static dev.morphia.mapping.MapperOptions.PropertyDiscovery.FIELDS;
 import static java.util.List.of;
 import static org.bson.UuidRepresentation.STANDARD;
@@ -37,16 +40,19 @@ public class MapperOptions {
     private final boolean storeEmpties;
     private final boolean cacheClassLookups;
     private final boolean mapSubPackages;
+    private final boolean primitiveCollections;
     private final DateStorage dateStorage;
     private final String discriminatorKey;
     private final DiscriminatorFunction discriminator;
     private final List<MorphiaConvention> conventions;
     private final NamingStrategy collectionNaming;
     private final PropertyDiscovery propertyDiscovery;
+    private final PropertyAccess propertyAccess;
     private final NamingStrategy propertyNaming;
     private final UuidRepresentation uuidRepresentation;
     private final QueryFactory queryFactory;
     private final boolean enablePolymorphicQueries;
+    private final EntityCacheFactory entityCacheFactory;
     private ClassLoader classLoader;
 
     private MapperOptions(Builder builder) {
@@ -58,10 +64,13 @@ public class MapperOptions {
         discriminator = builder.discriminator();
         discriminatorKey = builder.discriminatorKey();
         enablePolymorphicQueries = builder.enablePolymorphicQueries();
+        entityCacheFactory = builder.entityCacheFactory();
         propertyDiscovery = builder.propertyDiscovery();
+        propertyAccess = builder.propertyAccess();
         propertyNaming = builder.propertyNaming();
         ignoreFinals = builder.ignoreFinals();
         mapSubPackages = builder.mapSubPackages();
+        primitiveCollections = builder.primitiveCollections();
         queryFactory = builder.queryFactory();
         storeEmpties = builder.storeEmpties();
         storeNulls = builder.storeNulls();
@@ -145,6 +154,14 @@ public class MapperOptions {
         return discriminatorKey;
     }
 
+    /**
+     * @return the factory for second level entity caches
+     * @since 2.3
+     */
+    public EntityCacheFactory getEntityCacheFactory() {
+        return entityCacheFactory;
+    }
+
     /**
      * @return the naming strategy for properties unless explicitly set via @Property
      * @see Property
@@ -155,6 +172,14 @@ public class MapperOptions {
         return getPropertyNaming();
     }
 
+    /**
+     * @return the strategy used to read and write mapped properties
+     * @since 2.3
+     */
+    public PropertyAccess getPropertyAccess() {
+        return propertyAccess;
+    }
+
     /**
      * @return the naming strategy for properties unless explicitly set via @Property
      * @see Property
@@ -207,6 +232,15 @@ public class MapperOptions {
         return mapSubPackages;
     }
 
+    /**
+     * @return true if {@code List} and {@code Map} properties of boxed numbers should be decoded into primitive backed collections
+     * @see Builder#primitiveCollections(boolean)
+     * @since 2.3
+     */
+    public boolean isPrimitiveCollections() {
+        return primitiveCollections;
+    }
+
     /**
      * @return true if Morphia should store empty values for lists/maps/sets/arrays
      */
@@ -226,6 +260,23 @@ public class MapperOptions {
         METHODS
     }
 
+    /**
+     * Defines how mapped properties are read from and written to entities.
+     *
+     * @since 2.3
+     */
+    public enum PropertyAccess {
+        /**
+         * Properties are accessed via {@link java.lang.reflect.Field} and {@link java.lang.reflect.Method}
+         */
+        REFLECTION,
+        /**
+         * Properties are accessed via {@link java.lang.invoke.MethodHandle}s resolved once when the entity is mapped.  Properties for
+         * which no handle can be created fall back to reflection.
+         */
+        METHOD_HANDLES
+    }
+
     /**
      * A builder class for setting mapping options
      */
@@ -238,7 +289,9 @@ public class MapperOptions {
         private boolean storeEmpties;
         private boolean cacheClassLookups;
         private boolean mapSubPackages;
+        private boolean primitiveCollections;
         private boolean enablePolymorphicQueries;
+        private EntityCacheFactory entityCacheFactory = EntityCacheFactory.DEFAULT;
         private ClassLoader classLoader;
         private DateStorage dateStorage = DateStorage.UTC;
         private String discriminatorKey = "_t";
@@ -248,6 +301,7 @@ public class MapperOptions {
         private UuidRepresentation uuidRepresentation = STANDARD;
         private QueryFactory queryFactory = new DefaultQueryFactory();
         private PropertyDiscovery propertyDiscovery = FIELDS;
+        private PropertyAccess propertyAccess = REFLECTION;
         private MapperOptions options;
 
         private Builder() {
@@ -259,10 +313,12 @@ public class MapperOptions {
             dateStorage = original.getDateStorage();
             ignoreFinals = original.isIgnoreFinals();
             mapSubPackages = original.isMapSubPackages();
+            primitiveCollections = original.isPrimitiveCollections();
             storeEmpties = original.isStoreEmpties();
             storeNulls = original.isStoreNulls();
 
             enablePolymorphicQueries = original.enablePolymorphicQueries;
+            entityCacheFactory = original.entityCacheFactory;
             discriminatorKey = original.discriminatorKey;
             discriminator = original.discriminator;
             collectionNaming = original.collectionNaming;
@@ -270,6 +326,7 @@ public class MapperOptions {
             uuidRepresentation = original.uuidRepresentation;
             queryFactory = original.queryFactory;
             propertyDiscovery = original.propertyDiscovery;
+            propertyAccess = original.propertyAccess;
         }
 
         /**
@@ -400,6 +457,19 @@ public class MapperOptions {
             return this;
         }
 
+        /**
+         * Sets the factory for the second level entity caches.  The default factory caches types annotated with {@link Cached}.
+         *
+         * @param factory the factory to use
+         * @return this
+         * @since 2.3
+         */
+        public Builder entityCacheFactory(EntityCacheFactory factory) {
+            assertNotLocked();
+            this.entityCacheFactory = factory;
+            return this;
+        }
+
         /**
          * Sets the naming strategy to use for fields unless expliclity set via @Property
          *
@@ -434,6 +504,23 @@ public class MapperOptions {
             return this;
         }
 
+        /**
+         * Decodes properties declared as {@code List}, {@code Collection} or {@code Map} of {@code Integer}, {@code Long} or
+         * {@code Double} values into collections backed by primitive arrays rather than boxing every element.  Such collections do not
+         * hold null values.  A stored array or document containing nulls is decoded into the usual boxed collection instead.
+         *
+         * @param primitiveCollections true to use primitive backed collections
+         * @return this
+         * @see dev.morphia.mapping.codec.collections.IntList
+         * @see dev.morphia.mapping.codec.collections.StringLongMap
+         * @since 2.3
+         */
+        public Builder primitiveCollections(boolean primitiveCollections) {
+            assertNotLocked();
+            this.primitiveCollections = primitiveCollections;
+            return this;
+        }
+
         /**
          * Determines how properties are discovered on mapped entities
          *
@@ -447,6 +534,19 @@ public class MapperOptions {
             return this;
         }
 
+        /**
+         * Determines how mapped properties are read and written
+         *
+         * @param access the access strategy to use
+         * @return this
+         * @since 2.3
+         */
+        public Builder propertyAccess(PropertyAccess access) {
+            assertNotLocked();
+            this.propertyAccess = access;
+            return this;
+        }
+
         /**
          * Sets the naming strategy to use for propertys unless expliclity set via @Property
          *
@@ -554,6 +654,10 @@ public class MapperOptions {
             return enablePolymorphicQueries;
         }
 
+        private EntityCacheFactory entityCacheFactory() {
+            return entityCacheFactory;
+        }
+
         private boolean ignoreFinals() {
             return ignoreFinals;
         }
@@ -562,6 +666,14 @@ public class MapperOptions {
             return mapSubPackages;
         }
 
+        private boolean primitiveCollections() {
+            return primitiveCollections;
+        }
+
+        private PropertyAccess propertyAccess() {
+            return propertyAccess;
+        }
+
         private PropertyDiscovery propertyDiscovery() {
             return propertyDiscovery;
         }
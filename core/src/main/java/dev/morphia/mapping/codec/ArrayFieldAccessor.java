@@ -2,6 +2,7 @@ package dev.morphia.mapping.codec;
 
 import com.mongodb.lang.Nullable;
 import dev.morphia.mapping.codec.pojo.TypeData;
+import org.bson.codecs.pojo.PropertyAccessor;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
@@ -17,6 +18,8 @@ public class ArrayFieldAccessor extends FieldAccessor {
 
     private final TypeData<?> typeData;
     private final Class<?> componentType;
+    @Nullable
+    private final PropertyAccessor<Object> delegate;
 
     /**
      * Creates the accessor
@@ -25,18 +28,40 @@ public class ArrayFieldAccessor extends FieldAccessor {
      * @param field    the field
      */
     public ArrayFieldAccessor(TypeData<?> typeData, Field field) {
+        this(typeData, field, null);
+    }
+
+    /**
+     * Creates the accessor
+     *
+     * @param typeData the type data
+     * @param field    the field
+     * @param delegate the accessor to use for reading and writing the converted array or null to use reflection
+     * @since 2.3
+     */
+    public ArrayFieldAccessor(TypeData<?> typeData, Field field, @Nullable PropertyAccessor<Object> delegate) {
         super(field);
         this.typeData = typeData;
+        this.delegate = delegate;
         componentType = field.getType().getComponentType();
     }
 
+    @Override
+    public Object get(Object instance) {
+        return delegate != null ? delegate.get(instance) : super.get(instance);
+    }
+
     @Override
     public void set(Object instance, Object value) {
         Object newValue = value;
         if (value.getClass().getComponentType() != componentType) {
             newValue = value instanceof List ? convert((List) value) : convert((Object[]) value);
         }
-        super.set(instance, newValue);
+        if (delegate != null) {
+            delegate.set(instance, newValue);
+        } else {
+            super.set(instance, newValue);
+        }
     }
 
     private Object convert(Object[] value) {
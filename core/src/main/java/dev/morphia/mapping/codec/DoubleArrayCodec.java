@@ -0,0 +1,49 @@
+package dev.morphia.mapping.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.Arrays;
+
+/**
+ * Encodes a double[] directly against the reader and writer without boxing the elements
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+class DoubleArrayCodec implements Codec<double[]> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    @Override
+    public double[] decode(BsonReader reader, DecoderContext decoderContext) {
+        double[] values = new double[INITIAL_CAPACITY];
+        int size = 0;
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = NumericValues.readDouble(reader);
+        }
+        reader.readEndArray();
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, double[] value, EncoderContext encoderContext) {
+        writer.writeStartArray();
+        for (double element : value) {
+            writer.writeDouble(element);
+        }
+        writer.writeEndArray();
+    }
+
+    @Override
+    public Class<double[]> getEncoderClass() {
+        return double[].class;
+    }
+}
@@ -0,0 +1,104 @@
+package dev.morphia.mapping.codec;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.MappingException;
+import org.bson.codecs.pojo.PropertyAccessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Accesses a property through {@link MethodHandle}s resolved once when the model is built rather than through {@link Field#get(Object)}
+ * and {@link Field#set(Object, Object)} on every read and write.  The handles are adapted to an exact {@code (Object)Object} and
+ * {@code (Object,Object)void} shape so every invocation is an {@code invokeExact} without the access checks of reflection.  Since
+ * {@link PropertyAccessor} works with objects, the values of primitive fields are still boxed and unboxed as they are by reflection.
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+public class MethodHandleAccessor implements PropertyAccessor<Object> {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String name;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    /**
+     * Creates the accessor
+     *
+     * @param name   the name of the property for error reporting
+     * @param getter the getter handle
+     * @param setter the setter handle
+     */
+    protected MethodHandleAccessor(String name, MethodHandle getter, MethodHandle setter) {
+        this.name = name;
+        this.getter = getter.asType(GETTER_TYPE);
+        this.setter = setter.asType(SETTER_TYPE);
+    }
+
+    /**
+     * Creates an accessor for a field.  If the handles can not be created, e.g. because the declaring module does not open its package,
+     * a reflective {@link FieldAccessor} is returned instead.
+     *
+     * @param field the field
+     * @return the accessor
+     */
+    public static PropertyAccessor<Object> of(Field field) {
+        // also marks the field accessible which unreflecting a setter for a final field requires
+        FieldAccessor fallback = new FieldAccessor(field);
+        try {
+            Lookup lookup = lookup(field.getDeclaringClass());
+            return new MethodHandleAccessor(field.getName(), lookup.unreflectGetter(field), lookup.unreflectSetter(field));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Creates an accessor for a getter/setter pair.  If the handles can not be created a reflective {@link MethodAccessor} is returned
+     * instead.
+     *
+     * @param name   the property name
+     * @param getter the getter method
+     * @param setter the setter method
+     * @return the accessor
+     */
+    public static PropertyAccessor<Object> of(String name, Method getter, Method setter) {
+        try {
+            Lookup lookup = lookup(getter.getDeclaringClass());
+            getter.setAccessible(true);
+            setter.setAccessible(true);
+            return new MethodHandleAccessor(name, lookup.unreflect(getter), lookup.unreflect(setter));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return new MethodAccessor(getter, setter);
+        }
+    }
+
+    private static Lookup lookup(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+
+    @Override
+    @Nullable
+    public <S> Object get(S instance) {
+        try {
+            return (Object) getter.invokeExact((Object) instance);
+        } catch (Throwable e) {
+            throw new MappingException(String.format("Could not read '%s': %s", name, e.getMessage()), e);
+        }
+    }
+
+    @Override
+    public <S> void set(S instance, @Nullable Object value) {
+        try {
+            setter.invokeExact((Object) instance, value);
+        } catch (Throwable e) {
+            throw new MappingException(String.format("Could not write '%s': %s", name, e.getMessage()), e);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import dev.morphia.annotations.PrePersist;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityDecoder;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.GeneratedCodec;
 import dev.morphia.mapping.codec.pojo.LifecycleDecoder;
 import dev.morphia.mapping.codec.pojo.LifecycleEncoder;
 import dev.morphia.mapping.codec.pojo.MorphiaCodec;
@@ -18,10 +19,10 @@ import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PropertyCodecProvider;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Provider for codecs for Morphia entities
@@ -29,7 +30,7 @@ import java.util.ServiceLoader;
  * @morphia.internal
  */
 public class MorphiaCodecProvider implements CodecProvider {
-    private final Map<Class<?>, Codec<?>> codecs = new HashMap<>();
+    private final Map<Class<?>, Codec<?>> codecs = new ConcurrentHashMap<>();
     private final Mapper mapper;
     private final List<PropertyCodecProvider> propertyCodecProviders = new ArrayList<>();
     private final Datastore datastore;
@@ -44,8 +45,9 @@ public class MorphiaCodecProvider implements CodecProvider {
         this.datastore = datastore;
         this.mapper = mapper;
 
-        propertyCodecProviders.addAll(List.of(new MorphiaMapPropertyCodecProvider(),
-            new MorphiaCollectionPropertyCodecProvider()));
+        boolean primitiveCollections = mapper.getOptions().isPrimitiveCollections();
+        propertyCodecProviders.addAll(List.of(new MorphiaMapPropertyCodecProvider(primitiveCollections),
+            new MorphiaCollectionPropertyCodecProvider(primitiveCollections)));
 
         ServiceLoader<MorphiaPropertyCodecProvider> providers = ServiceLoader.load(MorphiaPropertyCodecProvider.class);
         providers.forEach(propertyCodecProviders::add);
@@ -58,13 +60,24 @@ public class MorphiaCodecProvider implements CodecProvider {
         if (codec == null && (mapper.isMapped(type) || mapper.isMappable(type))) {
             EntityModel model = mapper.getEntityModel(type);
             codec = new MorphiaCodec<>(datastore, model, propertyCodecProviders, mapper.getDiscriminatorLookup(), registry);
-            if (model.hasLifecycle(PostPersist.class) || model.hasLifecycle(PrePersist.class) || mapper.hasInterceptors()) {
+            boolean persistLifecycle = model.hasLifecycle(PostPersist.class) || model.hasLifecycle(PrePersist.class);
+            boolean loadLifecycle = model.hasLifecycle(PreLoad.class) || model.hasLifecycle(PostLoad.class);
+            if (persistLifecycle || mapper.hasInterceptors()) {
                 codec.setEncoder(new LifecycleEncoder(codec));
             }
-            if (model.hasLifecycle(PreLoad.class) || model.hasLifecycle(PostLoad.class) || mapper.hasInterceptors()) {
+            if (loadLifecycle || mapper.hasInterceptors()) {
                 codec.setDecoder(new LifecycleDecoder(codec));
             }
-            codecs.put(type, codec);
+            if (!persistLifecycle && !loadLifecycle && !mapper.hasInterceptors()) {
+                GeneratedCodec<T> generated = GeneratedCodec.find(type);
+                if (generated != null) {
+                    generated.bind(codec);
+                }
+            }
+            MorphiaCodec<T> existing = (MorphiaCodec<T>) codecs.putIfAbsent(type, codec);
+            if (existing != null) {
+                codec = existing;
+            }
         }
 
         return codec;
@@ -15,6 +15,26 @@ import java.util.List;
  */
 @SuppressWarnings("unchecked")
 public class MorphiaCollectionPropertyCodecProvider extends MorphiaPropertyCodecProvider {
+    private final boolean primitiveCollections;
+
+    /**
+     * Creates a provider
+     */
+    public MorphiaCollectionPropertyCodecProvider() {
+        this(false);
+    }
+
+    /**
+     * Creates a provider
+     *
+     * @param primitiveCollections true if lists of boxed numbers should be decoded into primitive backed lists
+     * @see dev.morphia.mapping.MapperOptions.Builder#primitiveCollections(boolean)
+     * @since 2.3
+     */
+    public MorphiaCollectionPropertyCodecProvider(boolean primitiveCollections) {
+        this.primitiveCollections = primitiveCollections;
+    }
+
     @Nullable
     @Override
     public <T> Codec<T> get(TypeWithTypeParameters<T> type, PropertyCodecRegistry registry) {
@@ -23,7 +43,11 @@ public class MorphiaCollectionPropertyCodecProvider extends MorphiaPropertyCodec
             TypeWithTypeParameters<?> valueType = getType(typeParameters, 0);
 
             try {
-                return new MorphiaCollectionCodec(registry.get(valueType), type.getType());
+                Codec<?> valueCodec = registry.get(valueType);
+                Codec<T> primitive = primitiveCollections
+                                     ? PrimitiveListCodec.find(type.getType(), valueType.getType(), valueCodec)
+                                     : null;
+                return primitive != null ? primitive : new MorphiaCollectionCodec(valueCodec, type.getType());
             } catch (CodecConfigurationException e) {
                 if (valueType.getType().equals(Object.class)) {
                     try {
@@ -21,6 +21,12 @@ import static dev.morphia.aggregation.experimental.codecs.ExpressionHelper.docum
 
 @SuppressWarnings("unchecked")
 class MorphiaMapPropertyCodecProvider extends MorphiaPropertyCodecProvider {
+    private final boolean primitiveCollections;
+
+    MorphiaMapPropertyCodecProvider(boolean primitiveCollections) {
+        this.primitiveCollections = primitiveCollections;
+    }
+
     @Override
     public <T> Codec<T> get(TypeWithTypeParameters<T> type, PropertyCodecRegistry registry) {
         if (Map.class.isAssignableFrom(type.getType())) {
@@ -29,7 +35,11 @@ class MorphiaMapPropertyCodecProvider extends MorphiaPropertyCodecProvider {
             final TypeWithTypeParameters<?> valueType = getType(typeParameters, 1);
 
             try {
-                return new MapCodec(type.getType(), keyType.getType(), registry.get(valueType));
+                Codec<?> valueCodec = registry.get(valueType);
+                Codec<T> primitive = primitiveCollections
+                                     ? PrimitiveMapCodec.find(type.getType(), keyType.getType(), valueType.getType(), valueCodec)
+                                     : null;
+                return primitive != null ? primitive : new MapCodec(type.getType(), keyType.getType(), valueCodec);
             } catch (CodecConfigurationException e) {
                 if (valueType.getType().equals(Object.class)) {
                     try {
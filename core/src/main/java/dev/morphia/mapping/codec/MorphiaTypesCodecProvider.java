@@ -39,13 +39,16 @@ public class MorphiaTypesCodecProvider implements CodecProvider {
         addCodec(new URICodec());
         addCodec(new ByteWrapperArrayCodec());
         addCodec(new LegacyQueryCodec(mapper));
+        addCodec(new DoubleArrayCodec());
+        addCodec(new IntArrayCodec());
+        addCodec(new LongArrayCodec());
 
         List.of(boolean.class, Boolean.class,
             char.class, Character.class,
-            double.class, Double.class,
+            Double.class,
             float.class, Float.class,
-            int.class, Integer.class,
-            long.class, Long.class,
+            Integer.class,
+            Long.class,
             short.class, Short.class).forEach(c -> addCodec(new TypedArrayCodec(c, mapper)));
     }
 
@@ -0,0 +1,106 @@
+package dev.morphia.mapping.codec;
+
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+
+import static java.lang.String.format;
+
+/**
+ * Reads numeric BSON values as primitives, converting between the numeric BSON types only where no precision is lost.  This mirrors what
+ * the driver's boxed number codecs accept.
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+final class NumericValues {
+    private NumericValues() {
+    }
+
+    static double readDouble(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case DOUBLE:
+                return reader.readDouble();
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                long longValue = reader.readInt64();
+                double doubleValue = longValue;
+                if (longValue != (long) doubleValue) {
+                    throw lossy(longValue, "double");
+                }
+                return doubleValue;
+            case DECIMAL128:
+                BigDecimal decimal = reader.readDecimal128().bigDecimalValue();
+                double converted = decimal.doubleValue();
+                if (new BigDecimal(converted).compareTo(decimal) != 0) {
+                    throw lossy(decimal, "double");
+                }
+                return converted;
+            default:
+                throw invalidType(reader);
+        }
+    }
+
+    static int readInt(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case INT32:
+                return reader.readInt32();
+            case INT64:
+                long longValue = reader.readInt64();
+                if (longValue != (int) longValue) {
+                    throw lossy(longValue, "int");
+                }
+                return (int) longValue;
+            case DOUBLE:
+                double doubleValue = reader.readDouble();
+                if (doubleValue != (int) doubleValue) {
+                    throw lossy(doubleValue, "int");
+                }
+                return (int) doubleValue;
+            case DECIMAL128:
+                Decimal128 decimal = reader.readDecimal128();
+                try {
+                    return decimal.bigDecimalValue().intValueExact();
+                } catch (ArithmeticException e) {
+                    throw lossy(decimal, "int");
+                }
+            default:
+                throw invalidType(reader);
+        }
+    }
+
+    static long readLong(BsonReader reader) {
+        switch (reader.getCurrentBsonType()) {
+            case INT64:
+                return reader.readInt64();
+            case INT32:
+                return reader.readInt32();
+            case DOUBLE:
+                double doubleValue = reader.readDouble();
+                if (doubleValue != (long) doubleValue) {
+                    throw lossy(doubleValue, "long");
+                }
+                return (long) doubleValue;
+            case DECIMAL128:
+                Decimal128 decimal = reader.readDecimal128();
+                try {
+                    return decimal.bigDecimalValue().longValueExact();
+                } catch (ArithmeticException e) {
+                    throw lossy(decimal, "long");
+                }
+            default:
+                throw invalidType(reader);
+        }
+    }
+
+    private static BsonInvalidOperationException invalidType(BsonReader reader) {
+        return new BsonInvalidOperationException(format("Invalid numeric type, found: %s", reader.getCurrentBsonType()));
+    }
+
+    private static BsonInvalidOperationException lossy(Object value, String type) {
+        return new BsonInvalidOperationException(format("Could not convert `%s` to a %s without losing precision", value, type));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.morphia.mapping.codec;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.Datastore;
+import dev.morphia.annotations.Packed;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.pojo.PropertyHandler;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.sofia.Sofia;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonReader;
+import org.bson.BsonSerializationException;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.Binary;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Encodes primitive numeric arrays as a single little endian BSON binary
+ *
+ * @morphia.internal
+ * @see Packed
+ * @since 2.3
+ */
+@SuppressWarnings("unchecked")
+public class PackedArrayCodec extends BaseReferenceCodec<Object> implements PropertyHandler {
+    private final Class<?> type;
+    private final int elementSize;
+
+    /**
+     * Creates a codec
+     *
+     * @param datastore     the datastore to use
+     * @param propertyModel the packed property
+     */
+    public PackedArrayCodec(Datastore datastore, PropertyModel propertyModel) {
+        super(datastore, propertyModel);
+        type = propertyModel.getType();
+        elementSize = elementSize(type);
+        if (elementSize == 0) {
+            throw new MappingException(Sofia.packedTypeNotSupported(propertyModel.getName(), type.getName()));
+        }
+    }
+
+    private static int elementSize(Class<?> type) {
+        if (type.equals(double[].class)) {
+            return Double.BYTES;
+        } else if (type.equals(float[].class)) {
+            return Float.BYTES;
+        } else if (type.equals(int[].class)) {
+            return Integer.BYTES;
+        } else if (type.equals(long[].class)) {
+            return Long.BYTES;
+        } else if (type.equals(short[].class)) {
+            return Short.BYTES;
+        }
+        return 0;
+    }
+
+    @Override
+    public Object decode(BsonReader reader, DecoderContext decoderContext) {
+        if (reader.getCurrentBsonType() != BsonType.BINARY) {
+            return getDatastore().getMapper().getCodecRegistry()
+                                 .get(type)
+                                 .decode(reader, decoderContext);
+        }
+        BsonBinary binary = reader.readBinaryData();
+        String name = getPropertyModel().getName();
+        if (binary.getType() != BsonBinarySubType.USER_DEFINED.getValue()) {
+            throw new BsonSerializationException(Sofia.packedSubtypeUnexpected(name, binary.getType() & 0xFF,
+                BsonBinarySubType.USER_DEFINED.getValue() & 0xFF));
+        }
+        byte[] data = binary.getData();
+        if (data.length % elementSize != 0) {
+            throw new BsonSerializationException(Sofia.packedLengthInvalid(name, data.length, elementSize));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        int length = data.length / elementSize;
+        if (type.equals(double[].class)) {
+            double[] values = new double[length];
+            buffer.asDoubleBuffer().get(values);
+            return values;
+        } else if (type.equals(float[].class)) {
+            float[] values = new float[length];
+            buffer.asFloatBuffer().get(values);
+            return values;
+        } else if (type.equals(int[].class)) {
+            int[] values = new int[length];
+            buffer.asIntBuffer().get(values);
+            return values;
+        } else if (type.equals(long[].class)) {
+            long[] values = new long[length];
+            buffer.asLongBuffer().get(values);
+            return values;
+        } else {
+            short[] values = new short[length];
+            buffer.asShortBuffer().get(values);
+            return values;
+        }
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Object value, EncoderContext encoderContext) {
+        writer.writeBinaryData(new BsonBinary(BsonBinarySubType.USER_DEFINED, pack(value)));
+    }
+
+    @Override
+    @Nullable
+    public Object encode(@Nullable Object value) {
+        return type.isInstance(value) ? new Binary(BsonBinarySubType.USER_DEFINED, pack(value)) : value;
+    }
+
+    @Override
+    public Class<Object> getEncoderClass() {
+        return (Class<Object>) type;
+    }
+
+    private byte[] pack(Object value) {
+        if (value instanceof double[]) {
+            double[] values = (double[]) value;
+            ByteBuffer buffer = allocate(values.length);
+            buffer.asDoubleBuffer().put(values);
+            return buffer.array();
+        } else if (value instanceof float[]) {
+            float[] values = (float[]) value;
+            ByteBuffer buffer = allocate(values.length);
+            buffer.asFloatBuffer().put(values);
+            return buffer.array();
+        } else if (value instanceof int[]) {
+            int[] values = (int[]) value;
+            ByteBuffer buffer = allocate(values.length);
+            buffer.asIntBuffer().put(values);
+            return buffer.array();
+        } else if (value instanceof long[]) {
+            long[] values = (long[]) value;
+            ByteBuffer buffer = allocate(values.length);
+            buffer.asLongBuffer().put(values);
+            return buffer.array();
+        } else {
+            short[] values = (short[]) value;
+            ByteBuffer buffer = allocate(values.length);
+            buffer.asShortBuffer().put(values);
+            return buffer.array();
+        }
+    }
+
+    private ByteBuffer allocate(int length) {
+        return ByteBuffer.allocate(length * elementSize).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,165 @@
+package dev.morphia.mapping.codec;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.codec.collections.DoubleList;
+import dev.morphia.mapping.codec.collections.IntList;
+import dev.morphia.mapping.codec.collections.LongList;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decodes arrays of numbers into lists backed by primitive arrays.  Arrays holding nulls are decoded into boxed lists instead.
+ *
+ * @param <T> the boxed element type
+ * @param <L> the primitive list type
+ * @morphia.internal
+ * @see dev.morphia.mapping.MapperOptions.Builder#primitiveCollections(boolean)
+ * @since 2.3
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+abstract class PrimitiveListCodec<T, L extends List<T>> extends MorphiaCollectionCodec<T> {
+    private final Class<L> listType;
+
+    PrimitiveListCodec(Codec<T> codec, Class type, Class<L> listType) {
+        super(codec, type);
+        this.listType = listType;
+    }
+
+    /**
+     * @param collectionType the declared collection type
+     * @param elementType    the element type
+     * @param codec          the codec for the elements
+     * @return the codec or null if the types can not be held in a primitive list
+     */
+    @Nullable
+    static Codec find(Class<?> collectionType, Class<?> elementType, Codec<?> codec) {
+        if (!collectionType.isInterface() || !collectionType.isAssignableFrom(IntList.class)) {
+            return null;
+        } else if (elementType.equals(Integer.class)) {
+            return new Ints((Codec<Integer>) codec, collectionType);
+        } else if (elementType.equals(Long.class)) {
+            return new Longs((Codec<Long>) codec, collectionType);
+        } else if (elementType.equals(Double.class)) {
+            return new Doubles((Codec<Double>) codec, collectionType);
+        }
+        return null;
+    }
+
+    @Override
+    public Collection<T> decode(BsonReader reader, DecoderContext decoderContext) {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            return super.decode(reader, decoderContext);
+        }
+        L list = create();
+        List<T> boxed = null;
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            if (boxed == null && reader.getCurrentBsonType() != BsonType.NULL) {
+                read(reader, list);
+            } else {
+                if (boxed == null) {
+                    boxed = new ArrayList<>(list);
+                }
+                if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                    boxed.add(null);
+                } else {
+                    boxed.add(getCodec().decode(reader, decoderContext));
+                }
+            }
+        }
+        reader.readEndArray();
+        return boxed != null ? boxed : list;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Collection<T> collection, EncoderContext encoderContext) {
+        if (listType.isInstance(collection)) {
+            L list = listType.cast(collection);
+            writer.writeStartArray();
+            for (int i = 0; i < list.size(); i++) {
+                write(writer, list, i);
+            }
+            writer.writeEndArray();
+        } else {
+            super.encode(writer, collection, encoderContext);
+        }
+    }
+
+    abstract L create();
+
+    abstract void read(BsonReader reader, L list);
+
+    abstract void write(BsonWriter writer, L list, int index);
+
+    private static final class Doubles extends PrimitiveListCodec<Double, DoubleList> {
+        private Doubles(Codec<Double> codec, Class type) {
+            super(codec, type, DoubleList.class);
+        }
+
+        @Override
+        DoubleList create() {
+            return new DoubleList();
+        }
+
+        @Override
+        void read(BsonReader reader, DoubleList list) {
+            list.addDouble(NumericValues.readDouble(reader));
+        }
+
+        @Override
+        void write(BsonWriter writer, DoubleList list, int index) {
+            writer.writeDouble(list.getDouble(index));
+        }
+    }
+
+    private static final class Ints extends PrimitiveListCodec<Integer, IntList> {
+        private Ints(Codec<Integer> codec, Class type) {
+            super(codec, type, IntList.class);
+        }
+
+        @Override
+        IntList create() {
+            return new IntList();
+        }
+
+        @Override
+        void read(BsonReader reader, IntList list) {
+            list.addInt(NumericValues.readInt(reader));
+        }
+
+        @Override
+        void write(BsonWriter writer, IntList list, int index) {
+            writer.writeInt32(list.getInt(index));
+        }
+    }
+
+    private static final class Longs extends PrimitiveListCodec<Long, LongList> {
+        private Longs(Codec<Long> codec, Class type) {
+            super(codec, type, LongList.class);
+        }
+
+        @Override
+        LongList create() {
+            return new LongList();
+        }
+
+        @Override
+        void read(BsonReader reader, LongList list) {
+            list.addLong(NumericValues.readLong(reader));
+        }
+
+        @Override
+        void write(BsonWriter writer, LongList list, int index) {
+            writer.writeInt64(list.getLong(index));
+        }
+    }
+}
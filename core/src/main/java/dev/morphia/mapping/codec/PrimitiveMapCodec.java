@@ -0,0 +1,181 @@
+package dev.morphia.mapping.codec;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.codec.collections.StringDoubleMap;
+import dev.morphia.mapping.codec.collections.StringIntMap;
+import dev.morphia.mapping.codec.collections.StringLongMap;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static dev.morphia.aggregation.experimental.codecs.ExpressionHelper.document;
+
+/**
+ * Decodes documents of numbers into maps backed by primitive arrays.  Documents holding nulls are decoded into boxed maps instead.
+ *
+ * @param <V> the boxed value type
+ * @param <M> the primitive map type
+ * @morphia.internal
+ * @see dev.morphia.mapping.MapperOptions.Builder#primitiveCollections(boolean)
+ * @since 2.3
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+abstract class PrimitiveMapCodec<V, M extends Map<String, V>> implements Codec<Map<String, V>> {
+    private final Class<Map<String, V>> encoderClass;
+    private final Class<M> mapType;
+    private final Codec<V> codec;
+
+    PrimitiveMapCodec(Class encoderClass, Class<M> mapType, Codec<V> codec) {
+        this.encoderClass = encoderClass;
+        this.mapType = mapType;
+        this.codec = codec;
+    }
+
+    /**
+     * @param mapType   the declared map type
+     * @param keyType   the key type
+     * @param valueType the value type
+     * @param codec     the codec for the values
+     * @return the codec or null if the types can not be held in a primitive map
+     */
+    @Nullable
+    static Codec find(Class<?> mapType, Class<?> keyType, Class<?> valueType, Codec<?> codec) {
+        if (!mapType.isInterface() || !mapType.isAssignableFrom(StringLongMap.class) || !keyType.equals(String.class)) {
+            return null;
+        } else if (valueType.equals(Integer.class)) {
+            return new Ints(mapType, (Codec<Integer>) codec);
+        } else if (valueType.equals(Long.class)) {
+            return new Longs(mapType, (Codec<Long>) codec);
+        } else if (valueType.equals(Double.class)) {
+            return new Doubles(mapType, (Codec<Double>) codec);
+        }
+        return null;
+    }
+
+    @Override
+    public Map<String, V> decode(BsonReader reader, DecoderContext decoderContext) {
+        M map = create();
+        Map<String, V> boxed = null;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String key = reader.readName();
+            if (boxed == null && reader.getCurrentBsonType() != BsonType.NULL) {
+                read(reader, map, key);
+            } else {
+                if (boxed == null) {
+                    boxed = new LinkedHashMap<>(map);
+                }
+                if (reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.readNull();
+                    boxed.put(key, null);
+                } else {
+                    boxed.put(key, codec.decode(reader, decoderContext));
+                }
+            }
+        }
+        reader.readEndDocument();
+        return boxed != null ? boxed : map;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, Map<String, V> value, EncoderContext encoderContext) {
+        document(writer, () -> {
+            if (mapType.isInstance(value)) {
+                M map = mapType.cast(value);
+                for (int i = 0; i < map.size(); i++) {
+                    write(writer, map, i);
+                }
+            } else {
+                for (Entry<String, V> entry : value.entrySet()) {
+                    writer.writeName(entry.getKey());
+                    if (entry.getValue() == null) {
+                        writer.writeNull();
+                    } else {
+                        codec.encode(writer, entry.getValue(), encoderContext);
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public Class<Map<String, V>> getEncoderClass() {
+        return encoderClass;
+    }
+
+    abstract M create();
+
+    abstract void read(BsonReader reader, M map, String key);
+
+    abstract void write(BsonWriter writer, M map, int index);
+
+    private static final class Doubles extends PrimitiveMapCodec<Double, StringDoubleMap> {
+        private Doubles(Class encoderClass, Codec<Double> codec) {
+            super(encoderClass, StringDoubleMap.class, codec);
+        }
+
+        @Override
+        StringDoubleMap create() {
+            return new StringDoubleMap();
+        }
+
+        @Override
+        void read(BsonReader reader, StringDoubleMap map, String key) {
+            map.putDouble(key, NumericValues.readDouble(reader));
+        }
+
+        @Override
+        void write(BsonWriter writer, StringDoubleMap map, int index) {
+            writer.writeDouble(map.keyAt(index), map.doubleAt(index));
+        }
+    }
+
+    private static final class Ints extends PrimitiveMapCodec<Integer, StringIntMap> {
+        private Ints(Class encoderClass, Codec<Integer> codec) {
+            super(encoderClass, StringIntMap.class, codec);
+        }
+
+        @Override
+        StringIntMap create() {
+            return new StringIntMap();
+        }
+
+        @Override
+        void read(BsonReader reader, StringIntMap map, String key) {
+            map.putInt(key, NumericValues.readInt(reader));
+        }
+
+        @Override
+        void write(BsonWriter writer, StringIntMap map, int index) {
+            writer.writeInt32(map.keyAt(index), map.intAt(index));
+        }
+    }
+
+    private static final class Longs extends PrimitiveMapCodec<Long, StringLongMap> {
+        private Longs(Class encoderClass, Codec<Long> codec) {
+            super(encoderClass, StringLongMap.class, codec);
+        }
+
+        @Override
+        StringLongMap create() {
+            return new StringLongMap();
+        }
+
+        @Override
+        void read(BsonReader reader, StringLongMap map, String key) {
+            map.putLong(key, NumericValues.readLong(reader));
+        }
+
+        @Override
+        void write(BsonWriter writer, StringLongMap map, int index) {
+            writer.writeInt64(map.keyAt(index), map.longAt(index));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.morphia.mapping.codec.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A {@code List<Double>} backed by a {@code double[]}.  Elements are only boxed when read or written through the {@code List} methods so
+ * {@link #getDouble(int)} and {@link #addDouble(double)} should be preferred where that matters.  Null elements are not supported.
+ *
+ * @since 2.3
+ */
+public class DoubleList extends AbstractList<Double> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 10;
+
+    private double[] elements;
+    private int size;
+
+    /**
+     * Creates an empty list
+     */
+    public DoubleList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list
+     *
+     * @param capacity the initial capacity
+     */
+    public DoubleList(int capacity) {
+        elements = new double[capacity];
+    }
+
+    /**
+     * Creates a list holding a copy of the values
+     *
+     * @param values the values
+     */
+    public DoubleList(double[] values) {
+        elements = values.clone();
+        size = values.length;
+    }
+
+    @Override
+    public boolean add(Double element) {
+        addDouble(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Double element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        double value = element;
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Appends a value to the list
+     *
+     * @param value the value
+     */
+    public void addDouble(double value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Double get(int index) {
+        return getDouble(index);
+    }
+
+    /**
+     * @param index the index
+     * @return the value at the index
+     */
+    public double getDouble(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public Double remove(int index) {
+        double old = getDouble(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public Double set(int index, Double element) {
+        double old = getDouble(index);
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the values in the list
+     */
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.morphia.mapping.codec.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A {@code List<Integer>} backed by a {@code int[]}.  Elements are only boxed when read or written through the {@code List} methods so
+ * {@link #getInt(int)} and {@link #addInt(int)} should be preferred where that matters.  Null elements are not supported.
+ *
+ * @since 2.3
+ */
+public class IntList extends AbstractList<Integer> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 10;
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Creates an empty list
+     */
+    public IntList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list
+     *
+     * @param capacity the initial capacity
+     */
+    public IntList(int capacity) {
+        elements = new int[capacity];
+    }
+
+    /**
+     * Creates a list holding a copy of the values
+     *
+     * @param values the values
+     */
+    public IntList(int[] values) {
+        elements = values.clone();
+        size = values.length;
+    }
+
+    @Override
+    public boolean add(Integer element) {
+        addInt(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Integer element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int value = element;
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Appends a value to the list
+     *
+     * @param value the value
+     */
+    public void addInt(int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    /**
+     * @param index the index
+     * @return the value at the index
+     */
+    public int getInt(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public Integer remove(int index) {
+        int old = getInt(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public Integer set(int index, Integer element) {
+        int old = getInt(index);
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the values in the list
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+        }
+    }
+}
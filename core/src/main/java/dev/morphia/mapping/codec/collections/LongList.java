@@ -0,0 +1,129 @@
+package dev.morphia.mapping.codec.collections;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A {@code List<Long>} backed by a {@code long[]}.  Elements are only boxed when read or written through the {@code List} methods so
+ * {@link #getLong(int)} and {@link #addLong(long)} should be preferred where that matters.  Null elements are not supported.
+ *
+ * @since 2.3
+ */
+public class LongList extends AbstractList<Long> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 10;
+
+    private long[] elements;
+    private int size;
+
+    /**
+     * Creates an empty list
+     */
+    public LongList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list
+     *
+     * @param capacity the initial capacity
+     */
+    public LongList(int capacity) {
+        elements = new long[capacity];
+    }
+
+    /**
+     * Creates a list holding a copy of the values
+     *
+     * @param values the values
+     */
+    public LongList(long[] values) {
+        elements = values.clone();
+        size = values.length;
+    }
+
+    @Override
+    public boolean add(Long element) {
+        addLong(element);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Long element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        long value = element;
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Appends a value to the list
+     *
+     * @param value the value
+     */
+    public void addLong(long value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    /**
+     * @param index the index
+     * @return the value at the index
+     */
+    public long getLong(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    @Override
+    public Long remove(int index) {
+        long old = getLong(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public Long set(int index, Long element) {
+        long old = getLong(index);
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a copy of the values in the list
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+        }
+    }
+}
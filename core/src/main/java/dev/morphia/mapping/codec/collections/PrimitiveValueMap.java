@@ -0,0 +1,281 @@
+package dev.morphia.mapping.codec.collections;
+
+import com.mongodb.lang.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The base of the maps of {@code String} keys to primitive values.  Keys are kept in insertion order in an array with an open addressed
+ * table of their indexes.  Subclasses hold the values in a primitive array in the same order.  Removal shifts the later entries down so
+ * these maps suit documents which are read and added to rather than pruned.
+ *
+ * @param <V> the boxed value type
+ * @since 2.3
+ */
+abstract class PrimitiveValueMap<V> extends AbstractMap<String, V> {
+    static final int INITIAL_CAPACITY = 8;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private int size;
+    private int modCount;
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(table, 0);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    @Nullable
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    /**
+     * @param index the index in insertion order
+     * @return the key at the index
+     */
+    public String keyAt(int index) {
+        Objects.checkIndex(index, size);
+        return keys[index];
+    }
+
+    @Override
+    @Nullable
+    public V put(String key, V value) {
+        Objects.requireNonNull(value, "null values are not supported");
+        int index = indexOf(key);
+        V old = index >= 0 ? valueAt(index) : null;
+        store(index >= 0 ? index : insert(key), value);
+        return old;
+    }
+
+    @Override
+    @Nullable
+    public V remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V old = valueAt(index);
+        removeAt(index);
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds or adds a key
+     *
+     * @param key the key
+     * @return the index of the key
+     */
+    int indexFor(String key) {
+        int index = indexOf(key);
+        return index >= 0 ? index : insert(key);
+    }
+
+    /**
+     * @param key the key
+     * @return the index of the key or -1 if it is not mapped
+     */
+    int indexOf(@Nullable Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (keys[index].equals(key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Grows the value storage
+     *
+     * @param capacity the new capacity
+     */
+    abstract void resize(int capacity);
+
+    /**
+     * Shifts values within the value storage
+     *
+     * @param from   the first index to move
+     * @param to     the index to move it to
+     * @param length the number of values to move
+     */
+    abstract void shift(int from, int to, int length);
+
+    /**
+     * @param index the index
+     * @param value the value to store at the index
+     */
+    abstract void store(int index, V value);
+
+    /**
+     * @param index the index
+     * @return the boxed value at the index
+     */
+    abstract V valueAt(int index);
+
+    private static int hash(Object key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int insert(String key) {
+        Objects.requireNonNull(key, "null keys are not supported");
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            resize(keys.length);
+            table = new int[keys.length * 2];
+            for (int index = 0; index < size; index++) {
+                place(index);
+            }
+        }
+        keys[size] = key;
+        place(size);
+        modCount++;
+        return size++;
+    }
+
+    private void place(int index) {
+        int mask = table.length - 1;
+        int slot = hash(keys[index]) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private void removeAt(int index) {
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        shift(index + 1, index, moved);
+        keys[--size] = null;
+        Arrays.fill(table, 0);
+        for (int i = 0; i < size; i++) {
+            place(i);
+        }
+        modCount++;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, V>> {
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new Iterator<>() {
+                private int next;
+                private int last = -1;
+                private int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Entry<String, V> next() {
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next++;
+                    return new IndexEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) {
+                        throw new IllegalStateException();
+                    }
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                    expectedModCount = modCount;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private final class IndexEntry implements Entry<String, V> {
+        private final int index;
+
+        private IndexEntry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return getKey().equals(entry.getKey()) && getValue().equals(entry.getValue());
+        }
+
+        @Override
+        public String getKey() {
+            return keys[index];
+        }
+
+        @Override
+        public V getValue() {
+            return valueAt(index);
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public V setValue(V value) {
+            Objects.requireNonNull(value, "null values are not supported");
+            V old = valueAt(index);
+            store(index, value);
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package dev.morphia.mapping.codec.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code Map<String, Double>} which keeps its values in a {@code double[]} and its entries in insertion order.  Values are only boxed when read
+ * or written through the {@code Map} methods so {@link #getDouble(String, double)}, {@link #putDouble(String, double)} and {@link #doubleAt(int)}
+ * should be preferred where that matters.  Null keys and values are not supported.
+ *
+ * @since 2.3
+ */
+public class StringDoubleMap extends PrimitiveValueMap<Double> {
+    private double[] values = new double[INITIAL_CAPACITY];
+
+    /**
+     * @param index the index in insertion order
+     * @return the value at the index
+     * @see #keyAt(int)
+     */
+    public double doubleAt(int index) {
+        Objects.checkIndex(index, size());
+        return values[index];
+    }
+
+    /**
+     * @param key          the key
+     * @param defaultValue the value to return if the key is not mapped
+     * @return the value mapped to the key or the default value
+     */
+    public double getDouble(String key, double defaultValue) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    /**
+     * Maps a key to a value
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void putDouble(String key, double value) {
+        int index = indexFor(key);
+        values[index] = value;
+    }
+
+    @Override
+    void resize(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void shift(int from, int to, int length) {
+        System.arraycopy(values, from, values, to, length);
+    }
+
+    @Override
+    void store(int index, Double value) {
+        values[index] = value;
+    }
+
+    @Override
+    Double valueAt(int index) {
+        return values[index];
+    }
+}
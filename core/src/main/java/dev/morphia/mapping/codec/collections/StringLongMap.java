@@ -0,0 +1,66 @@
+package dev.morphia.mapping.codec.collections;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code Map<String, Long>} which keeps its values in a {@code long[]} and its entries in insertion order.  Values are only boxed when read
+ * or written through the {@code Map} methods so {@link #getLong(String, long)}, {@link #putLong(String, long)} and {@link #longAt(int)}
+ * should be preferred where that matters.  Null keys and values are not supported.
+ *
+ * @since 2.3
+ */
+public class StringLongMap extends PrimitiveValueMap<Long> {
+    private long[] values = new long[INITIAL_CAPACITY];
+
+    /**
+     * @param index the index in insertion order
+     * @return the value at the index
+     * @see #keyAt(int)
+     */
+    public long longAt(int index) {
+        Objects.checkIndex(index, size());
+        return values[index];
+    }
+
+    /**
+     * @param key          the key
+     * @param defaultValue the value to return if the key is not mapped
+     * @return the value mapped to the key or the default value
+     */
+    public long getLong(String key, long defaultValue) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    /**
+     * Maps a key to a value
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void putLong(String key, long value) {
+        int index = indexFor(key);
+        values[index] = value;
+    }
+
+    @Override
+    void resize(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    void shift(int from, int to, int length) {
+        System.arraycopy(values, from, values, to, length);
+    }
+
+    @Override
+    void store(int index, Long value) {
+        values[index] = value;
+    }
+
+    @Override
+    Long valueAt(int index) {
+        return values[index];
+    }
+}
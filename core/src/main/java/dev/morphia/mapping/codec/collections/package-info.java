@@ -0,0 +1,9 @@
+/**
+ * Collections backed by primitive arrays used when decoding boxed numeric properties
+ *
+ * @see dev.morphia.mapping.MapperOptions.Builder#primitiveCollections(boolean)
+ */
+@NonNullApi
+package dev.morphia.mapping.codec.collections;
+
+import com.mongodb.lang.NonNullApi;
@@ -10,6 +10,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,15 +21,17 @@ public class ClassMethodPair {
     private final Method method;
     private final Datastore datastore;
     private final Class<? extends Annotation> event;
+    private final boolean documentParameter;
 
     ClassMethodPair(Datastore datastore, Method method, @Nullable Class<?> type, Class<? extends Annotation> event) {
         this.event = event;
         this.type = type;
         this.method = method;
         this.datastore = datastore;
+        documentParameter = Arrays.asList(method.getParameterTypes()).contains(Document.class);
     }
 
-    void invoke(Document document, Object entity) {
+    void invoke(@Nullable Document document, Object entity) {
         try {
             Object instance;
             if (type != null) {
@@ -73,4 +76,11 @@ public class ClassMethodPair {
         return method;
     }
 
+    /**
+     * @return true if the method declares a {@link Document} parameter
+     */
+    boolean hasDocumentParameter() {
+        return documentParameter;
+    }
+
 }
@@ -71,14 +71,17 @@ public class EntityDecoder implements org.bson.codecs.Decoder<Object> {
 
     protected void decodeProperties(BsonReader reader, DecoderContext decoderContext,
                                     MorphiaInstanceCreator instanceCreator, EntityModel classModel) {
+        PropertyDispatcher dispatcher = classModel.getDispatcher();
+        int expected = 0;
         reader.readStartDocument();
         while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
-            String name = reader.readName();
-            if (classModel.useDiscriminator() && classModel.getDiscriminatorKey().equals(name)) {
+            int slot = dispatcher.find(reader.readName(), expected);
+            if (dispatcher.isDiscriminator(slot)) {
                 reader.readString();
             } else {
-                decodeModel(reader, decoderContext, instanceCreator, classModel.getProperty(name));
+                decodeModel(reader, decoderContext, instanceCreator, dispatcher.property(slot));
             }
+            expected = slot + 1;
         }
         reader.readEndDocument();
     }
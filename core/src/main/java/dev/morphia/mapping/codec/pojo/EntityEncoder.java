@@ -11,8 +11,6 @@ import org.bson.types.ObjectId;
 import java.util.Collection;
 import java.util.Map;
 
-import static dev.morphia.aggregation.experimental.codecs.ExpressionHelper.document;
-
 /**
  * @morphia.internal
  * @since 2.0
@@ -29,23 +27,23 @@ class EntityEncoder implements org.bson.codecs.Encoder<Object> {
     @Override
     public void encode(BsonWriter writer, Object value, EncoderContext encoderContext) {
         EntityModel model = morphiaCodec.getEntityModel();
-        if (areEquivalentTypes(value.getClass(), model.getType())) {
-            document(writer, () -> {
-
-                PropertyModel idModel = model.getIdProperty();
-                encodeIdProperty(writer, value, encoderContext, idModel);
+        Class<?> type = value.getClass();
+        if (value instanceof LazyEntityProxy) {
+            ((LazyEntityProxy) value).unwrap();
+            type = type.getSuperclass();
+        }
+        if (areEquivalentTypes(type, model.getType())) {
+            writer.writeStartDocument();
+            encodeIdProperty(writer, value, encoderContext, model.getIdProperty());
 
-                if (model.useDiscriminator()) {
-                    encodeDiscriminator(writer, model);
-                }
+            if (model.useDiscriminator()) {
+                encodeDiscriminator(writer, model);
+            }
 
-                for (PropertyModel propertyModel : model.getProperties()) {
-                    if (propertyModel.equals(idModel)) {
-                        continue;
-                    }
-                    encodeValue(writer, encoderContext, propertyModel, propertyModel.getAccessor().get(value));
-                }
-            });
+            for (PropertyModel propertyModel : model.getEncodedProperties()) {
+                encodeValue(writer, encoderContext, propertyModel, propertyModel.getAccessor().get(value));
+            }
+            writer.writeEndDocument();
         } else {
             morphiaCodec.getRegistry()
                         .get((Class<? super Object>) value.getClass())
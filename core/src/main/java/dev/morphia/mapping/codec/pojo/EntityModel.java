@@ -23,10 +23,12 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
@@ -44,6 +46,29 @@ public class EntityModel {
         PreLoad.class,
         PostPersist.class,
         PostLoad.class);
+    private static final ClassValue<Set<Class<? extends Annotation>>> INTERCEPTED_EVENTS = new ClassValue<>() {
+        @Override
+        protected Set<Class<? extends Annotation>> computeValue(Class<?> type) {
+            Set<Class<? extends Annotation>> events = new HashSet<>();
+            addIfOverridden(events, type, "preLoad", PreLoad.class);
+            addIfOverridden(events, type, "postLoad", PostLoad.class);
+            addIfOverridden(events, type, "prePersist", PrePersist.class);
+            addIfOverridden(events, type, "postPersist", PostPersist.class);
+            return events;
+        }
+
+        private void addIfOverridden(Set<Class<? extends Annotation>> events, Class<?> type, String name,
+                                     Class<? extends Annotation> event) {
+            try {
+                Method method = type.getMethod(name, Object.class, Document.class, Mapper.class);
+                if (!method.getDeclaringClass().equals(EntityInterceptor.class)) {
+                    events.add(event);
+                }
+            } catch (NoSuchMethodException e) {
+                events.add(event);
+            }
+        }
+    };
 
     private final Map<Class<? extends Annotation>, Annotation> annotations;
     private final Map<String, PropertyModel> propertyModelsByName;
@@ -59,6 +84,8 @@ public class EntityModel {
     private final EntityModel superClass;
     private final PropertyModel idProperty;
     private final PropertyModel versionProperty;
+    private final PropertyModel[] encodedProperties;
+    private final PropertyDispatcher dispatcher;
     private Map<Class<? extends Annotation>, List<ClassMethodPair>> lifecycleMethods;
 
     /**
@@ -102,6 +129,10 @@ public class EntityModel {
         }
         idProperty = getProperty(builder.idPropertyName());
         versionProperty = getProperty(builder.versionPropertyName());
+        encodedProperties = propertyModelsByName.values().stream()
+                                                .filter(model -> model != idProperty)
+                                                .toArray(PropertyModel[]::new);
+        dispatcher = new PropertyDispatcher(this);
 
         builder.interfaces().forEach(i -> i.addSubtype(this));
     }
@@ -113,7 +144,7 @@ public class EntityModel {
      * @param document the document used in persistence
      * @param mapper   the mapper to use
      */
-    public void callLifecycleMethods(Class<? extends Annotation> event, Object entity, Document document,
+    public void callLifecycleMethods(Class<? extends Annotation> event, Object entity, @Nullable Document document,
                                      Mapper mapper) {
         final List<ClassMethodPair> methodPairs = getLifecycleMethods().get(event);
         if (methodPairs != null) {
@@ -213,13 +244,34 @@ public class EntityModel {
         return new ArrayList<>(propertyModelsByName.values());
     }
 
+    /**
+     * Returns the properties, other than the ID, in the order they are written.  This array is computed once and shared so it must not
+     * be modified.
+     *
+     * @return the properties to encode
+     */
+    PropertyModel[] getEncodedProperties() {
+        return encodedProperties;
+    }
+
+    /**
+     * @return the dispatcher resolving document field names to properties while decoding
+     */
+    PropertyDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
     /**
      * @param name the property name
      * @return the named PropertyModel or null if it does not exist
      */
     @Nullable
     public PropertyModel getProperty(@Nullable String name) {
-        return name != null ? propertyModelsByMappedName.getOrDefault(name, propertyModelsByName.get(name)) : null;
+        if (name == null) {
+            return null;
+        }
+        PropertyModel model = propertyModelsByMappedName.get(name);
+        return model != null ? model : propertyModelsByName.get(name);
     }
 
     /**
@@ -303,6 +355,34 @@ public class EntityModel {
         return getLifecycleMethods().containsKey(type);
     }
 
+    /**
+     * Checks whether anything invoked for an event can see the {@link Document} form of an entity: either a lifecycle method declaring a
+     * {@code Document} parameter or a registered {@link EntityInterceptor} overriding the method for that event.  When nothing can, the
+     * codecs skip building the {@code Document} and {@code null} is passed in its place.
+     *
+     * @param event  the lifecycle event
+     * @param mapper the mapper holding the interceptors
+     * @return true if a {@code Document} is needed for the event
+     * @morphia.internal
+     * @since 2.3
+     */
+    public boolean needsDocument(Class<? extends Annotation> event, Mapper mapper) {
+        final List<ClassMethodPair> methodPairs = getLifecycleMethods().get(event);
+        if (methodPairs != null) {
+            for (ClassMethodPair cm : methodPairs) {
+                if (cm.hasDocumentParameter()) {
+                    return true;
+                }
+            }
+        }
+        for (EntityInterceptor ei : mapper.getInterceptors()) {
+            if (INTERCEPTED_EVENTS.get(ei.getClass()).contains(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(getAnnotations(), propertyModelsByName, propertyModelsByMappedName, datastore, creatorFactory,
@@ -368,7 +448,7 @@ public class EntityModel {
         }
     }
 
-    private void callGlobalInterceptors(Class<? extends Annotation> event, Object entity, Document document,
+    private void callGlobalInterceptors(Class<? extends Annotation> event, Object entity, @Nullable Document document,
                                         Mapper mapper) {
         for (EntityInterceptor ei : mapper.getInterceptors()) {
             Sofia.logCallingInterceptorMethod(event.getSimpleName(), ei);
@@ -0,0 +1,246 @@
+package dev.morphia.mapping.codec.pojo;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.MorphiaInstanceCreator;
+import org.bson.BsonInvalidOperationException;
+import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
+import org.bson.BsonWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static dev.morphia.mapping.codec.Conversions.convert;
+
+/**
+ * The base type for the straight-line encoders and decoders generated at build time by the Morphia annotation processor.  Generated
+ * types are named after the entity with nested type names joined by {@code _} and a {@code _MorphiaCodec} suffix, e.g.
+ * {@code com.acme.Order_Line_MorphiaCodec} for {@code com.acme.Order.Line}, and are picked up by
+ * {@link dev.morphia.mapping.codec.MorphiaCodecProvider} when present.
+ * <p>
+ * A generated type lists the java names of the properties it was generated for.  When bound to a runtime {@link EntityModel} each of
+ * those names is resolved to its {@link PropertyModel} once and the generated code then refers to properties by their position in that
+ * list rather than by name.  If the runtime model does not match what was generated, e.g. because properties are discovered via methods,
+ * the generated type is ignored and the reflective path is used instead.
+ *
+ * @param <T> the entity type
+ * @morphia.internal
+ * @since 2.3
+ */
+public abstract class GeneratedCodec<T> {
+    private final Class<T> type;
+    private final String[] properties;
+    private PropertyModel[] slots;
+    private int[] generatedSlots;
+    private int idSlot = -1;
+    private Mapper mapper;
+
+    /**
+     * Creates the codec
+     *
+     * @param type       the entity type
+     * @param properties the java names of the properties in the order the generated code refers to them
+     */
+    protected GeneratedCodec(Class<T> type, String... properties) {
+        this.type = type;
+        this.properties = properties;
+    }
+
+    /**
+     * Finds the generated codec for a type if one exists
+     *
+     * @param type the entity type
+     * @param <T>  the entity type
+     * @return the generated codec or null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> GeneratedCodec<T> find(Class<T> type) {
+        Package pkg = type.getPackage();
+        String prefix = pkg != null && !pkg.getName().isEmpty() ? pkg.getName() + "." : "";
+        String name = prefix + type.getName().substring(prefix.length()).replace('$', '_') + "_MorphiaCodec";
+        try {
+            Class<?> generated = Class.forName(name, true, type.getClassLoader());
+            if (GeneratedCodec.class.isAssignableFrom(generated)) {
+                return (GeneratedCodec<T>) generated.getDeclaredConstructor().newInstance();
+            }
+        } catch (ReflectiveOperationException | LinkageError ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * Binds this codec to the runtime model of its type and, if that model matches the generated properties, installs it as the encoder
+     * and decoder of the given codec.
+     *
+     * @param codec the codec for the type
+     * @return true if this codec was installed
+     */
+    public boolean bind(MorphiaCodec<T> codec) {
+        EntityModel model = codec.getEntityModel();
+        List<PropertyModel> modelProperties = model.getProperties();
+        if (!model.getType().equals(type) || modelProperties.size() != properties.length) {
+            return false;
+        }
+        PropertyModel[] resolved = new PropertyModel[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            PropertyModel property = null;
+            for (PropertyModel candidate : modelProperties) {
+                if (candidate.getName().equals(properties[i])) {
+                    property = candidate;
+                }
+            }
+            if (property == null) {
+                return false;
+            }
+            resolved[i] = property;
+        }
+        PropertyDispatcher dispatcher = model.getDispatcher();
+        int[] mapped = new int[dispatcher.size()];
+        Arrays.fill(mapped, PropertyDispatcher.UNKNOWN);
+        for (int i = 0; i < resolved.length; i++) {
+            if (resolved[i] == model.getIdProperty()) {
+                idSlot = i;
+            }
+            for (int slot = 0; slot < mapped.length; slot++) {
+                if (dispatcher.property(slot) == resolved[i]) {
+                    mapped[slot] = i;
+                }
+            }
+        }
+        slots = resolved;
+        generatedSlots = mapped;
+        mapper = codec.getMapper();
+        codec.setEncoder(new GeneratedEncoder<>(codec, this));
+        codec.setDecoder(new GeneratedDecoder<>(codec, this));
+        return true;
+    }
+
+    /**
+     * @return the entity type
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Creates a new instance of the entity
+     *
+     * @return the new instance
+     */
+    public abstract T newInstance();
+
+    /**
+     * Writes the properties of the entity.  The ID property is written ahead of these by the encoder and is skipped by
+     * {@link #encode(BsonWriter, EncoderContext, int, Object)}.
+     *
+     * @param writer  the writer
+     * @param entity  the entity
+     * @param context the context
+     */
+    protected abstract void encodeProperties(BsonWriter writer, T entity, EncoderContext context);
+
+    /**
+     * Reads the current value in to the property at the given slot
+     *
+     * @param reader  the reader positioned at the value
+     * @param context the context
+     * @param entity  the entity
+     * @param slot    the property slot
+     */
+    protected abstract void decodeProperty(BsonReader reader, DecoderContext context, T entity, int slot);
+
+    /**
+     * Reads a property value using the property's codec
+     *
+     * @param reader  the reader
+     * @param context the context
+     * @param slot    the property slot
+     * @return the value
+     */
+    @Nullable
+    protected final Object decode(BsonReader reader, DecoderContext context, int slot) {
+        PropertyModel model = slots[slot];
+        BsonReaderMark mark = reader.getMark();
+        try {
+            return context.decodeWithChildContext(model.getCachedCodec(), reader);
+        } catch (BsonInvalidOperationException e) {
+            mark.reset();
+            Object value = mapper.getCodecRegistry().get(Object.class).decode(reader, context);
+            return convert(value, model.getTypeData().getType());
+        }
+    }
+
+    /**
+     * Writes a property value unless the serialization rules for the property say otherwise
+     *
+     * @param writer  the writer
+     * @param context the context
+     * @param slot    the property slot
+     * @param value   the value
+     */
+    protected final void encode(BsonWriter writer, EncoderContext context, int slot, @Nullable Object value) {
+        if (slot == idSlot) {
+            return;
+        }
+        PropertyModel model = slots[slot];
+        if (model.shouldSerialize(value)) {
+            writer.writeName(model.getMappedName());
+            if (value == null) {
+                writer.writeNull();
+            } else {
+                context.encodeWithChildContext(model.getCachedCodec(), writer, value);
+            }
+        }
+    }
+
+    /**
+     * Reads a property not directly accessible to generated code
+     *
+     * @param entity the entity
+     * @param slot   the property slot
+     * @return the value
+     */
+    @Nullable
+    protected final Object get(T entity, int slot) {
+        return slots[slot].getAccessor().get(entity);
+    }
+
+    /**
+     * Writes a property not directly accessible to generated code
+     *
+     * @param entity the entity
+     * @param slot   the property slot
+     * @param value  the value
+     */
+    protected final void set(T entity, int slot, @Nullable Object value) {
+        slots[slot].getAccessor().set(entity, value);
+    }
+
+    MorphiaInstanceCreator instanceCreator() {
+        return new MorphiaInstanceCreator() {
+            private final T instance = newInstance();
+
+            @Override
+            public Object getInstance() {
+                return instance;
+            }
+
+            @Override
+            public void set(@Nullable Object value, PropertyModel model) {
+                model.getAccessor().set(instance, value);
+            }
+        };
+    }
+
+    /**
+     * @param slot the slot from the model's {@link PropertyDispatcher}
+     * @return the matching slot in the generated code or {@link PropertyDispatcher#UNKNOWN}
+     */
+    int generatedSlot(int slot) {
+        return slot >= 0 ? generatedSlots[slot] : PropertyDispatcher.UNKNOWN;
+    }
+}
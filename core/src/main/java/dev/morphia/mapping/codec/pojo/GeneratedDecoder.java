@@ -0,0 +1,53 @@
+package dev.morphia.mapping.codec.pojo;
+
+import dev.morphia.mapping.codec.MorphiaInstanceCreator;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.codecs.DecoderContext;
+
+/**
+ * Decodes entities through a {@link GeneratedCodec}
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+class GeneratedDecoder<T> extends EntityDecoder {
+    private final GeneratedCodec<T> generated;
+
+    GeneratedDecoder(MorphiaCodec<T> morphiaCodec, GeneratedCodec<T> generated) {
+        super(morphiaCodec);
+        this.generated = generated;
+    }
+
+    @Override
+    protected MorphiaInstanceCreator getInstanceCreator() {
+        return generated.instanceCreator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void decodeProperties(BsonReader reader, DecoderContext decoderContext,
+                                    MorphiaInstanceCreator instanceCreator, EntityModel classModel) {
+        if (classModel.getType() != generated.getType()) {
+            super.decodeProperties(reader, decoderContext, instanceCreator, classModel);
+            return;
+        }
+        T entity = (T) instanceCreator.getInstance();
+        PropertyDispatcher dispatcher = classModel.getDispatcher();
+        int expected = 0;
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            int slot = dispatcher.find(reader.readName(), expected);
+            int generatedSlot = generated.generatedSlot(slot);
+            if (generatedSlot == PropertyDispatcher.UNKNOWN) {
+                reader.skipValue();
+            } else if (reader.getCurrentBsonType() == BsonType.NULL) {
+                reader.readNull();
+            } else {
+                generated.decodeProperty(reader, decoderContext, entity, generatedSlot);
+            }
+            expected = slot + 1;
+        }
+        reader.readEndDocument();
+    }
+}
@@ -0,0 +1,38 @@
+package dev.morphia.mapping.codec.pojo;
+
+import org.bson.BsonWriter;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Encodes entities through a {@link GeneratedCodec}
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+class GeneratedEncoder<T> extends EntityEncoder {
+    private final GeneratedCodec<T> generated;
+
+    GeneratedEncoder(MorphiaCodec<T> morphiaCodec, GeneratedCodec<T> generated) {
+        super(morphiaCodec);
+        this.generated = generated;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void encode(BsonWriter writer, Object value, EncoderContext encoderContext) {
+        if (value.getClass() != generated.getType()) {
+            super.encode(writer, value, encoderContext);
+            return;
+        }
+        EntityModel model = getMorphiaCodec().getEntityModel();
+        writer.writeStartDocument();
+        encodeIdProperty(writer, value, encoderContext, model.getIdProperty());
+
+        if (model.useDiscriminator()) {
+            encodeDiscriminator(writer, model);
+        }
+
+        generated.encodeProperties(writer, (T) value, encoderContext);
+        writer.writeEndDocument();
+    }
+}
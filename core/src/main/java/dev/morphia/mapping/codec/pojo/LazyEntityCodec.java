@@ -0,0 +1,78 @@
+package dev.morphia.mapping.codec.pojo;
+
+import dev.morphia.mapping.codec.pojo.LazyEntityState.Plan;
+import org.bson.BsonReader;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes entities lazily.  Each document is retained as a {@link RawBsonDocument} and a proxy of the entity type is returned whose
+ * properties are decoded from those bytes only when first used.  Types which can not be proxied are decoded eagerly as usual.
+ *
+ * @param <T> the entity type
+ * @morphia.internal
+ * @see dev.morphia.query.FindOptions#lazyDecoding(boolean)
+ * @since 2.3
+ */
+public class LazyEntityCodec<T> implements Codec<T> {
+    private static final RawBsonDocumentCodec RAW_CODEC = new RawBsonDocumentCodec();
+
+    private final MorphiaCodec<T> codec;
+    private final Map<Class<?>, Optional<Plan>> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the codec
+     *
+     * @param codec the eager codec for the type
+     */
+    public LazyEntityCodec(MorphiaCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T decode(BsonReader reader, DecoderContext decoderContext) {
+        RawBsonDocument document = RAW_CODEC.decode(reader, decoderContext);
+        MorphiaCodec<?> actual = getCodec(document);
+        Optional<Plan> plan = plans.computeIfAbsent(actual.getEntityModel().getType(),
+            type -> Optional.ofNullable(LazyEntityState.plan(actual)));
+        return plan.isPresent()
+               ? (T) plan.get().create(document)
+               : codec.decode(document.asBsonReader(), decoderContext);
+    }
+
+    @Override
+    public void encode(BsonWriter writer, T value, EncoderContext encoderContext) {
+        codec.encode(writer, value, encoderContext);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<T> getEncoderClass() {
+        return codec.getEncoderClass();
+    }
+
+    private MorphiaCodec<?> getCodec(RawBsonDocument document) {
+        EntityModel model = codec.getEntityModel();
+        if (model.useDiscriminator()) {
+            BsonValue discriminator = document.get(model.getDiscriminatorKey());
+            if (discriminator != null && discriminator.isString()) {
+                Class<?> type = codec.getDiscriminatorLookup().lookup(discriminator.asString().getValue());
+                Codec<?> subtype = codec.getRegistry().get(type);
+                if (subtype instanceof MorphiaCodec) {
+                    return (MorphiaCodec<?>) subtype;
+                }
+            }
+        }
+        return codec;
+    }
+}
@@ -0,0 +1,46 @@
+package dev.morphia.mapping.codec.pojo;
+
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.This;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * Intercepts calls on lazily decoded entities to decode the properties they need before the entity's own method runs.  This type is only
+ * public so that the generated proxy classes can call it.
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+public final class LazyEntityInterceptor implements InvocationHandler {
+    static final LazyEntityInterceptor INSTANCE = new LazyEntityInterceptor();
+
+    private LazyEntityInterceptor() {
+    }
+
+    /**
+     * Decodes whatever the called method needs.  The proxy then invokes the entity's implementation of the method.
+     *
+     * @param proxy  the proxy
+     * @param method the method being called
+     */
+    public void intercept(@This Object proxy, @Origin Method method) {
+        LazyEntityState state = (LazyEntityState) ((LazyEntityProxy) proxy).getLazyState();
+        if (state != null) {
+            state.access(proxy, method);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        LazyEntityState state = (LazyEntityState) ((LazyEntityProxy) proxy).getLazyState();
+        if (method.getName().equals("isFetched")) {
+            return state == null || state.isLoaded();
+        }
+        if (state != null) {
+            state.loadAll(proxy);
+        }
+        return proxy;
+    }
+}
@@ -0,0 +1,25 @@
+package dev.morphia.mapping.codec.pojo;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.codec.references.MorphiaProxy;
+
+/**
+ * Implemented by the proxies returned for lazily decoded entities.  {@link #isFetched()} reports whether every property has been decoded
+ * and {@link #unwrap()} decodes any remaining properties and returns the proxy itself.
+ *
+ * @morphia.internal
+ * @see dev.morphia.query.FindOptions#lazyDecoding(boolean)
+ * @since 2.3
+ */
+public interface LazyEntityProxy extends MorphiaProxy {
+    /**
+     * @return the loading state of this proxy or null once constructed but not yet initialized
+     */
+    @Nullable
+    Object getLazyState();
+
+    /**
+     * @param state the loading state of this proxy
+     */
+    void setLazyState(Object state);
+}
@@ -0,0 +1,296 @@
+package dev.morphia.mapping.codec.pojo;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.annotations.PostLoad;
+import dev.morphia.annotations.PreLoad;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.MorphiaInstanceCreator;
+import dev.morphia.mapping.codec.references.MorphiaProxy;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy.Default;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.SuperMethodCall;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
+import static net.bytebuddy.matcher.ElementMatchers.isDeclaredBy;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Tracks which properties of a lazily decoded entity have been read from its retained raw document.  Decoding is synchronized on the
+ * state so a proxy shared between threads decodes each property once and publishes it safely.  Once every property has been decoded the
+ * retained document is released and calls on the proxy no longer lock.
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+final class LazyEntityState {
+    private static final int ALL = -2;
+    private static final String STATE_FIELD = "morphia$lazyState";
+    private static final ClassValue<Optional<Constructor<?>>> PROXIES = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> type) {
+            return Optional.ofNullable(createProxyClass(type));
+        }
+    };
+
+    private final Plan plan;
+    private final boolean[] loaded;
+    @Nullable
+    private volatile RawBsonDocument document;
+    private int remaining;
+    private boolean loading;
+
+    private LazyEntityState(Plan plan, RawBsonDocument document) {
+        this.plan = plan;
+        PropertyDispatcher dispatcher = plan.model.getDispatcher();
+        loaded = new boolean[dispatcher.size()];
+        for (int slot = 0; slot < loaded.length; slot++) {
+            if (dispatcher.property(slot) == null) {
+                loaded[slot] = true;
+            } else {
+                remaining++;
+            }
+        }
+        this.document = remaining != 0 ? document : null;
+    }
+
+    @Nullable
+    private static Constructor<?> createProxyClass(Class<?> type) {
+        try {
+            Class<?> proxy = new ByteBuddy()
+                                 .subclass(type)
+                                 .name(type.getName() + "$$LazyProxy")
+                                 .implement(LazyEntityProxy.class)
+                                 .defineField(STATE_FIELD, Object.class, Visibility.PRIVATE)
+
+                                 .method(not(isDeclaredBy(Object.class)).and(not(isAbstract())))
+                                 .intercept(MethodDelegation.withDefaultConfiguration()
+                                                            .filter(named("intercept"))
+                                                            .to(LazyEntityInterceptor.INSTANCE)
+                                                            .andThen(SuperMethodCall.INSTANCE))
+
+                                 .method(isDeclaredBy(MorphiaProxy.class))
+                                 .intercept(InvocationHandlerAdapter.of(LazyEntityInterceptor.INSTANCE))
+
+                                 .method(isDeclaredBy(LazyEntityProxy.class))
+                                 .intercept(FieldAccessor.ofField(STATE_FIELD))
+
+                                 .make()
+                                 .load(type.getClassLoader(), Default.WRAPPER)
+                                 .getLoaded();
+            return proxy.getDeclaredConstructor();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates the plan for lazily decoding a model
+     *
+     * @param codec the codec for the model
+     * @return the plan or null if the model can not be decoded lazily
+     */
+    @Nullable
+    static Plan plan(MorphiaCodec<?> codec) {
+        EntityModel model = codec.getEntityModel();
+        Class<?> type = model.getType();
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || Modifier.isFinal(type.getModifiers())
+            || model.hasLifecycle(PreLoad.class) || model.hasLifecycle(PostLoad.class) || codec.getMapper().hasInterceptors()) {
+            return null;
+        }
+        try {
+            if (Modifier.isPrivate(type.getDeclaredConstructor().getModifiers())) {
+                return null;
+            }
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        return PROXIES.get(type)
+                      .map(constructor -> new Plan(codec, constructor))
+                      .orElse(null);
+    }
+
+    /**
+     * Decodes the properties needed by a method call on the proxy
+     *
+     * @param proxy  the proxy
+     * @param method the method called
+     */
+    void access(Object proxy, Method method) {
+        if (document == null) {
+            return;
+        }
+        synchronized (this) {
+            if (loading || remaining == 0) {
+                return;
+            }
+            Integer slot = method.getParameterCount() == 0 ? plan.getters.get(method.getName())
+                                                           : method.getParameterCount() == 1 ? plan.setters.get(method.getName()) : null;
+            if (slot == null) {
+                load(proxy, ALL);
+            } else if (method.getParameterCount() == 1) {
+                markLoaded(slot);
+            } else if (!loaded[slot]) {
+                load(proxy, slot);
+            }
+        }
+    }
+
+    /**
+     * @return true if every property has been decoded
+     */
+    boolean isLoaded() {
+        return document == null;
+    }
+
+    /**
+     * Decodes any properties not yet decoded
+     *
+     * @param proxy the proxy
+     */
+    void loadAll(Object proxy) {
+        if (document == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!loading && remaining != 0) {
+                load(proxy, ALL);
+            }
+        }
+    }
+
+    private synchronized void load(Object proxy, int only) {
+        loading = true;
+        try {
+            PropertyDispatcher dispatcher = plan.model.getDispatcher();
+            MorphiaInstanceCreator creator = new ProxyCreator(proxy);
+            DecoderContext context = DecoderContext.builder().build();
+            boolean[] decoded = new boolean[loaded.length];
+            BsonReader reader = document.asBsonReader();
+            try {
+                int expected = 0;
+                reader.readStartDocument();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    int slot = dispatcher.find(reader.readName(), expected);
+                    if (slot >= 0 && !loaded[slot] && (only == ALL || only == slot)) {
+                        plan.decoder.decodeModel(reader, context, creator, dispatcher.property(slot));
+                        decoded[slot] = true;
+                    } else {
+                        reader.skipValue();
+                    }
+                    expected = slot + 1;
+                }
+            } finally {
+                reader.close();
+            }
+            for (int slot = 0; slot < decoded.length; slot++) {
+                if (decoded[slot] || only == slot || only == ALL) {
+                    markLoaded(slot);
+                }
+            }
+        } finally {
+            loading = false;
+        }
+    }
+
+    private void markLoaded(int slot) {
+        if (!loaded[slot]) {
+            loaded[slot] = true;
+            if (--remaining == 0) {
+                document = null;
+            }
+        }
+    }
+
+    /**
+     * The per model details needed to create and load proxies
+     */
+    static final class Plan {
+        private final EntityModel model;
+        private final EntityDecoder decoder;
+        private final Constructor<?> constructor;
+        private final Map<String, Integer> getters = new HashMap<>();
+        private final Map<String, Integer> setters = new HashMap<>();
+        private final int[] eager;
+
+        private Plan(MorphiaCodec<?> codec, Constructor<?> constructor) {
+            this.constructor = constructor;
+            model = codec.getEntityModel();
+            decoder = new EntityDecoder(codec);
+            PropertyDispatcher dispatcher = model.getDispatcher();
+            int idSlot = PropertyDispatcher.UNKNOWN;
+            int versionSlot = PropertyDispatcher.UNKNOWN;
+            for (int slot = 0; slot < dispatcher.size(); slot++) {
+                PropertyModel property = dispatcher.property(slot);
+                if (property != null) {
+                    String name = property.getName();
+                    String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+                    getters.put("get" + suffix, slot);
+                    getters.put("is" + suffix, slot);
+                    setters.put("set" + suffix, slot);
+                    if (property == model.getIdProperty()) {
+                        idSlot = slot;
+                    } else if (property == model.getVersionProperty()) {
+                        versionSlot = slot;
+                    }
+                }
+            }
+            eager = new int[]{idSlot, versionSlot};
+        }
+
+        /**
+         * Creates a proxy backed by a document.  The ID and version properties are decoded immediately.
+         *
+         * @param document the document
+         * @return the proxy
+         */
+        Object create(RawBsonDocument document) {
+            try {
+                Object proxy = constructor.newInstance();
+                LazyEntityState state = new LazyEntityState(this, document);
+                ((LazyEntityProxy) proxy).setLazyState(state);
+                for (int slot : eager) {
+                    if (slot != PropertyDispatcher.UNKNOWN) {
+                        state.load(proxy, slot);
+                    }
+                }
+                return proxy;
+            } catch (ReflectiveOperationException e) {
+                throw new MappingException(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static final class ProxyCreator implements MorphiaInstanceCreator {
+        private final Object proxy;
+
+        private ProxyCreator(Object proxy) {
+            this.proxy = proxy;
+        }
+
+        @Override
+        public Object getInstance() {
+            return proxy;
+        }
+
+        @Override
+        public void set(@Nullable Object value, PropertyModel model) {
+            model.getAccessor().set(proxy, value);
+        }
+    }
+}
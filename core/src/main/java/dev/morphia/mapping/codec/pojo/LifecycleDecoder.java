@@ -3,6 +3,7 @@ package dev.morphia.mapping.codec.pojo;
 import static java.lang.String.format;
 
 import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
 import org.bson.Document;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
@@ -10,10 +11,16 @@ import org.bson.codecs.configuration.CodecConfigurationException;
 
 import dev.morphia.annotations.PostLoad;
 import dev.morphia.annotations.PreLoad;
+import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.MorphiaInstanceCreator;
 import dev.morphia.mapping.codec.reader.DocumentReader;
 
 /**
+ * Decodes entities with lifecycle methods or interceptors.  Entities are read straight from the BSON stream and a {@link Document} is
+ * only built when a {@code @PreLoad} or {@code @PostLoad} method or interceptor can actually see it.  Since a {@code @PreLoad} method
+ * may alter the document before the entity is populated, the entity is read from the {@code Document} in that case.  Otherwise the
+ * {@code Document} for {@code @PostLoad} is built, if needed, after the entity by rereading the value from a mark.
+ *
  * @morphia.internal
  * @since 2.2
  */
@@ -30,28 +37,47 @@ public class LifecycleDecoder extends EntityDecoder {
 
     @Override
     public Object decode(BsonReader reader, DecoderContext decoderContext) {
-        Document document = getMorphiaCodec().getRegistry().get(Document.class).decode(reader, decoderContext);
-        EntityModel model = getMorphiaCodec().getEntityModel();
-        if (model.useDiscriminator()) {
-            String discriminator = document.getString(model.getDiscriminatorKey());
-            if (discriminator != null) {
-                Class<?> discriminatorClass = getMorphiaCodec().getDiscriminatorLookup().lookup(discriminator);
-                // need to load the codec to initialize cachedCodecs in field models
-                Codec<?> codec = getMorphiaCodec().getRegistry().get(discriminatorClass);
-                if (codec instanceof MorphiaCodec) {
-                    model = ((MorphiaCodec<?>) codec).getEntityModel();
-                } else {
-                    throw new CodecConfigurationException(format("Non-entity class used as discriminator: '%s'.", discriminator));
-                }
+        EntityModel model = getModel(reader);
+        Mapper mapper = getMorphiaCodec().getMapper();
+        final MorphiaInstanceCreator instanceCreator = model.getInstanceCreator();
+        Object entity;
+
+        if (model.needsDocument(PreLoad.class, mapper)) {
+            Document document = decodeDocument(reader, decoderContext);
+            entity = instanceCreator.getInstance();
+            model.callLifecycleMethods(PreLoad.class, entity, document, mapper);
+            decodeProperties(new DocumentReader(document), decoderContext, instanceCreator, model);
+            model.callLifecycleMethods(PostLoad.class, entity, document, mapper);
+        } else {
+            BsonReaderMark mark = model.needsDocument(PostLoad.class, mapper) ? reader.getMark() : null;
+            entity = instanceCreator.getInstance();
+            model.callLifecycleMethods(PreLoad.class, entity, null, mapper);
+            decodeProperties(reader, decoderContext, instanceCreator, model);
+            Document document = null;
+            if (mark != null) {
+                mark.reset();
+                document = decodeDocument(reader, decoderContext);
             }
+            model.callLifecycleMethods(PostLoad.class, entity, document, mapper);
         }
-        final MorphiaInstanceCreator instanceCreator = model.getInstanceCreator();
-        Object entity = instanceCreator.getInstance();
-        model.callLifecycleMethods(PreLoad.class, entity, document, getMorphiaCodec().getMapper());
-        decodeProperties(new DocumentReader(document), decoderContext, instanceCreator, model);
-        model.callLifecycleMethods(PostLoad.class, entity, document, getMorphiaCodec().getMapper());
 
         return entity;
     }
 
+    private Document decodeDocument(BsonReader reader, DecoderContext decoderContext) {
+        return getMorphiaCodec().getRegistry().get(Document.class).decode(reader, decoderContext);
+    }
+
+    private EntityModel getModel(BsonReader reader) {
+        MorphiaCodec<?> morphiaCodec = getMorphiaCodec();
+        EntityModel model = morphiaCodec.getEntityModel();
+        // need to load the codec to initialize cachedCodecs in field models
+        Codec<?> codec = getCodecFromDocument(reader, model.useDiscriminator(), model.getDiscriminatorKey(), morphiaCodec.getRegistry(),
+            morphiaCodec.getDiscriminatorLookup(), morphiaCodec);
+        if (codec instanceof MorphiaCodec) {
+            return ((MorphiaCodec<?>) codec).getEntityModel();
+        }
+        throw new CodecConfigurationException(format("Non-entity class used as discriminator: '%s'.", codec.getEncoderClass().getName()));
+    }
+
 }
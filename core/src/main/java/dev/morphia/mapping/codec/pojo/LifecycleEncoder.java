@@ -9,6 +9,10 @@ import org.bson.Document;
 import org.bson.codecs.EncoderContext;
 
 /**
+ * Encodes entities with lifecycle methods or interceptors.  Unless a lifecycle method or interceptor can see the {@link Document}, and so
+ * might change what is written, entities are encoded straight to the given writer.  Otherwise the entity is encoded to a
+ * {@code Document}, which is written once both {@code @PrePersist} and {@code @PostPersist} have seen it.
+ *
  * @morphia.internal
  * @since 2.2
  */
@@ -28,15 +32,21 @@ public class LifecycleEncoder extends EntityEncoder {
         EntityModel model = getMorphiaCodec().getEntityModel();
         Mapper mapper = getMorphiaCodec().getMapper();
 
-        Document document = new Document();
-        model.callLifecycleMethods(PrePersist.class, value, document, mapper);
+        if (model.needsDocument(PrePersist.class, mapper) || model.needsDocument(PostPersist.class, mapper)) {
+            Document document = new Document();
+            model.callLifecycleMethods(PrePersist.class, value, document, mapper);
 
-        final DocumentWriter documentWriter = new DocumentWriter(document);
-        super.encode(documentWriter, value, encoderContext);
-        document = documentWriter.getDocument();
-        model.callLifecycleMethods(PostPersist.class, value, document, mapper);
+            final DocumentWriter documentWriter = new DocumentWriter(document);
+            super.encode(documentWriter, value, encoderContext);
+            document = documentWriter.getDocument();
+            model.callLifecycleMethods(PostPersist.class, value, document, mapper);
 
-        getMorphiaCodec().getRegistry().get(Document.class).encode(writer, document, encoderContext);
+            getMorphiaCodec().getRegistry().get(Document.class).encode(writer, document, encoderContext);
+        } else {
+            model.callLifecycleMethods(PrePersist.class, value, null, mapper);
+            super.encode(writer, value, encoderContext);
+            model.callLifecycleMethods(PostPersist.class, value, null, mapper);
+        }
     }
 
 }
@@ -1,18 +1,21 @@
 package dev.morphia.mapping.codec.pojo;
 
 import dev.morphia.Datastore;
+import dev.morphia.annotations.TrackChanges;
 import dev.morphia.mapping.DiscriminatorLookup;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.codec.PropertyCodecRegistryImpl;
 import dev.morphia.sofia.Sofia;
 import org.bson.BsonReader;
+import org.bson.BsonReaderMark;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
 import org.bson.codecs.Codec;
 import org.bson.codecs.CollectibleCodec;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
+import org.bson.codecs.RawBsonDocumentCodec;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PropertyCodecProvider;
 import org.bson.codecs.pojo.PropertyCodecRegistry;
@@ -33,14 +36,17 @@ import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
  */
 @SuppressWarnings("unchecked")
 public class MorphiaCodec<T> implements CollectibleCodec<T> {
+    private static final RawBsonDocumentCodec RAW_DOCUMENT_CODEC = new RawBsonDocumentCodec();
     private final PropertyModel idProperty;
     private final Mapper mapper;
     private final EntityModel entityModel;
     private final CodecRegistry registry;
     private final PropertyCodecRegistry propertyCodecRegistry;
     private final DiscriminatorLookup discriminatorLookup;
+    private final boolean trackChanges;
     private EntityEncoder encoder;
     private EntityDecoder decoder;
+    private LazyEntityCodec<T> lazyCodec;
 
     /**
      * Creates a new codec
@@ -61,6 +67,7 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
         this.registry = fromRegistries(fromCodecs(this), registry);
         this.propertyCodecRegistry = new PropertyCodecRegistryImpl(this, registry, propertyCodecProviders);
         idProperty = model.getIdProperty();
+        trackChanges = model.getAnnotation(TrackChanges.class) != null;
         specializePropertyCodecs();
         encoder = new EntityEncoder(this);
         decoder = new EntityDecoder(this);
@@ -68,7 +75,17 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
 
     @Override
     public T decode(BsonReader reader, DecoderContext decoderContext) {
-        return (T) getDecoder().decode(reader, decoderContext);
+        if (!trackChanges) {
+            return (T) getDecoder().decode(reader, decoderContext);
+        }
+        BsonReaderMark mark = reader.getMark();
+        T entity = (T) getDecoder().decode(reader, decoderContext);
+        // a subtype's codec takes its own snapshot when the decoding is handed off to it
+        if (entity.getClass() == entityModel.getType()) {
+            mark.reset();
+            mapper.getSnapshots().snapshot(entity, RAW_DOCUMENT_CODEC.decode(reader, decoderContext));
+        }
+        return entity;
     }
 
     @Override
@@ -112,6 +129,18 @@ public class MorphiaCodec<T> implements CollectibleCodec<T> {
         return decoder;
     }
 
+    /**
+     * @return the codec decoding this type lazily
+     * @see dev.morphia.query.FindOptions#lazyDecoding(boolean)
+     * @since 2.3
+     */
+    public LazyEntityCodec<T> getLazyCodec() {
+        if (lazyCodec == null) {
+            lazyCodec = new LazyEntityCodec<>(this);
+        }
+        return lazyCodec;
+    }
+
     /**
      * Sets the decoder
      *
@@ -0,0 +1,164 @@
+package dev.morphia.mapping.codec.pojo;
+
+import com.mongodb.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Resolves document field names to the properties of a model while decoding.  Each name a property can be loaded from (its mapped name,
+ * any {@code @AlsoLoad} names, and its java name) is placed in an open addressed table sized, where practical, so that no two names
+ * share a bucket which makes most lookups a single probe.
+ * <p>
+ * Fields are numbered in the order Morphia writes them: the ID, the discriminator, then the remaining properties.  Since documents
+ * written by Morphia keep that order, callers can pass the slot following the last one matched and a match at that position is checked
+ * before hashing at all.
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+final class PropertyDispatcher {
+    static final int UNKNOWN = -1;
+    private static final int MAX_TABLE_FACTOR = 32;
+
+    private final String[] names;
+    private final PropertyModel[] properties;
+    private final int discriminatorSlot;
+    private final String[] keys;
+    private final int[] slots;
+    private final int mask;
+
+    PropertyDispatcher(EntityModel model) {
+        List<String> written = new ArrayList<>();
+        List<PropertyModel> models = new ArrayList<>();
+        PropertyModel idProperty = model.getIdProperty();
+        if (idProperty != null) {
+            written.add(idProperty.getMappedName());
+            models.add(idProperty);
+        }
+        if (model.useDiscriminator()) {
+            discriminatorSlot = written.size();
+            written.add(model.getDiscriminatorKey());
+            models.add(null);
+        } else {
+            discriminatorSlot = UNKNOWN;
+        }
+        for (PropertyModel property : model.getEncodedProperties()) {
+            written.add(property.getMappedName());
+            models.add(property);
+        }
+        names = written.toArray(new String[0]);
+        properties = models.toArray(new PropertyModel[0]);
+
+        Map<String, Integer> lookup = new LinkedHashMap<>();
+        for (int slot = 0; slot < names.length; slot++) {
+            lookup.putIfAbsent(names[slot], slot);
+        }
+        for (int slot = 0; slot < properties.length; slot++) {
+            if (properties[slot] != null) {
+                for (String name : properties[slot].getLoadNames()) {
+                    lookup.putIfAbsent(name, slot);
+                }
+            }
+        }
+        for (int slot = 0; slot < properties.length; slot++) {
+            if (properties[slot] != null) {
+                lookup.putIfAbsent(properties[slot].getName(), slot);
+            }
+        }
+
+        int size = tableSize(lookup.keySet());
+        keys = new String[size];
+        slots = new int[size];
+        mask = size - 1;
+        for (Entry<String, Integer> entry : lookup.entrySet()) {
+            int index = spread(entry.getKey().hashCode()) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = entry.getKey();
+            slots[index] = entry.getValue();
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Finds the smallest power of two table, at least twice the number of names, in which no names collide.  If no such table exists
+     * within a reasonable size, the smallest table is used and collisions are resolved by probing.
+     */
+    private static int tableSize(Iterable<String> names) {
+        int count = 0;
+        for (String ignored : names) {
+            count++;
+        }
+        int minimum = Integer.highestOneBit(Math.max(count, 1) * 2 - 1) << 1;
+        for (int size = minimum; size <= minimum * MAX_TABLE_FACTOR; size <<= 1) {
+            boolean[] used = new boolean[size];
+            boolean perfect = true;
+            for (String name : names) {
+                int index = spread(name.hashCode()) & (size - 1);
+                if (used[index]) {
+                    perfect = false;
+                    break;
+                }
+                used[index] = true;
+            }
+            if (perfect) {
+                return size;
+            }
+        }
+        return minimum;
+    }
+
+    /**
+     * Finds the slot for a field name
+     *
+     * @param name     the field name
+     * @param expected the slot expected to match, typically the one following the previous match
+     * @return the slot or {@link #UNKNOWN}
+     */
+    int find(String name, int expected) {
+        if (expected >= 0 && expected < names.length && names[expected].equals(name)) {
+            return expected;
+        }
+        int index = spread(name.hashCode()) & mask;
+        String key;
+        while ((key = keys[index]) != null) {
+            if (key.equals(name)) {
+                return slots[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @param slot the slot
+     * @return true if the slot is the discriminator
+     */
+    boolean isDiscriminator(int slot) {
+        return slot == discriminatorSlot && slot != UNKNOWN;
+    }
+
+    /**
+     * @param slot the slot
+     * @return the property at the slot or null for the discriminator or unknown fields
+     */
+    @Nullable
+    PropertyModel property(int slot) {
+        return slot >= 0 ? properties[slot] : null;
+    }
+
+    /**
+     * @return the number of slots
+     */
+    int size() {
+        return properties.length;
+    }
+}
@@ -34,6 +34,7 @@ import org.bson.codecs.Codec;
 import org.bson.codecs.pojo.PropertyAccessor;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -303,6 +304,11 @@ public final class PropertyModel {
                 codec = handler.value()
                                .getDeclaredConstructor(Datastore.class, PropertyModel.class)
                                .newInstance(datastore, this);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof MappingException) {
+                    throw (MappingException) e.getCause();
+                }
+                throw new MappingException(e.getMessage(), e);
             } catch (ReflectiveOperationException e) {
                 throw new MappingException(e.getMessage(), e);
             }
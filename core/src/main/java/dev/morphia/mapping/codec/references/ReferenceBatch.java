@@ -0,0 +1,266 @@
+package dev.morphia.mapping.codec.references;
+
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+import dev.morphia.Datastore;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Reference;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.query.CachedEntities;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.DecoderContext;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static dev.morphia.query.experimental.filters.Filters.in;
+
+/**
+ * Resolves the eager references of a page of documents up front.  The referenced IDs of every document in the page are collected and
+ * fetched with a single {@code $in} query per referenced collection.  While the page is decoded, the references consult this batch before
+ * querying the database themselves.  IDs which were not found in the batch are left to the references to query for as before so
+ * the usual {@link Reference#ignoreMissing()} handling is unchanged.  IDs held by the entity cache of the referenced collection are taken
+ * from the cache rather than fetched.
+ *
+ * @morphia.internal
+ * @since 2.3
+ */
+public final class ReferenceBatch {
+    private static final ThreadLocal<ReferenceBatch> CURRENT = new ThreadLocal<>();
+    private static final BsonTypeClassMap BSON_TYPE_CLASS_MAP = new BsonTypeClassMap();
+
+    private final Map<String, Map<Object, Object>> found = new HashMap<>();
+
+    private ReferenceBatch() {
+    }
+
+    /**
+     * @param model the model to check
+     * @return true if the model, or any of its subtypes, has eager references
+     */
+    public static boolean appliesTo(EntityModel model) {
+        if (!references(model).isEmpty()) {
+            return true;
+        }
+        for (EntityModel subtype : model.getSubtypes()) {
+            if (appliesTo(subtype)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects and fetches the eager references of a page of documents
+     *
+     * @param datastore the datastore
+     * @param model     the model of the queried type
+     * @param documents the documents
+     * @return the batch
+     */
+    public static ReferenceBatch collect(Datastore datastore, EntityModel model, List<RawBsonDocument> documents) {
+        Mapper mapper = datastore.getMapper();
+        DecoderContext context = DecoderContext.builder().build();
+        Map<String, Set<Object>> ids = new LinkedHashMap<>();
+        Map<EntityModel, Map<String, PropertyModel>> references = new HashMap<>();
+        for (RawBsonDocument document : documents) {
+            EntityModel actual = modelFor(mapper, model, document);
+            Map<String, PropertyModel> properties = references.computeIfAbsent(actual, ReferenceBatch::references);
+            if (!properties.isEmpty()) {
+                readIds(mapper, properties, document, context, ids);
+            }
+        }
+
+        ReferenceBatch batch = new ReferenceBatch();
+        for (Entry<String, Set<Object>> entry : ids.entrySet()) {
+            batch.fetch(datastore, entry.getKey(), entry.getValue());
+        }
+        return batch;
+    }
+
+    /**
+     * @return the batch in effect for the current thread, if any
+     */
+    @Nullable
+    public static ReferenceBatch current() {
+        return CURRENT.get();
+    }
+
+    private static void collate(Mapper mapper, PropertyModel property, @Nullable Object value, Map<String, Set<Object>> ids) {
+        if (value instanceof DBRef) {
+            DBRef ref = (DBRef) value;
+            add(ids, ref.getCollectionName(), ref.getId());
+        } else if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                collate(mapper, property, element, ids);
+            }
+        } else if (isSimpleId(value) && mapper.isMappable(property.getNormalizedType())) {
+            add(ids, mapper.getEntityModel(property.getNormalizedType()).getCollectionName(), value);
+        }
+    }
+
+    private static void add(Map<String, Set<Object>> ids, String collection, @Nullable Object id) {
+        if (isSimpleId(id)) {
+            ids.computeIfAbsent(collection, k -> new LinkedHashSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Only IDs whose decoded form matches what {@link Mapper#getId(Object)} returns for the fetched entity are batched.  Others, e.g.
+     * embedded IDs, are left to the references to resolve.
+     */
+    private static boolean isSimpleId(@Nullable Object id) {
+        return id != null && !(id instanceof Document) && !(id instanceof Collection) && !(id instanceof BsonValue)
+               && !(id instanceof DBRef);
+    }
+
+    private static EntityModel modelFor(Mapper mapper, EntityModel model, RawBsonDocument document) {
+        Entity annotation = model.getEntityAnnotation();
+        if (annotation != null && annotation.useDiscriminator()) {
+            BsonValue discriminator = document.get(model.getDiscriminatorKey());
+            if (discriminator != null && discriminator.isString()) {
+                Class<?> type = mapper.getClass(discriminator.asString().getValue());
+                if (type != null && mapper.isMappable(type)) {
+                    return mapper.getEntityModel(type);
+                }
+            }
+        }
+        return model;
+    }
+
+    private static void readIds(Mapper mapper, Map<String, PropertyModel> properties, RawBsonDocument document,
+                                DecoderContext context, Map<String, Set<Object>> ids) {
+        BsonReader reader = document.asBsonReader();
+        try {
+            reader.readStartDocument();
+            while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                PropertyModel property = properties.get(reader.readName());
+                if (property == null || reader.getCurrentBsonType() == BsonType.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                Object value = mapper.getCodecRegistry()
+                                     .get(BSON_TYPE_CLASS_MAP.get(reader.getCurrentBsonType()))
+                                     .decode(reader, context);
+                if (value instanceof Document && Map.class.isAssignableFrom(property.getType())) {
+                    for (Object element : ((Document) value).values()) {
+                        collate(mapper, property, ReferenceCodec.processId(element, mapper, context), ids);
+                    }
+                } else {
+                    collate(mapper, property, ReferenceCodec.processId(value, mapper, context), ids);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Map<String, PropertyModel> references(EntityModel model) {
+        Map<String, PropertyModel> references = new HashMap<>();
+        for (PropertyModel property : model.getProperties()) {
+            Reference reference = property.getAnnotation(Reference.class);
+            if (reference != null && !reference.lazy()) {
+                references.put(property.getMappedName(), property);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * @param collection the referenced collection
+     * @param id         the referenced ID
+     * @return true if this batch holds the entity for the ID
+     */
+    public boolean covers(String collection, Object id) {
+        Map<Object, Object> entities = found.get(collection);
+        return entities != null && entities.containsKey(id);
+    }
+
+    /**
+     * @param collection the referenced collection
+     * @param ids        the referenced IDs
+     * @return true if this batch holds the entities for every one of the IDs
+     */
+    public boolean coversAll(String collection, Collection<?> ids) {
+        Map<Object, Object> entities = found.get(collection);
+        return entities != null && entities.keySet().containsAll(ids);
+    }
+
+    /**
+     * @param collection the referenced collection
+     * @param id         the referenced ID
+     * @return the referenced entity or null if this batch does not hold it
+     */
+    @Nullable
+    public Object get(String collection, Object id) {
+        Map<Object, Object> entities = found.get(collection);
+        return entities != null ? entities.get(id) : null;
+    }
+
+    /**
+     * Runs an operation with this batch in effect for the current thread
+     *
+     * @param operation the operation
+     * @param <R>       the result type
+     * @return the result of the operation
+     */
+    public <R> R apply(Supplier<R> operation) {
+        ReferenceBatch previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    private void fetch(Datastore datastore, String collection, Set<Object> ids) {
+        if (datastore.getMapper().getClassesMappedToCollection(collection).size() != 1) {
+            return;
+        }
+        Map<Object, Object> entities = new HashMap<>();
+        CachedEntities cached = datastore.getMapper().getCachedEntities(collection);
+        List<Object> uncached = new ArrayList<>();
+        for (Object id : ids) {
+            Object entity = cached != null ? cached.get(id) : null;
+            if (entity != null) {
+                entities.put(id, entity);
+            } else {
+                uncached.add(id);
+            }
+        }
+        if (!uncached.isEmpty()) {
+            // a query by ID adds what it reads to the entity cache itself
+            try (MongoCursor<?> cursor = datastore.find(collection)
+                                                  .disableValidation()
+                                                  .filter(in("_id", uncached))
+                                                  .iterator()) {
+                while (cursor.hasNext()) {
+                    Object entity = cursor.next();
+                    entities.put(datastore.getMapper().getId(entity), entity);
+                }
+            }
+        }
+        found.put(collection, entities);
+    }
+}
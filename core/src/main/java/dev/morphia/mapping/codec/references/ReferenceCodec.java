@@ -25,7 +25,9 @@ import dev.morphia.mapping.lazy.proxy.ReferenceException;
 import dev.morphia.query.QueryException;
 import dev.morphia.sofia.Sofia;
 import net.bytebuddy.ByteBuddy;
-import net.bytebuddy.dynamic.DynamicType.Loaded;
+import net.bytebuddy.TypeCache;
+import net.bytebuddy.TypeCache.Sort;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy.Default;
 import net.bytebuddy.implementation.InvocationHandlerAdapter;
 import net.bytebuddy.matcher.ElementMatchers;
@@ -38,6 +40,9 @@ import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
 import org.bson.codecs.configuration.CodecConfigurationException;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
@@ -46,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static dev.morphia.aggregation.experimental.codecs.ExpressionHelper.document;
@@ -55,8 +61,13 @@ import static dev.morphia.aggregation.experimental.codecs.ExpressionHelper.docum
  */
 @SuppressWarnings({"unchecked", "removal"})
 public class ReferenceCodec extends BaseReferenceCodec<Object> implements PropertyHandler {
+    private static final String HANDLER_FIELD = "morphia$handler";
+    private static final TypeCache<Class<?>> PROXY_CLASSES = new TypeCache.WithInlineExpunction<>(Sort.SOFT);
+    private static final AtomicInteger PROXY_CLASS_COUNT = new AtomicInteger();
+
     private final Reference annotation;
     private final BsonTypeClassMap bsonTypeClassMap = new BsonTypeClassMap();
+    private volatile ProxyFactory proxyFactory;
 
     /**
      * Creates a codec
@@ -69,6 +80,15 @@ public class ReferenceCodec extends BaseReferenceCodec<Object> implements Proper
         annotation = propertyModel.getAnnotation(Reference.class);
     }
 
+    /**
+     * @return the number of lazy reference proxy classes generated so far
+     * @morphia.internal
+     * @since 2.3
+     */
+    public static int getProxyClassCount() {
+        return PROXY_CLASS_COUNT.get();
+    }
+
     /**
      * Encodes a value
      *
@@ -268,29 +288,13 @@ public class ReferenceCodec extends BaseReferenceCodec<Object> implements Proper
     }
 
     private <T> T createProxy(MorphiaReference<?> reference) {
-        ReferenceProxy referenceProxy = new ReferenceProxy(reference);
-        try {
-            Class<?> type = getPropertyModel().getType();
-            String name = (type.getPackageName().startsWith("java") ? type.getSimpleName() : type.getName()) + "$$Proxy";
-            return ((Loaded<T>) new ByteBuddy()
-                                    .subclass(type)
-                                    .implement(MorphiaProxy.class)
-                                    .name(name)
-
-                                    .invokable(ElementMatchers.isDeclaredBy(type))
-                                    .intercept(InvocationHandlerAdapter.of(referenceProxy))
-
-                                    .method(ElementMatchers.isDeclaredBy(MorphiaProxy.class))
-                                    .intercept(InvocationHandlerAdapter.of(referenceProxy))
-
-                                    .make()
-                                    .load(Thread.currentThread().getContextClassLoader(), Default.WRAPPER))
-                       .getLoaded()
-                       .getDeclaredConstructor()
-                       .newInstance();
-        } catch (ReflectiveOperationException | IllegalArgumentException e) {
-            throw new MappingException(e.getMessage(), e);
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ProxyFactory factory = proxyFactory;
+        if (factory == null || factory.classLoader != classLoader) {
+            factory = new ProxyFactory(getPropertyModel().getType(), classLoader);
+            proxyFactory = factory;
         }
+        return (T) factory.create(new ReferenceProxy(reference));
     }
 
     @Nullable
@@ -358,5 +362,58 @@ public class ReferenceCodec extends BaseReferenceCodec<Object> implements Proper
     MorphiaReference<?> readSingle(Object value) {
         return new SingleReference<>(getDatastore(), getEntityModelForField(), value);
     }
-}
 
+    /**
+     * Creates proxies for a referenced type.  The proxy class for a type is generated once per class loader and each proxy gets its own
+     * handler through a field rather than having the handler baked in to a class of its own.
+     */
+    private static final class ProxyFactory {
+        private final ClassLoader classLoader;
+        private final Constructor<?> constructor;
+        private final Field handler;
+
+        private ProxyFactory(Class<?> type, @Nullable ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            try {
+                Class<?> proxyClass = PROXY_CLASSES.findOrInsert(classLoader, type, () -> createProxyClass(type, classLoader),
+                    PROXY_CLASSES);
+                constructor = proxyClass.getDeclaredConstructor();
+                handler = proxyClass.getDeclaredField(HANDLER_FIELD);
+                handler.setAccessible(true);
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+                throw new MappingException(e.getMessage(), e);
+            }
+        }
+
+        private static Class<?> createProxyClass(Class<?> type, @Nullable ClassLoader classLoader) {
+            String name = (type.getPackageName().startsWith("java") ? type.getSimpleName() : type.getName()) + "$$Proxy";
+            Class<?> proxyClass = new ByteBuddy()
+                                      .subclass(type)
+                                      .implement(MorphiaProxy.class)
+                                      .name(name)
+                                      .defineField(HANDLER_FIELD, InvocationHandler.class, Visibility.PRIVATE)
+
+                                      .method(ElementMatchers.isDeclaredBy(type))
+                                      .intercept(InvocationHandlerAdapter.toField(HANDLER_FIELD))
+
+                                      .method(ElementMatchers.isDeclaredBy(MorphiaProxy.class))
+                                      .intercept(InvocationHandlerAdapter.toField(HANDLER_FIELD))
+
+                                      .make()
+                                      .load(classLoader, Default.WRAPPER)
+                                      .getLoaded();
+            PROXY_CLASS_COUNT.incrementAndGet();
+            return proxyClass;
+        }
+
+        private Object create(ReferenceProxy referenceProxy) {
+            try {
+                Object proxy = constructor.newInstance();
+                handler.set(proxy, referenceProxy);
+                return proxy;
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+                throw new MappingException(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -12,7 +12,9 @@ import org.bson.BsonTimestamp;
 import org.bson.BsonUndefined;
 import org.bson.BsonWriter;
 import org.bson.Document;
+import org.bson.codecs.BsonDocumentCodec;
 import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.types.Decimal128;
@@ -326,7 +328,8 @@ public class DocumentWriter implements BsonWriter {
 
     @Override
     public void pipe(BsonReader reader) {
-        throw new UnsupportedOperationException("org.bson.io.TestingDocumentWriter.pipe has not yet been implemented.");
+        new BsonDocumentCodec().encode(this, new BsonDocumentCodec().decode(reader, DecoderContext.builder().build()),
+            EncoderContext.builder().build());
     }
 
     @Override
@@ -350,6 +353,17 @@ public class DocumentWriter implements BsonWriter {
         state.value(new BsonUndefined());
     }
 
+    /**
+     * Writes a value in to the Document as is rather than encoding it
+     *
+     * @param value the value
+     * @morphia.internal
+     * @since 2.3
+     */
+    public void writeValue(Object value) {
+        state.value(value);
+    }
+
     @Override
     public String toString() {
         return root.toString();
@@ -1,8 +1,11 @@
 package dev.morphia.mapping.conventions;
 
 import dev.morphia.Datastore;
+import dev.morphia.mapping.MapperOptions;
+import dev.morphia.mapping.MapperOptions.PropertyAccess;
 import dev.morphia.mapping.codec.ArrayFieldAccessor;
 import dev.morphia.mapping.codec.FieldAccessor;
+import dev.morphia.mapping.codec.MethodHandleAccessor;
 import dev.morphia.mapping.codec.pojo.EntityModelBuilder;
 import dev.morphia.mapping.codec.pojo.TypeData;
 import org.bson.codecs.pojo.PropertyAccessor;
@@ -15,6 +18,7 @@ public class FieldDiscovery implements MorphiaConvention {
 
     @Override
     public void apply(Datastore datastore, EntityModelBuilder builder) {
+        MapperOptions options = datastore.getMapper().getOptions();
         List<Class<?>> list = new ArrayList<>(List.of(builder.getType()));
         list.addAll(builder.classHierarchy());
 
@@ -26,16 +30,18 @@ public class FieldDiscovery implements MorphiaConvention {
                        .name(field.getName())
                        .typeData(typeData)
                        .annotations(List.of(field.getDeclaredAnnotations()))
-                       .accessor(getAccessor(field, typeData))
+                       .accessor(getAccessor(field, typeData, options.getPropertyAccess()))
                        .modifiers(field.getModifiers())
-                       .discoverMappedName(datastore.getMapper().getOptions());
+                       .discoverMappedName(options);
             }
         }
     }
 
-    private PropertyAccessor<? super Object> getAccessor(Field field, TypeData<?> typeData) {
-        return field.getType().isArray() && !field.getType().getComponentType().equals(byte.class)
-               ? new ArrayFieldAccessor(typeData, field)
-               : new FieldAccessor(field);
+    private PropertyAccessor<? super Object> getAccessor(Field field, TypeData<?> typeData, PropertyAccess access) {
+        PropertyAccessor<Object> delegate = access == PropertyAccess.METHOD_HANDLES ? MethodHandleAccessor.of(field) : null;
+        if (field.getType().isArray() && !field.getType().getComponentType().equals(byte.class)) {
+            return new ArrayFieldAccessor(typeData, field, delegate);
+        }
+        return delegate != null ? delegate : new FieldAccessor(field);
     }
 }
@@ -1,9 +1,12 @@
 package dev.morphia.mapping.conventions;
 
 import dev.morphia.Datastore;
+import dev.morphia.mapping.MapperOptions.PropertyAccess;
 import dev.morphia.mapping.codec.MethodAccessor;
+import dev.morphia.mapping.codec.MethodHandleAccessor;
 import dev.morphia.mapping.codec.pojo.EntityModelBuilder;
 import dev.morphia.mapping.codec.pojo.TypeData;
+import org.bson.codecs.pojo.PropertyAccessor;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -69,7 +72,7 @@ public class MethodDiscovery implements MorphiaConvention {
 
                 entityModelBuilder.addProperty()
                                   .name(entry.getKey())
-                                  .accessor(new MethodAccessor(methods.getter, methods.setter))
+                                  .accessor(getAccessor(entry.getKey(), methods.getter, methods.setter))
                                   .annotations(discoverAnnotations(methods.getter, methods.setter))
                                   .typeData(typeData)
                                   .discoverMappedName(datastore.getMapper().getOptions());
@@ -77,6 +80,12 @@ public class MethodDiscovery implements MorphiaConvention {
         }
     }
 
+    private PropertyAccessor<Object> getAccessor(String name, Method getter, Method setter) {
+        return datastore.getMapper().getOptions().getPropertyAccess() == PropertyAccess.METHOD_HANDLES
+               ? MethodHandleAccessor.of(name, getter, setter)
+               : new MethodAccessor(getter, setter);
+    }
+
     private String stripPrefix(Method method, int size) {
         String name = method.getName().substring(size);
         name = name.substring(0, 1).toLowerCase() + name.substring(1);
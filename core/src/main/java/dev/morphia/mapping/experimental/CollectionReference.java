@@ -3,10 +3,13 @@ package dev.morphia.mapping.experimental;
 import com.mongodb.DBRef;
 import com.mongodb.client.MongoCursor;
 import dev.morphia.Datastore;
+import dev.morphia.experimental.IdentityMap;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.references.ReferenceBatch;
 import dev.morphia.mapping.codec.references.ReferenceCodec;
 import dev.morphia.mapping.lazy.proxy.ReferenceException;
+import dev.morphia.query.CachedEntities;
 import dev.morphia.sofia.Sofia;
 
 import java.util.ArrayList;
@@ -154,21 +157,55 @@ public abstract class CollectionReference<C extends Collection> extends MorphiaR
     Map<Object, Object> query(String collection, List<Object> collectionIds) {
 
         final Map<Object, Object> idMap = new HashMap<>();
-        try (MongoCursor<?> cursor = getDatastore().find(collection)
-                                                   .disableValidation()
-                                                   .filter(in("_id", collectionIds)).iterator()) {
-            while (cursor.hasNext()) {
-                final Object entity = cursor.next();
-                idMap.put(getDatastore().getMapper().getId(entity), entity);
+        IdentityMap identityMap = IdentityMap.current();
+        CachedEntities cached = getDatastore().getMapper().getCachedEntities(collection);
+        List<Object> unknown = collectionIds;
+        if (identityMap != null || cached != null) {
+            unknown = new ArrayList<>();
+            for (Object id : collectionIds) {
+                Object known = identityMap != null ? identityMap.get(collection, id) : null;
+                if (known == null && cached != null) {
+                    known = cached.get(id);
+                }
+                if (known != null) {
+                    idMap.put(id, known);
+                } else {
+                    unknown.add(id);
+                }
             }
+        }
 
-            if (!ignoreMissing() && idMap.size() != collectionIds.size()) {
-                throw new ReferenceException(
-                    Sofia.missingReferencedEntities(entityModel.getType().getSimpleName()));
-
+        ReferenceBatch batch = ReferenceBatch.current();
+        if (unknown.isEmpty()) {
+            return idMap;
+        } else if (batch != null && batch.coversAll(collection, unknown)) {
+            for (Object id : unknown) {
+                idMap.put(id, batch.get(collection, id));
+            }
+        } else {
+            // a query by ID adds what it reads to the entity cache itself
+            try (MongoCursor<?> cursor = getDatastore().find(collection)
+                                                       .disableValidation()
+                                                       .filter(in("_id", unknown)).iterator()) {
+                while (cursor.hasNext()) {
+                    final Object entity = cursor.next();
+                    idMap.put(getDatastore().getMapper().getId(entity), entity);
+                }
+            }
+        }
+        for (Object id : unknown) {
+            Object entity = idMap.get(id);
+            if (entity != null && identityMap != null) {
+                idMap.put(id, identityMap.register(getDatastore().getMapper(), entity));
             }
         }
 
+        if (!ignoreMissing() && idMap.size() != collectionIds.size()) {
+            throw new ReferenceException(
+                Sofia.missingReferencedEntities(entityModel.getType().getSimpleName()));
+
+        }
+
         return idMap;
     }
 }
@@ -8,54 +8,54 @@ import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.sofia.Sofia;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /**
  * Defines a Creator that uses a full constructor to create an instance rather than field injection.  This requires that a class have a
- * constructor that accepts a parameter for each mapped field on the class.
+ * constructor that accepts a parameter for each mapped field on the class.  Java records are supported via their canonical constructor.
  *
  * @morphia.internal
  */
 public class ConstructorCreator implements MorphiaInstanceCreator {
     private final Object[] parameters;
-    private final Constructor<?> constructor;
-    private final EntityModel model;
-    private final Map<String, BiFunction<Object[], Object, Void>> positions = new LinkedHashMap<>();
+    private final Binding binding;
 
     /**
      * @param model       the model
      * @param constructor the constructor to use
      */
     public ConstructorCreator(EntityModel model, Constructor<?> constructor) {
-        this.model = model;
-        this.constructor = constructor;
-        if (this.constructor == null) {
-            throw new MappingException(Sofia.noSuitableConstructor(model.getType()));
-        }
-        this.constructor.setAccessible(true);
-
-        final Parameter[] constructorParameters = this.constructor.getParameters();
-        this.parameters = new Object[constructorParameters.length];
-        for (int i = 0; i < constructorParameters.length; i++) {
-            final Parameter parameter = constructorParameters[i];
-            final int finalI = i;
-            String name = getParameterName(parameter);
-            if (name.matches("arg[0-9]+")) {
-                throw new MappingException(Sofia.unnamedConstructorParameter(model.getType().getName()));
-            }
-            BiFunction<Object[], Object, Void> old = positions.put(name, (Object[] params, Object v) -> {
-                params[finalI] = v;
-                return null;
-            });
+        this(new Binding(model, constructor));
+    }
 
-            if (old != null) {
-                throw new MappingException(Sofia.duplicatedParameterName(model.getType().getName(), name));
-            }
-        }
+    private ConstructorCreator(Binding binding) {
+        this.binding = binding;
+        parameters = binding.defaults.clone();
+    }
+
+    /**
+     * Computes the binding of constructor parameters to properties once and returns a supplier of creators sharing that binding.
+     *
+     * @param model       the model
+     * @param constructor the constructor to use
+     * @return the supplier of creators
+     * @morphia.internal
+     * @since 2.3
+     */
+    public static Supplier<MorphiaInstanceCreator> factory(EntityModel model, Constructor<?> constructor) {
+        Binding binding = new Binding(model, constructor);
+        return () -> new ConstructorCreator(binding);
     }
 
     /**
@@ -64,6 +64,10 @@ public class ConstructorCreator implements MorphiaInstanceCreator {
      * @morphia.internal
      */
     public static Constructor<?> getFullConstructor(EntityModel model) {
+        Constructor<?> canonical = getCanonicalConstructor(model.getType());
+        if (canonical != null) {
+            return canonical;
+        }
         for (Constructor<?> constructor : model.getType().getDeclaredConstructors()) {
             if (constructor.getParameterCount() == model.getProperties().size() && namesMatchProperties(model, constructor)) {
                 return constructor;
@@ -92,17 +96,109 @@ public class ConstructorCreator implements MorphiaInstanceCreator {
         return true;
     }
 
+    /**
+     * Finds the canonical constructor of a record.  The record APIs are looked up reflectively so this works when running on a JVM with
+     * record support without requiring one to compile.
+     *
+     * @param type the type to check
+     * @return the canonical constructor or null if the type is not a record
+     */
+    @Nullable
+    private static Constructor<?> getCanonicalConstructor(Class<?> type) {
+        if (getRecordComponentNames(type) == null) {
+            return null;
+        }
+        try {
+            Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(type);
+            Class<?>[] types = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                types[i] = (Class<?>) components[i].getClass().getMethod("getType").invoke(components[i]);
+            }
+            return type.getDeclaredConstructor(types);
+        } catch (ReflectiveOperationException e) {
+            throw new MappingException(Sofia.noSuitableConstructor(type.getName()), e);
+        }
+    }
+
+    @Nullable
+    private static List<String> getRecordComponentNames(Class<?> type) {
+        try {
+            Method isRecord = Class.class.getMethod("isRecord");
+            if (!(Boolean) isRecord.invoke(type)) {
+                return null;
+            }
+            List<String> names = new ArrayList<>();
+            for (Object component : (Object[]) Class.class.getMethod("getRecordComponents").invoke(type)) {
+                names.add((String) component.getClass().getMethod("getName").invoke(component));
+            }
+            return names;
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new MappingException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public Object getInstance() {
         try {
-            return constructor.newInstance(parameters);
-        } catch (ReflectiveOperationException e) {
-            throw new MappingException(Sofia.cannotInstantiate(model.getType().getName(), e.getMessage()));
+            return binding.constructor.invokeExact(parameters);
+        } catch (Throwable e) {
+            throw new MappingException(Sofia.cannotInstantiate(binding.type.getName(), e.getMessage()), e);
         }
     }
 
     @Override
     public void set(@Nullable Object value, PropertyModel model) {
-        positions.get(model.getName()).apply(parameters, value);
+        Integer position = binding.positions.get(model.getName());
+        if (position == null) {
+            throw new MappingException(Sofia.misnamedConstructorParameter(binding.type.getName(), model.getName()));
+        }
+        parameters[position] = value;
+    }
+
+    /**
+     * The parameter to property mapping for a constructor.  This is computed once per model and shared by every creator for that model.
+     */
+    private static final class Binding {
+        private final Class<?> type;
+        private final MethodHandle constructor;
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final Object[] defaults;
+
+        private Binding(EntityModel model, Constructor<?> constructor) {
+            type = model.getType();
+            if (constructor == null) {
+                throw new MappingException(Sofia.noSuitableConstructor(type));
+            }
+            constructor.setAccessible(true);
+
+            List<String> componentNames = getRecordComponentNames(type);
+            Parameter[] constructorParameters = constructor.getParameters();
+            defaults = new Object[constructorParameters.length];
+            for (int i = 0; i < constructorParameters.length; i++) {
+                Parameter parameter = constructorParameters[i];
+                String name = componentNames != null ? componentNames.get(i) : getParameterName(parameter);
+                if (name.matches("arg[0-9]+")) {
+                    throw new MappingException(Sofia.unnamedConstructorParameter(type.getName()));
+                }
+                PropertyModel property = model.getProperty(name);
+                if (positions.put(property != null ? property.getName() : name, i) != null) {
+                    throw new MappingException(Sofia.duplicatedParameterName(type.getName(), name));
+                }
+                if (parameter.getType().isPrimitive()) {
+                    defaults[i] = Array.get(Array.newInstance(parameter.getType(), 1), 0);
+                }
+            }
+
+            try {
+                this.constructor = MethodHandles.lookup()
+                                                .unreflectConstructor(constructor)
+                                                .asSpreader(Object[].class, constructorParameters.length)
+                                                .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException e) {
+                throw new MappingException(Sofia.cannotInstantiate(type.getName(), e.getMessage()), e);
+            }
+        }
     }
 }
@@ -6,6 +6,7 @@ import dev.morphia.Datastore;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.mapping.codec.references.ReferenceBatch;
 import dev.morphia.mapping.codec.references.ReferenceCodec;
 import org.bson.Document;
 
@@ -123,22 +124,32 @@ public class MapReference<T> extends MorphiaReference<Map<Object, T>> {
     @SuppressWarnings("unchecked")
     private void readFromSingleCollection(String collection, List<Object> collectionIds) {
 
-        try (MongoCursor<T> cursor = (MongoCursor<T>) getDatastore().find(collection)
-                                                                    .filter(in("_id", collectionIds)).iterator()) {
-            final Map<Object, T> idMap = new HashMap<>();
-            while (cursor.hasNext()) {
-                final T entity = cursor.next();
-                idMap.put(getDatastore().getMapper().getId(entity), entity);
+        final Map<Object, T> idMap = new HashMap<>();
+        ReferenceBatch batch = ReferenceBatch.current();
+        if (batch != null && batch.coversAll(collection, collectionIds)) {
+            for (Object id : collectionIds) {
+                T entity = (T) batch.get(collection, id);
+                if (entity != null) {
+                    idMap.put(id, entity);
+                }
             }
-
-            for (Entry<String, Object> entry : ids.entrySet()) {
-                final Object id = entry.getValue();
-                final T value = idMap.get(id instanceof DBRef ? ((DBRef) id).getId() : id);
-                if (value != null) {
-                    values.put(entry.getKey(), value);
+        } else {
+            try (MongoCursor<T> cursor = (MongoCursor<T>) getDatastore().find(collection)
+                                                                        .filter(in("_id", collectionIds)).iterator()) {
+                while (cursor.hasNext()) {
+                    final T entity = cursor.next();
+                    idMap.put(getDatastore().getMapper().getId(entity), entity);
                 }
             }
         }
+
+        for (Entry<String, Object> entry : ids.entrySet()) {
+            final Object id = entry.getValue();
+            final T value = idMap.get(id instanceof DBRef ? ((DBRef) id).getId() : id);
+            if (value != null) {
+                values.put(entry.getKey(), value);
+            }
+        }
     }
 
 }
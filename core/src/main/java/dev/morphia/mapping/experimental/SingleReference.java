@@ -3,10 +3,12 @@ package dev.morphia.mapping.experimental;
 import com.mongodb.DBRef;
 import com.mongodb.lang.Nullable;
 import dev.morphia.Datastore;
+import dev.morphia.experimental.IdentityMap;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.MappingException;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.mapping.codec.references.ReferenceBatch;
 import dev.morphia.mapping.lazy.proxy.ReferenceException;
 import dev.morphia.query.Query;
 import dev.morphia.sofia.Sofia;
@@ -75,7 +77,20 @@ public class SingleReference<T> extends MorphiaReference<T> {
     @Override
     public T get() {
         if (!isResolved() && value == null && id != null) {
-            value = (T) buildQuery().iterator().tryNext();
+            IdentityMap identityMap = IdentityMap.current();
+            ReferenceBatch batch = ReferenceBatch.current();
+            String collection = id instanceof DBRef ? ((DBRef) id).getCollectionName() : entityModel.getCollectionName();
+            Object known = identityMap != null ? identityMap.get(collection, getId()) : null;
+            if (entityModel.getType().isInstance(known)) {
+                value = (T) known;
+            } else if (batch != null && batch.covers(collection, getId())) {
+                value = (T) batch.get(collection, getId());
+            } else {
+                value = (T) buildQuery().iterator().tryNext();
+            }
+            if (value != null && identityMap != null) {
+                value = identityMap.register(getDatastore().getMapper(), value);
+            }
             if (value == null && !ignoreMissing()) {
                 throw new ReferenceException(
                     Sofia.missingReferencedEntity(entityModel.getType().getSimpleName()));
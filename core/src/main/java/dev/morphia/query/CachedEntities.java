@@ -0,0 +1,160 @@
+package dev.morphia.query;
+
+import com.mongodb.client.ClientSession;
+import com.mongodb.lang.Nullable;
+import dev.morphia.Datastore;
+import dev.morphia.cache.EntityCache;
+import dev.morphia.experimental.IdentityMap;
+import org.bson.RawBsonDocument;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in memory copies of entities, in a session's identity map or the second level entity cache of a collection, consistent with
+ * writes made by queries and updates.  The mapper holds one instance for each cached collection.
+ * <p>
+ * Writes invalidate cached entities once they have completed.  So that a query reading a document just before it is written can not
+ * cache the old document after that invalidation, every invalidation advances a generation of the collection's cache and queries only
+ * cache what they read if the generation is unchanged both before and after they add to the cache.  Collections written to by a
+ * transaction which is still open are not cached into at all since the invalidation made by the write comes before its commit.
+ *
+ * @morphia.internal
+ * @see dev.morphia.mapping.Mapper#getCachedEntities(String)
+ * @since 2.3
+ */
+public final class CachedEntities {
+    private final EntityCache cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<ClientSession, Boolean> transactions = new ConcurrentHashMap<>();
+
+    /**
+     * @param cache the cache of the collection
+     */
+    public CachedEntities(EntityCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Discards the entities a write may have changed.  Call once the write has completed.
+     *
+     * @param datastore  the datastore
+     * @param collection the collection written to
+     * @param id         the ID of the only document written to or null if it is not known
+     */
+    public static void invalidate(Datastore datastore, @Nullable String collection, @Nullable Object id) {
+        invalidate(datastore, collection, id, datastore.getSession());
+    }
+
+    /**
+     * Discards the entities a write may have changed.  Call once the write has completed.
+     *
+     * @param datastore  the datastore
+     * @param collection the collection written to
+     * @param id         the ID of the only document written to or null if it is not known
+     * @param session    the session the write was made with, if any
+     */
+    public static void invalidate(Datastore datastore, @Nullable String collection, @Nullable Object id,
+                                  @Nullable ClientSession session) {
+        if (collection == null) {
+            return;
+        }
+        IdentityMap identityMap = IdentityMap.of(datastore);
+        if (identityMap != null) {
+            identityMap.evict(collection);
+        }
+        CachedEntities cached = datastore.getMapper().getCachedEntities(collection);
+        if (cached != null) {
+            cached.invalidate(id, session);
+        }
+    }
+
+    /**
+     * @param datastore  the datastore
+     * @param collection the queried collection
+     * @param options    the query options
+     * @return the cached entities to consult for the query or null if the query should bypass them
+     */
+    @Nullable
+    static CachedEntities of(Datastore datastore, @Nullable String collection, FindOptions options) {
+        if (collection == null || options.getProjection() != null || options.isLazyDecoding() || datastore.findSession(options) != null) {
+            return null;
+        }
+        return datastore.getMapper().getCachedEntities(collection);
+    }
+
+    /**
+     * @param id the entity ID
+     * @return the cached entity or null if none is cached for the ID
+     */
+    @Nullable
+    public Object get(Object id) {
+        return cache.get(id);
+    }
+
+    /**
+     * @return the cache of the collection
+     */
+    public EntityCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Discards the entities a write may have changed.  Call once the write has completed.
+     *
+     * @param id      the ID of the only document written to or null if it is not known
+     * @param session the session the write was made with, if any
+     */
+    public void invalidate(@Nullable Object id, @Nullable ClientSession session) {
+        if (session != null && session.hasActiveTransaction()) {
+            transactions.put(session, Boolean.TRUE);
+        }
+        generation.incrementAndGet();
+        if (id != null) {
+            cache.invalidate(id);
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Reads the generation of the cache before a query is sent.  Pass the result to {@link #put(long, Object, Object, RawBsonDocument)}
+     * when caching what the query returns.
+     *
+     * @return the current generation or -1 if a transaction which wrote to the collection is still open
+     */
+    long generation() {
+        return idle() ? generation.get() : -1;
+    }
+
+    /**
+     * Caches an entity read by a query unless the collection was written to since the query was sent
+     *
+     * @param expected the generation read before the query was sent
+     * @param id       the entity ID
+     * @param entity   the entity
+     * @param document the document the entity was decoded from
+     */
+    void put(long expected, Object id, Object entity, RawBsonDocument document) {
+        if (expected < 0 || !unchanged(expected)) {
+            return;
+        }
+        cache.put(id, entity, document);
+        // a write which completed while the entity was being added may have invalidated it before it was added
+        if (!unchanged(expected)) {
+            cache.invalidate(id);
+        }
+    }
+
+    private boolean idle() {
+        if (!transactions.isEmpty()) {
+            transactions.keySet().removeIf(session -> !session.hasActiveTransaction());
+        }
+        return transactions.isEmpty();
+    }
+
+    private boolean unchanged(long expected) {
+        return generation.get() == expected && idle();
+    }
+}
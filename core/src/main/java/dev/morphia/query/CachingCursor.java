@@ -0,0 +1,80 @@
+package dev.morphia.query;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.NonNull;
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.Mapper;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+
+/**
+ * Decodes the documents returned by a query and adds the entities, along with the documents they were decoded from, to a second level
+ * entity cache unless the collection was written to after the query was sent
+ *
+ * @param <T> the entity type
+ * @morphia.internal
+ * @see CachedEntities
+ * @since 2.3
+ */
+final class CachingCursor<T> implements MongoCursor<T> {
+    private final CachedEntities cache;
+    private final long generation;
+    private final Mapper mapper;
+    private final Codec<T> codec;
+    private final MongoCursor<RawBsonDocument> wrapped;
+
+    CachingCursor(CachedEntities cache, long generation, Mapper mapper, Codec<T> codec, MongoCursor<RawBsonDocument> wrapped) {
+        this.cache = cache;
+        this.generation = generation;
+        this.mapper = mapper;
+        this.codec = codec;
+        this.wrapped = wrapped;
+    }
+
+    @Override
+    public void close() {
+        wrapped.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return wrapped.hasNext();
+    }
+
+    @Override
+    @NonNull
+    public T next() {
+        return cache(wrapped.next());
+    }
+
+    @Override
+    @Nullable
+    public T tryNext() {
+        RawBsonDocument next = wrapped.tryNext();
+        return next != null ? cache(next) : null;
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return wrapped.getServerCursor();
+    }
+
+    @Override
+    @NonNull
+    public ServerAddress getServerAddress() {
+        return wrapped.getServerAddress();
+    }
+
+    private T cache(RawBsonDocument document) {
+        T entity = codec.decode(document.asBsonReader(), DecoderContext.builder().build());
+        Object id = mapper.getId(entity);
+        if (id != null) {
+            cache.put(generation, id, entity, document);
+        }
+        return entity;
+    }
+}
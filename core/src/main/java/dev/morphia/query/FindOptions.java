@@ -23,6 +23,7 @@ import com.mongodb.ReadPreference;
 import com.mongodb.assertions.Assertions;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Collation;
 import com.mongodb.lang.Nullable;
 import dev.morphia.internal.PathTarget;
@@ -30,8 +31,11 @@ import dev.morphia.internal.ReadConfigurable;
 import dev.morphia.internal.SessionConfigurable;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.MorphiaCodec;
 import dev.morphia.sofia.Sofia;
 import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.types.ObjectId;
 
 import java.util.Map.Entry;
@@ -41,6 +45,8 @@ import java.util.concurrent.TimeUnit;
 
 import static dev.morphia.internal.MorphiaInternals.DriverVersion.v4_1_0;
 import static dev.morphia.internal.MorphiaInternals.tryInvoke;
+import static org.bson.codecs.configuration.CodecRegistries.fromCodecs;
+import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
 /**
  * The options to apply to a find operation (also commonly referred to as a query).
@@ -74,6 +80,9 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
     private Projection projection;
     private String queryLogId;
     private ClientSession clientSession;
+    private boolean lazyDecoding;
+    private Document mappedProjection;
+    private Document mappedSort;
 
     /**
      * Creates an instance with default values
@@ -103,7 +112,9 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
      * @morphia.internal
      */
     public <T> FindIterable<T> apply(FindIterable<T> iterable, Mapper mapper, Class<?> type) {
-        if (projection != null) {
+        if (mappedProjection != null) {
+            iterable.projection(mappedProjection);
+        } else if (projection != null) {
             iterable.projection(projection.map(mapper, type));
         }
 
@@ -129,15 +140,10 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
         iterable.returnKey(returnKey);
         iterable.showRecordId(showRecordId);
         iterable.skip(skip);
-        if (sort != null) {
-            Document mapped = new Document();
-            EntityModel model = mapper.getEntityModel(type);
-            for (Entry<String, Object> entry : sort.entrySet()) {
-                Object value = entry.getValue();
-                boolean metaScore = value instanceof Document && ((Document) value).get("$meta") != null;
-                mapped.put(new PathTarget(mapper, model, entry.getKey(), !metaScore).translatedPath(), value);
-            }
-            iterable.sort(mapped);
+        if (mappedSort != null) {
+            iterable.sort(mappedSort);
+        } else if (sort != null) {
+            iterable.sort(mapSort(mapper, type));
         }
         return iterable;
     }
@@ -236,10 +242,34 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
         this.projection = original.projection;
         this.queryLogId = original.queryLogId;
         this.clientSession = original.clientSession;
+        this.lazyDecoding = original.lazyDecoding;
+        this.mappedProjection = original.mappedProjection;
+        this.mappedSort = original.mappedSort;
 
         return this;
     }
 
+    /**
+     * Creates a copy of these options with the projection and sort already mapped for the given type so that they need not be mapped
+     * again each time the options are applied.
+     *
+     * @param mapper the mapper to use
+     * @param type   the result type
+     * @return the compiled copy
+     * @morphia.internal
+     * @since 2.3
+     */
+    public FindOptions compile(Mapper mapper, Class<?> type) {
+        FindOptions compiled = copy();
+        if (projection != null) {
+            compiled.mappedProjection = projection.map(mapper, type);
+        }
+        if (sort != null) {
+            compiled.mappedSort = mapSort(mapper, type);
+        }
+        return compiled;
+    }
+
     /**
      * Sets the cursor type
      *
@@ -297,6 +327,15 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
         return this.hint;
     }
 
+    /**
+     * @return the index hint by name
+     * @since 2.3
+     */
+    @Nullable
+    public String getHintString() {
+        return this.hintString;
+    }
+
     /**
      * @return the limit
      */
@@ -338,6 +377,26 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
         return this.min;
     }
 
+    /**
+     * @return the projection as mapped by {@link #compile(Mapper, Class)}
+     * @morphia.internal
+     * @since 2.3
+     */
+    @Nullable
+    public Document getMappedProjection() {
+        return mappedProjection;
+    }
+
+    /**
+     * @return the sort as mapped by {@link #compile(Mapper, Class)}
+     * @morphia.internal
+     * @since 2.3
+     */
+    @Nullable
+    public Document getMappedSort() {
+        return mappedSort;
+    }
+
     /**
      * @return the projection
      */
@@ -395,7 +454,7 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
     public int hashCode() {
         return Objects.hash(allowDiskUse, batchSize, limit, maxTimeMS, maxAwaitTimeMS, skip, sort, cursorType, noCursorTimeout, oplogReplay,
             partial, collation, comment, hint, hintString, max, min, returnKey, showRecordId, readConcern, readPreference, projection,
-            queryLogId, clientSession);
+            queryLogId, clientSession, lazyDecoding);
     }
 
     @Override
@@ -414,7 +473,8 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
                && Objects.equals(comment, that.comment) && Objects.equals(hint, that.hint) && Objects.equals(hintString, that.hintString)
                && Objects.equals(max, that.max) && Objects.equals(min, that.min) && Objects.equals(readConcern, that.readConcern)
                && Objects.equals(readPreference, that.readPreference) && Objects.equals(projection, that.projection)
-               && Objects.equals(queryLogId, that.queryLogId) && Objects.equals(clientSession, that.clientSession);
+               && Objects.equals(queryLogId, that.queryLogId) && Objects.equals(clientSession, that.clientSession)
+               && lazyDecoding == that.lazyDecoding;
     }
 
     @Override
@@ -441,6 +501,7 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
                    .add("readPreference=" + readPreference)
                    .add("queryLogId='" + queryLogId + "'")
                    .add("projection=" + projection)
+                   .add("lazyDecoding=" + lazyDecoding)
                    .toString();
     }
 
@@ -488,6 +549,15 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
         return this;
     }
 
+    /**
+     * @return true if entities are decoded lazily
+     * @see #lazyDecoding(boolean)
+     * @since 2.3
+     */
+    public boolean isLazyDecoding() {
+        return lazyDecoding;
+    }
+
     /**
      * This is an experimental method.  It's implementation and presence are subject to change.
      *
@@ -533,6 +603,24 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
         return this.showRecordId;
     }
 
+    /**
+     * Enables lazy decoding of the results.  Each result retains the raw BSON of its document and its properties are decoded from it only
+     * as they are first read through the entity's methods.  This can save considerable work when only a few properties of wide documents
+     * are used.  The ID and version are always decoded up front.
+     * <p>
+     * Only entities with an accessible no-arg constructor and without {@code @PreLoad} or {@code @PostLoad} methods or registered
+     * interceptors are decoded lazily.  Other types are decoded as usual.  Lazily decoded entities are proxies much like lazy references
+     * and, like any entity, should not be shared between threads while still being loaded.
+     *
+     * @param lazyDecoding true to decode lazily
+     * @return this
+     * @since 2.3
+     */
+    public FindOptions lazyDecoding(boolean lazyDecoding) {
+        this.lazyDecoding = lazyDecoding;
+        return this;
+    }
+
     /**
      * Sets the limit
      *
@@ -661,10 +749,33 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
         return this;
     }
 
+    /**
+     * Applies the read settings and, if enabled, lazy decoding to a collection
+     *
+     * @param collection the collection to prepare
+     * @param <C>        the collection type
+     * @return the prepared collection
+     * @morphia.internal
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C> MongoCollection<C> prepare(MongoCollection<C> collection) {
+        MongoCollection<C> updated = ReadConfigurable.super.prepare(collection);
+        if (lazyDecoding) {
+            CodecRegistry registry = updated.getCodecRegistry();
+            Codec<C> codec = registry.get(updated.getDocumentClass());
+            if (codec instanceof MorphiaCodec) {
+                updated = updated.withCodecRegistry(fromRegistries(fromCodecs(((MorphiaCodec<C>) codec).getLazyCodec()), registry));
+            }
+        }
+        return updated;
+    }
+
     /**
      * @return the projection
      */
     public Projection projection() {
+        mappedProjection = null;
         if (projection == null) {
             projection = new Projection(this);
         }
@@ -724,6 +835,7 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
      */
     public FindOptions sort(Document sort) {
         this.sort = sort;
+        mappedSort = null;
         return this;
     }
 
@@ -735,10 +847,21 @@ public final class FindOptions implements SessionConfigurable<FindOptions>, Read
      */
     public FindOptions sort(Sort... sorts) {
         this.sort = new Document();
+        mappedSort = null;
         for (Sort sort : sorts) {
             this.sort.append(sort.getField(), sort.getOrder());
         }
         return this;
     }
 
+    private Document mapSort(Mapper mapper, Class<?> type) {
+        Document mapped = new Document();
+        EntityModel model = mapper.getEntityModel(type);
+        for (Entry<String, Object> entry : sort.entrySet()) {
+            Object value = entry.getValue();
+            boolean metaScore = value instanceof Document && ((Document) value).get("$meta") != null;
+            mapped.put(new PathTarget(mapper, model, entry.getKey(), !metaScore).translatedPath(), value);
+        }
+        return mapped;
+    }
 }
@@ -0,0 +1,84 @@
+package dev.morphia.query;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.NonNull;
+import com.mongodb.lang.Nullable;
+import dev.morphia.Datastore;
+import dev.morphia.experimental.IdentityMap;
+import dev.morphia.mapping.Mapper;
+
+/**
+ * Returns the entities known to a session's identity map in place of freshly decoded copies.  Decoding happens with the identity map in
+ * effect so that eager references are resolved against it as well.
+ *
+ * @param <T> the entity type
+ * @morphia.internal
+ * @see IdentityMap
+ * @since 2.3
+ */
+final class IdentityMapCursor<T> implements MongoCursor<T> {
+    private final IdentityMap identityMap;
+    private final Mapper mapper;
+    private final MongoCursor<T> wrapped;
+
+    IdentityMapCursor(IdentityMap identityMap, Mapper mapper, MongoCursor<T> wrapped) {
+        this.identityMap = identityMap;
+        this.mapper = mapper;
+        this.wrapped = wrapped;
+    }
+
+    /**
+     * @param datastore  the datastore
+     * @param type       the queried type
+     * @param collection the queried collection
+     * @param options    the query options
+     * @return the identity map to apply to the query or null if the query should bypass it
+     */
+    @Nullable
+    static IdentityMap identityMap(Datastore datastore, Class<?> type, @Nullable String collection, FindOptions options) {
+        IdentityMap identityMap = IdentityMap.of(datastore);
+        Mapper mapper = datastore.getMapper();
+        if (identityMap == null || options.getProjection() != null || options.isLazyDecoding() || !mapper.isMappable(type)
+            || !mapper.getEntityModel(type).getCollectionName().equals(collection)) {
+            return null;
+        }
+        return identityMap;
+    }
+
+    @Override
+    public void close() {
+        wrapped.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return identityMap.apply(wrapped::hasNext);
+    }
+
+    @Override
+    @NonNull
+    public T next() {
+        return identityMap.register(mapper, identityMap.apply(wrapped::next));
+    }
+
+    @Override
+    @Nullable
+    public T tryNext() {
+        T next = identityMap.apply(wrapped::tryNext);
+        return next != null ? identityMap.register(mapper, next) : null;
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return wrapped.getServerCursor();
+    }
+
+    @Override
+    @NonNull
+    public ServerAddress getServerAddress() {
+        return wrapped.getServerAddress();
+    }
+}
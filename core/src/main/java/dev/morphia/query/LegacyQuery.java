@@ -12,6 +12,7 @@ import dev.morphia.Datastore;
 import dev.morphia.DatastoreImpl;
 import dev.morphia.DeleteOptions;
 import dev.morphia.annotations.Entity;
+import dev.morphia.experimental.IdentityMap;
 import dev.morphia.internal.MorphiaInternals.DriverVersion;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
@@ -19,6 +20,7 @@ import dev.morphia.query.experimental.updates.UpdateOperator;
 import dev.morphia.query.internal.MorphiaCursor;
 import dev.morphia.query.internal.MorphiaKeyCursor;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -148,23 +150,31 @@ public class LegacyQuery<T> implements CriteriaContainer, Query<T> {
     public T findAndDelete(FindAndDeleteOptions options) {
         MongoCollection<T> mongoCollection = options.prepare(getCollection());
         ClientSession session = datastore.findSession(options);
-        return session == null
-               ? mongoCollection.findOneAndDelete(getQueryDocument(), options)
-               : mongoCollection.findOneAndDelete(session, getQueryDocument(), options);
+        try {
+            return session == null
+                   ? mongoCollection.findOneAndDelete(getQueryDocument(), options)
+                   : mongoCollection.findOneAndDelete(session, getQueryDocument(), options);
+        } finally {
+            CachedEntities.invalidate(datastore, getCollectionName(), null, session);
+        }
     }
 
     @Override
     public DeleteResult delete(DeleteOptions options) {
         MongoCollection<T> collection = options.prepare(getCollection());
         ClientSession session = datastore.findSession(options);
-        if (options.isMulti()) {
-            return session == null
-                   ? collection.deleteMany(getQueryDocument(), options)
-                   : collection.deleteMany(session, getQueryDocument(), options);
-        } else {
-            return session == null
-                   ? collection.deleteOne(getQueryDocument(), options)
-                   : collection.deleteOne(session, getQueryDocument(), options);
+        try {
+            if (options.isMulti()) {
+                return session == null
+                       ? collection.deleteMany(getQueryDocument(), options)
+                       : collection.deleteMany(session, getQueryDocument(), options);
+            } else {
+                return session == null
+                       ? collection.deleteOne(getQueryDocument(), options)
+                       : collection.deleteOne(session, getQueryDocument(), options);
+            }
+        } finally {
+            CachedEntities.invalidate(datastore, getCollectionName(), null, session);
         }
     }
 
@@ -263,7 +273,10 @@ public class LegacyQuery<T> implements CriteriaContainer, Query<T> {
 
     @Override
     public MorphiaCursor<T> iterator(FindOptions options) {
-        return new MorphiaCursor<>(prepareCursor(options, getCollection()));
+        IdentityMap identityMap = IdentityMapCursor.identityMap(datastore, getEntityClass(), getCollectionName(), options);
+        return new MorphiaCursor<>(identityMap != null
+                                   ? new IdentityMapCursor<>(identityMap, mapper, cursor(options))
+                                   : cursor(options));
     }
 
     @Override
@@ -420,6 +433,15 @@ public class LegacyQuery<T> implements CriteriaContainer, Query<T> {
         return collectionName;
     }
 
+    private MongoCursor<T> cursor(FindOptions options) {
+        if (ReferenceBatchingCursor.appliesTo(mapper, getEntityClass(), options)) {
+            return new ReferenceBatchingCursor<>(datastore, mapper.getEntityModel(getEntityClass()),
+                getCollection().getCodecRegistry().get(getEntityClass()), options,
+                prepareCursor(options, getCollection().withDocumentClass(RawBsonDocument.class)));
+        }
+        return prepareCursor(options, getCollection());
+    }
+
     private Document getQueryDocument() {
         final Document obj = new Document();
 
@@ -10,8 +10,10 @@ import com.mongodb.client.result.DeleteResult;
 import com.mongodb.lang.Nullable;
 import dev.morphia.Datastore;
 import dev.morphia.DeleteOptions;
+import dev.morphia.experimental.IdentityMap;
 import dev.morphia.internal.MorphiaInternals.DriverVersion;
 import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.mapping.codec.writer.DocumentWriter;
 import dev.morphia.query.experimental.filters.Filter;
 import dev.morphia.query.experimental.filters.Filters;
@@ -21,6 +23,7 @@ import dev.morphia.query.internal.MorphiaCursor;
 import dev.morphia.query.internal.MorphiaKeyCursor;
 import dev.morphia.sofia.Sofia;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.EncoderContext;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -52,6 +55,7 @@ class MorphiaQuery<T> implements Query<T> {
     private final MongoCollection<T> collection;
     private final List<Filter> filters = new ArrayList<>();
     private final Document seedQuery;
+    private final Document prepared;
     private boolean validate = true;
 
     protected MorphiaQuery(Datastore datastore, @Nullable String collectionName, Class<T> type) {
@@ -59,6 +63,7 @@ class MorphiaQuery<T> implements Query<T> {
         this.datastore = datastore;
         mapper = this.datastore.getMapper();
         seedQuery = null;
+        prepared = null;
         if (collectionName != null) {
             this.collection = datastore.getDatabase().getCollection(collectionName, type);
             this.collectionName = collectionName;
@@ -75,11 +80,22 @@ class MorphiaQuery<T> implements Query<T> {
         this.type = type;
         this.datastore = datastore;
         this.seedQuery = query;
+        prepared = null;
         mapper = this.datastore.getMapper();
         collection = mapper.getCollection(type);
         collectionName = collection.getNamespace().getCollectionName();
     }
 
+    private MorphiaQuery(MorphiaQuery<T> template, Document prepared) {
+        this.type = template.type;
+        this.datastore = template.datastore;
+        this.mapper = template.mapper;
+        this.collection = template.collection;
+        this.collectionName = template.collectionName;
+        this.seedQuery = null;
+        this.prepared = prepared;
+    }
+
     static <V> V legacyOperation() {
         throw new UnsupportedOperationException(Sofia.legacyOperation());
     }
@@ -101,14 +117,18 @@ class MorphiaQuery<T> implements Query<T> {
     public DeleteResult delete(DeleteOptions options) {
         MongoCollection<T> collection = options.prepare(getCollection());
         ClientSession session = datastore.findSession(options);
-        if (options.isMulti()) {
-            return session == null
-                   ? collection.deleteMany(getQueryDocument(), options)
-                   : collection.deleteMany(session, getQueryDocument(), options);
-        } else {
-            return session == null
-                   ? collection.deleteOne(getQueryDocument(), options)
-                   : collection.deleteOne(session, getQueryDocument(), options);
+        try {
+            if (options.isMulti()) {
+                return session == null
+                       ? collection.deleteMany(getQueryDocument(), options)
+                       : collection.deleteMany(session, getQueryDocument(), options);
+            } else {
+                return session == null
+                       ? collection.deleteOne(getQueryDocument(), options)
+                       : collection.deleteOne(session, getQueryDocument(), options);
+            }
+        } finally {
+            CachedEntities.invalidate(datastore, getCollectionName(), getIdFilter(), session);
         }
     }
 
@@ -173,9 +193,13 @@ class MorphiaQuery<T> implements Query<T> {
     public T findAndDelete(FindAndDeleteOptions options) {
         MongoCollection<T> mongoCollection = options.prepare(getCollection());
         ClientSession session = datastore.findSession(options);
-        return session == null
-               ? mongoCollection.findOneAndDelete(getQueryDocument(), options)
-               : mongoCollection.findOneAndDelete(session, getQueryDocument(), options);
+        try {
+            return session == null
+                   ? mongoCollection.findOneAndDelete(getQueryDocument(), options)
+                   : mongoCollection.findOneAndDelete(session, getQueryDocument(), options);
+        } finally {
+            CachedEntities.invalidate(datastore, getCollectionName(), getIdFilter(), session);
+        }
     }
 
     @Override
@@ -185,6 +209,10 @@ class MorphiaQuery<T> implements Query<T> {
 
     @Override
     public T first(FindOptions options) {
+        T known = inMemory(options);
+        if (known != null) {
+            return known;
+        }
         try (MongoCursor<T> it = iterator(options.copy().limit(1))) {
             return it.tryNext();
         }
@@ -197,7 +225,18 @@ class MorphiaQuery<T> implements Query<T> {
 
     @Override
     public MorphiaCursor<T> iterator(FindOptions options) {
-        return new MorphiaCursor<>(prepareCursor(options, getCollection()));
+        IdentityMap identityMap = IdentityMapCursor.identityMap(datastore, type, getCollectionName(), options);
+        if (identityMap != null) {
+            return new MorphiaCursor<>(new IdentityMapCursor<>(identityMap, mapper, cursor(options)));
+        }
+        Filter idFilter = options.getSkip() == 0 ? idFilter() : null;
+        CachedEntities cached = idFilter != null ? CachedEntities.of(datastore, getCollectionName(), options) : null;
+        if (cached != null) {
+            long generation = cached.generation();
+            return new MorphiaCursor<>(new CachingCursor<>(cached, generation, mapper, getCollection().getCodecRegistry().get(type),
+                prepareCursor(options, getCollection().withDocumentClass(RawBsonDocument.class))));
+        }
+        return new MorphiaCursor<>(cursor(options));
     }
 
     @Override
@@ -221,6 +260,11 @@ class MorphiaQuery<T> implements Query<T> {
         return new Modify<>(datastore, mapper, getCollection(), this, getEntityClass(), first, updates);
     }
 
+    @Override
+    public PreparedQuery<T> prepare(FindOptions options) {
+        return new PreparedQuery<>(this, mapper, getQueryDocument(), options.compile(mapper, type));
+    }
+
     @Override
     public Query<T> search(String searchText) {
         return filter(text(searchText));
@@ -286,6 +330,76 @@ class MorphiaQuery<T> implements Query<T> {
         return collectionName;
     }
 
+    /**
+     * Creates a query which runs a document already built by a {@link PreparedQuery} rather than encoding any filters
+     *
+     * @param query the query document
+     * @return the new query
+     */
+    MorphiaQuery<T> bound(Document query) {
+        return new MorphiaQuery<>(this, query);
+    }
+
+    private MongoCursor<T> cursor(FindOptions options) {
+        if (ReferenceBatchingCursor.appliesTo(mapper, getEntityClass(), options)) {
+            return new ReferenceBatchingCursor<>(datastore, mapper.getEntityModel(getEntityClass()),
+                getCollection().getCodecRegistry().get(getEntityClass()), options,
+                prepareCursor(options, getCollection().withDocumentClass(RawBsonDocument.class)));
+        }
+        return prepareCursor(options, getCollection());
+    }
+
+    /**
+     * @return the ID this query filters on if it filters on nothing else
+     */
+    @Nullable
+    Object getIdFilter() {
+        Filter filter = idFilter();
+        return filter != null && "$eq".equals(filter.getName()) ? filter.getValue() : null;
+    }
+
+    /**
+     * Finds the entity a query by ID matches in the session's identity map or the entity cache.  Only {@link #first(FindOptions)} is
+     * answered this way since a cursor is expected to have come from a server.  Projected queries are never answered this way since the
+     * entities held in memory hold every field.
+     */
+    @Nullable
+    private T inMemory(FindOptions options) {
+        Object id = options.getSkip() == 0 && options.getProjection() == null ? getIdFilter() : null;
+        if (id == null) {
+            return null;
+        }
+        IdentityMap identityMap = IdentityMapCursor.identityMap(datastore, type, getCollectionName(), options);
+        if (identityMap != null) {
+            return known(identityMap.get(getCollectionName(), id));
+        }
+        CachedEntities cached = CachedEntities.of(datastore, getCollectionName(), options);
+        return cached != null ? known(cached.get(id)) : null;
+    }
+
+    /**
+     * @return the filter of this query if it only matches documents by ID, either one ID or a list of them
+     */
+    @Nullable
+    private Filter idFilter() {
+        if (seedQuery != null || filters.size() != 1 || !mapper.isMappable(type)) {
+            return null;
+        }
+        Filter filter = filters.get(0);
+        PropertyModel idProperty = mapper.getEntityModel(type).getIdProperty();
+        if (idProperty == null || filter.isNot() || !("$eq".equals(filter.getName()) || "$in".equals(filter.getName()))
+            || filter.getValue() instanceof Parameter
+            || !("_id".equals(filter.getField()) || idProperty.getName().equals(filter.getField()))) {
+            return null;
+        }
+        return filter;
+    }
+
+    @Nullable
+    private T known(@Nullable Object entity) {
+        return type.isInstance(entity) ? type.cast(entity) : null;
+    }
+
     @NotNull
     private <E> FindIterable<E> iterable(FindOptions findOptions, MongoCollection<E> collection) {
         final Document query = toDocument();
@@ -330,6 +444,9 @@ class MorphiaQuery<T> implements Query<T> {
     }
 
     Document getQueryDocument() {
+        if (prepared != null) {
+            return prepared;
+        }
         DocumentWriter writer = new DocumentWriter(seedQuery);
         document(writer, () -> {
             EncoderContext context = EncoderContext.builder().build();
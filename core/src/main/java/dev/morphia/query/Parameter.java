@@ -0,0 +1,109 @@
+package dev.morphia.query;
+
+import com.mongodb.lang.Nullable;
+import dev.morphia.internal.PathTarget;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.sofia.Sofia;
+import org.bson.BsonWriter;
+import org.bson.Document;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A named placeholder for a filter value in a {@link PreparedQuery}.  The value is supplied each time the prepared query is run.
+ * <pre>
+ * PreparedQuery&lt;User&gt; byName = datastore.find(User.class)
+ *                                      .filter(eq("name", param("name")))
+ *                                      .prepare();
+ * User user = byName.first(Map.of("name", "Jane"));
+ * </pre>
+ * Parameters take the place of the whole value of a filter.  They can not be nested inside other values such as the elements of a list.
+ *
+ * @since 2.3
+ */
+public final class Parameter {
+    private final String name;
+    @Nullable
+    private final PathTarget target;
+
+    private Parameter(String name, @Nullable PathTarget target) {
+        this.name = name;
+        this.target = target;
+    }
+
+    /**
+     * Creates a parameter
+     *
+     * @param name the name of the parameter
+     * @return the parameter
+     */
+    public static Parameter param(String name) {
+        return new Parameter(Objects.requireNonNull(name), null);
+    }
+
+    /**
+     * @return the name of the parameter
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Parameter)) {
+            return false;
+        }
+        return name.equals(((Parameter) o).name);
+    }
+
+    /**
+     * Binds this parameter to the field it is compared against so that bound values are encoded the same way a literal value would be.
+     *
+     * @param target the field of the filter using this parameter
+     * @return the bound parameter
+     * @morphia.internal
+     */
+    public Parameter target(PathTarget target) {
+        return new Parameter(name, target);
+    }
+
+    @Override
+    public String toString() {
+        return ":" + name;
+    }
+
+    /**
+     * Writes this parameter in to a query template
+     *
+     * @param writer the writer
+     * @morphia.internal
+     */
+    public void write(BsonWriter writer) {
+        if (!(writer instanceof DocumentWriter)) {
+            throw new QueryException(Sofia.parameterNotPrepared(name));
+        }
+        ((DocumentWriter) writer).writeValue(this);
+    }
+
+    @Nullable
+    Object encode(Mapper mapper, Map<String, ?> values) {
+        if (!values.containsKey(name)) {
+            throw new QueryException(Sofia.parameterValueMissing(name));
+        }
+        Object value = values.get(name);
+        if (value == null || target == null) {
+            return value;
+        }
+        return ((Document) new OperationTarget(target, value).encode(mapper)).get(target.translatedPath());
+    }
+}
@@ -0,0 +1,163 @@
+package dev.morphia.query;
+
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.Nullable;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.query.internal.MorphiaCursor;
+import dev.morphia.sofia.Sofia;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A query compiled once in to a template which can be run many times with different values for its {@link Parameter}s.  The filters,
+ * field names, discriminators, projection and sort are all mapped when the query is prepared so running the template only encodes the
+ * values bound to its parameters.  Those parts of the query document which hold no parameters are shared between runs.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ * <pre>
+ * PreparedQuery&lt;User&gt; adults = datastore.find(User.class)
+ *                                      .filter(eq("city", param("city")), gte("age", 18))
+ *                                      .prepare(new FindOptions().sort(ascending("name")));
+ * List&lt;User&gt; users = adults.iterator(Map.of("city", "Oslo")).toList();
+ * </pre>
+ *
+ * @param <T> the entity type
+ * @see Query#prepare(FindOptions)
+ * @since 2.3
+ */
+public final class PreparedQuery<T> {
+    private final MorphiaQuery<T> query;
+    private final Mapper mapper;
+    private final Document template;
+    private final FindOptions options;
+    private final Set<String> parameterNames = new TreeSet<>();
+    private final Set<Object> parameterized = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    PreparedQuery(MorphiaQuery<T> query, Mapper mapper, Document template, FindOptions options) {
+        this.query = query.bound(template);
+        this.mapper = mapper;
+        this.template = template;
+        this.options = options;
+        scan(template);
+    }
+
+    /**
+     * Counts the documents matching the query
+     *
+     * @param values the values of the parameters
+     * @return the count
+     */
+    public long count(Map<String, ?> values) {
+        return bind(values).count();
+    }
+
+    /**
+     * Runs the query and returns the first match
+     *
+     * @param values the values of the parameters
+     * @return the first match or null if nothing matched
+     */
+    @Nullable
+    public T first(Map<String, ?> values) {
+        try (MongoCursor<T> it = bind(values).iterator(options.copy().limit(1))) {
+            return it.tryNext();
+        }
+    }
+
+    /**
+     * @return the names of the parameters of this query
+     */
+    public Set<String> getParameterNames() {
+        return Collections.unmodifiableSet(parameterNames);
+    }
+
+    /**
+     * Runs the query
+     *
+     * @param values the values of the parameters
+     * @return the matching entities
+     */
+    public MorphiaCursor<T> iterator(Map<String, ?> values) {
+        return bind(values).iterator(options);
+    }
+
+    /**
+     * Creates the query document for the given values.  The document may share parts with the template and with other documents created
+     * from it so it must not be modified.
+     *
+     * @param values the values of the parameters
+     * @return the query document
+     */
+    public Document toDocument(Map<String, ?> values) {
+        for (String name : values.keySet()) {
+            if (!parameterNames.contains(name)) {
+                throw new QueryException(Sofia.parameterValueUnknown(name, parameterNames));
+            }
+        }
+        return (Document) bind(template, values);
+    }
+
+    @Override
+    public String toString() {
+        return "PreparedQuery{query=" + template + ", options=" + options + '}';
+    }
+
+    private MorphiaQuery<T> bind(Map<String, ?> values) {
+        return query.bound(toDocument(values));
+    }
+
+    @Nullable
+    private Object bind(@Nullable Object node, Map<String, ?> values) {
+        if (node instanceof Parameter) {
+            return ((Parameter) node).encode(mapper, values);
+        }
+        if (!parameterized.contains(node)) {
+            return node;
+        }
+        if (node instanceof Document) {
+            Document copy = new Document();
+            for (Entry<String, Object> entry : ((Document) node).entrySet()) {
+                copy.put(entry.getKey(), bind(entry.getValue(), values));
+            }
+            return copy;
+        }
+        List<?> list = (List<?>) node;
+        List<Object> copy = new ArrayList<>(list.size());
+        for (Object value : list) {
+            copy.add(bind(value, values));
+        }
+        return copy;
+    }
+
+    /**
+     * Finds the parameters in the template and marks every document and list on the way to them
+     */
+    private boolean scan(@Nullable Object node) {
+        if (node instanceof Parameter) {
+            parameterNames.add(((Parameter) node).getName());
+            return true;
+        }
+        boolean found = false;
+        if (node instanceof Document) {
+            for (Object value : ((Document) node).values()) {
+                found |= scan(value);
+            }
+        } else if (node instanceof List) {
+            for (Object value : (List<?>) node) {
+                found |= scan(value);
+            }
+        }
+        if (found) {
+            parameterized.add(node);
+        }
+        return found;
+    }
+}
@@ -358,6 +358,30 @@ public interface Query<T> extends CriteriaContainer, Iterable<T> {
         return legacyOperation();
     }
 
+    /**
+     * Compiles this query in to a reusable template.  Filter values given as {@link Parameter}s are supplied each time the template is
+     * run.
+     *
+     * @return the prepared query
+     * @see #prepare(FindOptions)
+     * @since 2.3
+     */
+    default PreparedQuery<T> prepare() {
+        return prepare(new FindOptions());
+    }
+
+    /**
+     * Compiles this query and the given options in to a reusable template.  Filter values given as {@link Parameter}s are supplied each
+     * time the template is run.  Later changes to this query or to the options do not affect the template.
+     *
+     * @param options the options to run the query with
+     * @return the prepared query
+     * @since 2.3
+     */
+    default PreparedQuery<T> prepare(FindOptions options) {
+        throw new UnsupportedOperationException(Sofia.notAvailableInLegacy());
+    }
+
     /**
      * Limits the fields retrieved to those of the query type -- dangerous with interfaces and abstract classes
      *
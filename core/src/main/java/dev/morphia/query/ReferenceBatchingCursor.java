@@ -0,0 +1,123 @@
+package dev.morphia.query;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.ServerCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.lang.NonNull;
+import com.mongodb.lang.Nullable;
+import dev.morphia.Datastore;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.references.ReferenceBatch;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Decodes the results of a query a page at a time so that the eager references of every entity in the page can be fetched together.
+ * Pages hold up to the batch size of the query and are filled with {@link MongoCursor#tryNext()}, which does not wait on a tailable cursor
+ * for new results but does send a getMore once the documents already returned run out, so filling a page can take a round trip.
+ *
+ * @param <T> the entity type
+ * @morphia.internal
+ * @see ReferenceBatch
+ * @since 2.3
+ */
+final class ReferenceBatchingCursor<T> implements MongoCursor<T> {
+    private static final int DEFAULT_PAGE_SIZE = 101;
+
+    private final MongoCursor<RawBsonDocument> wrapped;
+    private final Datastore datastore;
+    private final EntityModel model;
+    private final Codec<T> codec;
+    private final int pageSize;
+    private final Deque<T> page = new ArrayDeque<>();
+
+    ReferenceBatchingCursor(Datastore datastore, EntityModel model, Codec<T> codec, FindOptions options,
+                            MongoCursor<RawBsonDocument> wrapped) {
+        this.datastore = datastore;
+        this.model = model;
+        this.codec = codec;
+        this.wrapped = wrapped;
+        pageSize = options.getBatchSize() > 0 ? options.getBatchSize() : DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * @param mapper  the mapper
+     * @param type    the queried type
+     * @param options the query options
+     * @return true if results of the query should be decoded a page at a time
+     */
+    static boolean appliesTo(Mapper mapper, Class<?> type, FindOptions options) {
+        return !options.isLazyDecoding() && mapper.isMappable(type) && ReferenceBatch.appliesTo(mapper.getEntityModel(type));
+    }
+
+    @Override
+    public void close() {
+        page.clear();
+        wrapped.close();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !page.isEmpty() || fill(true);
+    }
+
+    @Override
+    @NonNull
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.poll();
+    }
+
+    @Override
+    @Nullable
+    public T tryNext() {
+        if (page.isEmpty()) {
+            fill(false);
+        }
+        return page.poll();
+    }
+
+    @Override
+    @Nullable
+    public ServerCursor getServerCursor() {
+        return wrapped.getServerCursor();
+    }
+
+    @Override
+    @NonNull
+    public ServerAddress getServerAddress() {
+        return wrapped.getServerAddress();
+    }
+
+    private boolean fill(boolean block) {
+        RawBsonDocument first = block ? (wrapped.hasNext() ? wrapped.next() : null) : wrapped.tryNext();
+        if (first == null) {
+            return false;
+        }
+        List<RawBsonDocument> documents = new ArrayList<>();
+        documents.add(first);
+        RawBsonDocument next;
+        while (documents.size() < pageSize && (next = wrapped.tryNext()) != null) {
+            documents.add(next);
+        }
+
+        DecoderContext context = DecoderContext.builder().build();
+        ReferenceBatch.collect(datastore, model, documents).apply(() -> {
+            for (RawBsonDocument document : documents) {
+                page.add(codec.decode(document.asBsonReader(), context));
+            }
+            return null;
+        });
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package dev.morphia.query;
 
+import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.lang.Nullable;
 import dev.morphia.Datastore;
@@ -93,6 +94,16 @@ public abstract class UpdateBase<T> {
         return toDocument().toString();
     }
 
+    /**
+     * Discards any in memory copies of the entities this update may have changed.  Call once the update has completed.
+     *
+     * @param session the session the update was made with, if any
+     */
+    protected void invalidate(@Nullable ClientSession session) {
+        CachedEntities.invalidate(datastore, collection.getNamespace().getCollectionName(),
+            query instanceof MorphiaQuery ? ((MorphiaQuery<T>) query).getIdFilter() : null, session);
+    }
+
     protected MongoCollection<T> getCollection() {
         return collection;
     }
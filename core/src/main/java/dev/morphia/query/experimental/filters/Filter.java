@@ -6,6 +6,7 @@ import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.PropertyHandler;
 import dev.morphia.mapping.codec.pojo.PropertyModel;
 import dev.morphia.query.OperationTarget;
+import dev.morphia.query.Parameter;
 import org.bson.BsonWriter;
 import org.bson.Document;
 import org.bson.codecs.Codec;
@@ -134,7 +135,10 @@ public class Filter {
 
     @Nullable
     protected Object getValue(Mapper mapper) {
-        if (!mapped) {
+        if (!mapped && value instanceof Parameter) {
+            value = ((Parameter) value).target(pathTarget(mapper));
+            mapped = true;
+        } else if (!mapped) {
             PathTarget target = pathTarget(mapper);
             OperationTarget operationTarget = new OperationTarget(pathTarget, value);
             this.value = operationTarget.getValue();
@@ -167,7 +171,9 @@ public class Filter {
     protected void writeNamedValue(@Nullable String name, @Nullable Object named, Mapper mapper, BsonWriter writer,
                                    EncoderContext encoderContext) {
         writer.writeName(name);
-        if (named != null) {
+        if (named instanceof Parameter) {
+            ((Parameter) named).write(writer);
+        } else if (named != null) {
             Codec codec = mapper.getCodecRegistry().get(named.getClass());
             encoderContext.encodeWithChildContext(codec, writer, named);
         } else {
@@ -176,7 +182,9 @@ public class Filter {
     }
 
     protected void writeUnnamedValue(@Nullable Object value, Mapper mapper, BsonWriter writer, EncoderContext encoderContext) {
-        if (value != null) {
+        if (value instanceof Parameter) {
+            ((Parameter) value).write(writer);
+        } else if (value != null) {
             Codec codec = mapper.getCodecRegistry().get(value.getClass());
             encoderContext.encodeWithChildContext(codec, writer, value);
         } else {
@@ -0,0 +1,94 @@
+package dev.morphia.test;
+
+import com.mongodb.client.MongoCollection;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.TrackChanges;
+import dev.morphia.annotations.Version;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Updates.set;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertThrows;
+
+public class TestChangeTracking extends TestBase {
+    @Test
+    public void onlyChangesAreWritten() {
+        getMapper().map(Tracked.class);
+        Tracked tracked = new Tracked("first", 1);
+        getDs().save(tracked);
+        assertNotNull(getMapper().getSnapshots().get(tracked));
+
+        MongoCollection<Document> collection = getDocumentCollection(Tracked.class);
+        collection.updateOne(eq("_id", tracked.id), set("name", "changed elsewhere"));
+
+        tracked.count = 2;
+        tracked.note = null;
+        getDs().save(tracked);
+        Document document = collection.find().first();
+        assertEquals(document.get("name"), "changed elsewhere");
+        assertEquals(document.get("count"), 2);
+        assertFalse(document.containsKey("note"));
+
+        Tracked loaded = getDs().find(Tracked.class).first();
+        collection.updateOne(eq("_id", tracked.id), set("count", 10));
+        getDs().save(loaded);
+        assertEquals(collection.find().first().get("count"), 10);
+    }
+
+    @Test
+    public void versioned() {
+        getMapper().map(VersionedTracked.class);
+        VersionedTracked tracked = new VersionedTracked();
+        getDs().save(tracked);
+        assertEquals(tracked.version.longValue(), 1);
+
+        getDs().save(tracked);
+        assertEquals(tracked.version.longValue(), 1);
+
+        tracked.name = "second";
+        getDs().save(tracked);
+        assertEquals(tracked.version.longValue(), 2);
+        assertEquals(getDocumentCollection(VersionedTracked.class).find().first().get("version"), 2L);
+
+        VersionedTracked stale = getDs().find(VersionedTracked.class).first();
+        tracked.name = "third";
+        getDs().save(tracked);
+        stale.name = "fourth";
+        assertThrows(VersionMismatchException.class, () -> getDs().save(stale));
+    }
+
+    @Entity("tracked")
+    @TrackChanges
+    private static class Tracked {
+        @Id
+        private ObjectId id;
+        private String name;
+        private int count;
+        private String note = "note";
+
+        Tracked() {
+        }
+
+        Tracked(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    @Entity("versionedTracked")
+    @TrackChanges
+    private static class VersionedTracked {
+        @Id
+        private ObjectId id;
+        @Version
+        private Long version;
+        private String name = "first";
+    }
+}
@@ -0,0 +1,101 @@
+package dev.morphia.test;
+
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.experimental.Counters;
+import dev.morphia.query.ValidationException;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+public class TestCounters extends TestBase {
+    @Test
+    public void combines() throws InterruptedException {
+        getMapper().map(Page.class);
+        Page page = new Page();
+        getDs().save(page);
+
+        Counters counters = new Counters(getDs(), 1, TimeUnit.HOURS);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            long latency = i * 10;
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    counters.inc(Page.class, page.id, "views");
+                    counters.max(Page.class, page.id, "slowest", latency);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+            if (i == 1) {
+                counters.flush();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        counters.close();
+
+        Document document = getDocumentCollection(Page.class).find(eq("_id", page.id)).first();
+        assertEquals(((Number) document.get("views")).longValue(), 4000);
+        assertEquals(((Number) document.get("slowest")).longValue(), 30);
+        assertEquals(counters.getRecorded(), 8000);
+        assertEquals(counters.getAvoidedWrites(), 8000 - counters.getWritten());
+        assertThrows(IllegalStateException.class, () -> counters.inc(Page.class, page.id, "views"));
+    }
+
+    @Test
+    public void separatesConflictingOperations() {
+        getMapper().map(Page.class);
+        Page page = new Page();
+        getDs().save(page);
+
+        try (Counters counters = new Counters(getDs(), 1, TimeUnit.HOURS)) {
+            counters.inc(Page.class, page.id, "views", 5);
+            counters.min(Page.class, page.id, "views", 100);
+            counters.max(Page.class, page.id, "slowest", 20);
+            counters.flush();
+            assertEquals(counters.getWritten(), 2);
+        }
+
+        Document document = getDocumentCollection(Page.class).find(eq("_id", page.id)).first();
+        assertEquals(((Number) document.get("views")).longValue(), 5);
+        assertEquals(((Number) document.get("slowest")).longValue(), 20);
+    }
+
+    @Test
+    public void validatesFields() {
+        getMapper().map(Page.class);
+        Page page = new Page();
+        getDs().save(page);
+
+        try (Counters counters = new Counters(getDs(), 1, TimeUnit.HOURS)) {
+            assertThrows(ValidationException.class, () -> counters.inc(Page.class, page.id, "missing"));
+            counters.inc(Page.class, page.id, "views");
+            counters.inc(Page.class, page.id, "views");
+            assertEquals(counters.getAvoidedWrites(), 0);
+            counters.flush();
+            assertEquals(counters.getRecorded(), 2);
+            assertEquals(counters.getAvoidedWrites(), 1);
+        }
+
+        Document document = getDocumentCollection(Page.class).find(eq("_id", page.id)).first();
+        assertEquals(((Number) document.get("views")).longValue(), 2);
+    }
+
+    @Entity("pages")
+    private static class Page {
+        @Id
+        private ObjectId id;
+        private long views;
+        private long slowest;
+    }
+}
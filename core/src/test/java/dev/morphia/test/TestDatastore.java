@@ -5,6 +5,9 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.model.Collation;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
+import dev.morphia.BulkOptions;
+import dev.morphia.BulkResult;
+import dev.morphia.BulkResult.Status;
 import dev.morphia.Datastore;
 import dev.morphia.DeleteOptions;
 import dev.morphia.InsertManyOptions;
@@ -49,6 +52,7 @@ import static dev.morphia.query.experimental.updates.UpdateOperators.set;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertThrows;
@@ -70,6 +74,53 @@ public class TestDatastore extends TestBase {
         assertEquals(collection.countDocuments(), 5);
     }
 
+    @Test
+    public void testBulkOperations() {
+        getDs().save(asList(new FacebookUser(1, "John Doe"), new FacebookUser(2, "Jane Doe")));
+
+        BulkResult result = getDs().bulk()
+                                   .insert(new FacebookUser(3, "Jim Doe"))
+                                   .insert(new FacebookUser(1, "Duplicate"))
+                                   .save(new FacebookUser(2, "Jane Roe"))
+                                   .update(FacebookUser.class, eq("_id", 3L), inc("loginCount", 5))
+                                   .delete(FacebookUser.class, eq("username", "John Doe"))
+                                   .execute(new BulkOptions().ordered(false).batchSize(2));
+
+        assertFalse(result.isSuccessful());
+        assertEquals(result.getStatus(0), Status.WRITTEN);
+        assertEquals(result.getStatus(1), Status.FAILED);
+        assertEquals(result.getError(1).getCode(), 11000);
+        assertEquals(result.getStatus(2), Status.WRITTEN);
+        assertEquals(result.getStatus(3), Status.WRITTEN);
+        assertEquals(result.getStatus(4), Status.WRITTEN);
+        assertEquals(result.getInsertedCount(), 1);
+        assertEquals(result.getDeletedCount(), 1);
+
+        Query<FacebookUser> query = getDs().find(FacebookUser.class);
+        assertEquals(query.count(), 2);
+        assertEquals(getDs().find(FacebookUser.class).filter(eq("_id", 2L)).first().username, "Jane Roe");
+        assertEquals(getDs().find(FacebookUser.class).filter(eq("_id", 3L)).first().loginCount, 5);
+
+        result = getDs().bulk()
+                        .insert(new FacebookUser(2, "Duplicate"))
+                        .delete(FacebookUser.class, eq("_id", 3L))
+                        .execute();
+        assertEquals(result.getStatus(0), Status.FAILED);
+        assertEquals(result.getStatus(1), Status.NOT_ATTEMPTED);
+        assertEquals(query.count(), 2);
+
+        // ordered operations on one collection are not sent together when another collection's operations come between them
+        result = getDs().bulk()
+                        .insert(new Hotel())
+                        .insert(new FacebookUser(2, "Duplicate"))
+                        .insert(new Hotel())
+                        .execute();
+        assertEquals(result.getStatus(0), Status.WRITTEN);
+        assertEquals(result.getStatus(1), Status.FAILED);
+        assertEquals(result.getStatus(2), Status.NOT_ATTEMPTED);
+        assertEquals(getDs().find(Hotel.class).count(), 1);
+    }
+
     @Test
     public void testCappedEntity() {
         // given
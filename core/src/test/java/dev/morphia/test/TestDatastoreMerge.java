@@ -69,6 +69,23 @@ public class TestDatastoreMerge extends TestBase {
         Assert.assertEquals(te2.position, merge.position);
     }
 
+    @Test
+    public void testMergeWithoutReturn() {
+        final Merger te = new Merger();
+        te.name = "test1";
+        te.position = 1;
+        getDs().save(te);
+
+        final Merger te2 = new Merger();
+        te2.id = te.id;
+        te2.position = 5;
+        Assert.assertSame(getDs().merge(te2, new InsertOneOptions().returnEntity(false)), te2);
+
+        Merger stored = getDs().find(Merger.class).filter(eq("_id", te.id)).first();
+        Assert.assertEquals(stored.name, te.name);
+        Assert.assertEquals(stored.position, te2.position);
+    }
+
     @Test
     public void testMergeWithUnset() {
         final Merger te = new Merger();
@@ -0,0 +1,210 @@
+package dev.morphia.test;
+
+import dev.morphia.annotations.Cached;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Reference;
+import dev.morphia.cache.EntityCache;
+import dev.morphia.cache.OffHeapEntityCache;
+import dev.morphia.query.internal.MorphiaCursor;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static dev.morphia.query.experimental.filters.Filters.eq;
+import static dev.morphia.query.experimental.updates.UpdateOperators.set;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class TestEntityCache extends TestBase {
+    @Test
+    public void findById() {
+        getMapper().map(CachedEntity.class);
+        CachedEntity entity = new CachedEntity("first");
+        getDs().save(entity);
+
+        CachedEntity loaded = getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first();
+        assertNotNull(loaded);
+        CachedEntity cached = getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first();
+        assertNotSame(cached, loaded);
+        assertEquals(cached.name, "first");
+
+        // each hit decodes a new instance so changes to one are not seen by others
+        cached.name = "changed";
+        assertEquals(getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first().name, "first");
+
+        EntityCache cache = getMapper().getEntityCache("cached");
+        assertNotNull(cache);
+        assertEquals(cache.getStats().getHitCount(), 2);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void invalidation() {
+        getMapper().map(CachedEntity.class);
+        CachedEntity entity = new CachedEntity("first");
+        getDs().save(entity);
+        CachedEntity loaded = getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first();
+
+        getDs().find(CachedEntity.class).filter(eq("_id", entity.id))
+               .update(set("name", "second"))
+               .execute();
+        CachedEntity updated = getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first();
+        assertNotSame(updated, loaded);
+        assertEquals(updated.name, "second");
+
+        updated.name = "third";
+        getDs().save(updated);
+        assertEquals(getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first().name, "third");
+
+        getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).delete();
+        assertNull(getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first());
+    }
+
+    @Test
+    public void interleavedUpdate() {
+        getMapper().map(CachedEntity.class);
+        CachedEntity entity = new CachedEntity("first");
+        getDs().save(entity);
+
+        // the document is read before the update but only decoded, and offered to the cache, after it
+        try (MorphiaCursor<CachedEntity> cursor = getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).iterator()) {
+            getDs().find(CachedEntity.class).filter(eq("_id", entity.id))
+                   .update(set("name", "second"))
+                   .execute();
+            assertEquals(cursor.next().name, "first");
+        }
+
+        EntityCache cache = getMapper().getEntityCache("cached");
+        assertNotNull(cache);
+        assertNull(cache.get(entity.id));
+        assertEquals(getDs().find(CachedEntity.class).filter(eq("_id", entity.id)).first().name, "second");
+    }
+
+    @Test
+    public void offHeap() {
+        getMapper().map(OffHeapEntity.class);
+        OffHeapEntity entity = new OffHeapEntity("first");
+        getDs().save(entity);
+
+        OffHeapEntity loaded = getDs().find(OffHeapEntity.class).filter(eq("_id", entity.id)).first();
+        OffHeapEntity cached = getDs().find(OffHeapEntity.class).filter(eq("_id", entity.id)).first();
+        assertNotSame(cached, loaded);
+        assertEquals(cached.name, "first");
+
+        OffHeapEntityCache cache = (OffHeapEntityCache) getMapper().getEntityCache("offHeap");
+        assertNotNull(cache);
+        assertEquals(cache.getStats().getHitCount(), 1);
+        assertEquals(cache.getAllocatedBytes(), OffHeapEntityCache.PAGE_SIZE);
+
+        getDs().find(OffHeapEntity.class).filter(eq("_id", entity.id))
+               .update(set("name", "second"))
+               .execute();
+        assertEquals(cache.size(), 0);
+        assertEquals(getDs().find(OffHeapEntity.class).filter(eq("_id", entity.id)).first().name, "second");
+    }
+
+    @Test
+    public void offHeapOverflow() {
+        getMapper().map(OffHeapEntity.class);
+        OffHeapEntityCache cache = new OffHeapEntityCache(getMapper(), 2L * OffHeapEntityCache.PAGE_SIZE, 0, TimeUnit.SECONDS);
+        int[] lengths = {100, 20_000, 300_000};
+        for (int i = 0; i < 60; i++) {
+            // every size is cached even once the pages have all been taken by the sizes before it
+            ObjectId id = new ObjectId();
+            String name = "x".repeat(lengths[i / 20]);
+            cache.put(id, new OffHeapEntity(name), new RawBsonDocument(new Document("_id", id).append("name", name), new DocumentCodec()));
+            OffHeapEntity cached = (OffHeapEntity) cache.get(id);
+            assertNotNull(cached, "document " + i);
+            assertEquals(cached.name, name);
+        }
+        assertTrue(cache.getStats().getEvictionCount() > 0);
+        assertEquals(cache.getAllocatedBytes(), 2L * OffHeapEntityCache.PAGE_SIZE);
+
+        cache.invalidateAll();
+        assertEquals(cache.size(), 0);
+        ObjectId id = new ObjectId();
+        String name = "x".repeat(5_000);
+        cache.put(id, new OffHeapEntity(name), new RawBsonDocument(new Document("_id", id).append("name", name), new DocumentCodec()));
+        assertNotNull(cache.get(id));
+        assertEquals(cache.getAllocatedBytes(), 2L * OffHeapEntityCache.PAGE_SIZE);
+    }
+
+    @Test
+    public void referencesFillCache() {
+        getMapper().map(OffHeapEntity.class, OffHeapHolder.class);
+        OffHeapHolder holder = new OffHeapHolder();
+        holder.entities = List.of(new OffHeapEntity("first"), new OffHeapEntity("second"));
+        getDs().save(holder.entities);
+        getDs().save(holder);
+
+        OffHeapHolder loaded = getDs().find(OffHeapHolder.class).filter(eq("_id", holder.id)).first();
+        assertNotNull(loaded);
+        assertEquals(loaded.entities.size(), 2);
+
+        EntityCache cache = getMapper().getEntityCache("offHeap");
+        assertNotNull(cache);
+        assertEquals(cache.size(), 2);
+        OffHeapEntity cached = (OffHeapEntity) cache.get(holder.entities.get(1).id);
+        assertNotNull(cached);
+        assertEquals(cached.name, "second");
+    }
+
+    @Test
+    public void uncached() {
+        getMapper().map(UncachedEntity.class);
+        assertNull(getMapper().getEntityCache("uncached"));
+    }
+
+    @Entity("cached")
+    @Cached(maxSize = 100)
+    private static class CachedEntity {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        CachedEntity() {
+        }
+
+        CachedEntity(String name) {
+            this.name = name;
+        }
+    }
+
+    @Entity("offHeap")
+    @Cached(offHeapBytes = 4 * OffHeapEntityCache.PAGE_SIZE)
+    private static class OffHeapEntity {
+        @Id
+        private ObjectId id;
+        private String name;
+
+        OffHeapEntity() {
+        }
+
+        OffHeapEntity(String name) {
+            this.name = name;
+        }
+    }
+
+    @Entity("offHeapHolders")
+    private static class OffHeapHolder {
+        @Id
+        private ObjectId id;
+        @Reference
+        private List<OffHeapEntity> entities;
+    }
+
+    @Entity("uncached")
+    private static class UncachedEntity {
+        @Id
+        private ObjectId id;
+    }
+}
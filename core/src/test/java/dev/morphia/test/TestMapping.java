@@ -49,10 +49,16 @@ import dev.morphia.test.models.versioned.subversioned.VersionedToo;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Ignore;
 import org.testng.annotations.Test;
 
+import javax.tools.ToolProvider;
 import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -85,6 +91,26 @@ public class TestMapping extends TestBase {
         assertEquals(list.get(1).getCollectionName(), "banned");
     }
 
+    @Test
+    public void collectionLookups() {
+        Mapper mapper = getMapper();
+        mapper.map(BlogImage.class);
+        List<EntityModel> before = mapper.getClassesMappedToCollection("blogImages");
+        assertEquals(before, List.of(mapper.getEntityModel(BlogImage.class)));
+        assertEquals(mapper.getClassFromCollection("blogImages"), BlogImage.class);
+
+        mapper.map(Png.class, Jpg.class);
+        mapper.map(Png.class);
+        List<EntityModel> after = mapper.getClassesMappedToCollection("blogImages");
+        assertEquals(after.stream().map(EntityModel::getType).collect(Collectors.toSet()), Set.of(BlogImage.class, Png.class, Jpg.class));
+        assertEquals(after.size(), 3);
+        assertEquals(mapper.getClassFromCollection("blogImages"), BlogImage.class);
+
+        assertEquals(before.size(), 1, "Earlier lookups should not see later mappings");
+        assertThrows(UnsupportedOperationException.class, () -> after.add(mapper.getEntityModel(User.class)));
+        assertThrows(MappingException.class, () -> mapper.getClassesMappedToCollection("unmapped"));
+    }
+
     @Test
     public void collectionNaming() {
         MapperOptions options = MapperOptions.builder()
@@ -134,6 +160,35 @@ public class TestMapping extends TestBase {
         verify(NamingStrategy.snakeCase(), "embedded_values", "int_list");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void records() throws Exception {
+        if (Runtime.version().feature() < 16) {
+            throw new SkipException("Records require Java 16 or later");
+        }
+        Path output = Files.createTempDirectory("morphia-records");
+        Path source = output.resolve("Point.java");
+        Files.writeString(source, "package dev.morphia.test.records;\n"
+                                  + "import dev.morphia.annotations.*;\n"
+                                  + "import java.util.List;\n"
+                                  + "import org.bson.types.ObjectId;\n"
+                                  + "@Entity(\"points\")\n"
+                                  + "public record Point(@Id ObjectId id, String name, int x, List<String> tags) { }\n");
+        int result = ToolProvider.getSystemJavaCompiler().run(null, null, null, "-classpath", System.getProperty("java.class.path"),
+            "-d", output.toString(), source.toString());
+        assertEquals(result, 0, "The record should compile");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<Object> type = (Class<Object>) loader.loadClass("dev.morphia.test.records.Point");
+            getMapper().map(type);
+            Object point = type.getDeclaredConstructors()[0].newInstance(new ObjectId(), "origin", 3, List.of("north", "east"));
+
+            getDs().save(point);
+
+            assertEquals(getDs().find(type).first(), point);
+        }
+    }
+
     @Test
     public void shouldOnlyMapEntitiesInTheGivenPackage() {
         withOptions(MapperOptions.builder(getMapper().getOptions())
@@ -2,6 +2,8 @@ package dev.morphia.test;
 
 import com.mongodb.TransactionOptions;
 import dev.morphia.experimental.MorphiaSession;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.internal.MorphiaCursor;
 import dev.morphia.test.models.Rectangle;
 import dev.morphia.test.models.User;
 import org.testng.annotations.BeforeMethod;
@@ -12,10 +14,13 @@ import java.util.List;
 
 import static com.mongodb.ClientSessionOptions.builder;
 import static com.mongodb.WriteConcern.MAJORITY;
+import static dev.morphia.query.experimental.filters.Filters.eq;
 import static dev.morphia.query.experimental.updates.UpdateOperators.inc;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 
 //@Tags(@Tag("transactions"))
 public class TestTransactions extends TestBase {
@@ -53,6 +58,41 @@ public class TestTransactions extends TestBase {
         assertNull(getDs().find(Rectangle.class).first());
     }
 
+    @Test
+    public void identityMap() {
+        Rectangle rectangle = new Rectangle(1, 1);
+        getDs().save(rectangle);
+
+        try (MorphiaSession session = getDs().startSession().identityMap(true)) {
+            Rectangle loaded = session.find(Rectangle.class).first();
+            assertNotNull(loaded);
+            assertNotSame(loaded, rectangle);
+            assertSame(session.find(Rectangle.class).filter(eq("_id", rectangle.getId())).first(), loaded);
+            assertSame(session.find(Rectangle.class).iterator().toList().get(0), loaded);
+            try (MorphiaCursor<Rectangle> cursor = session.find(Rectangle.class).filter(eq("_id", rectangle.getId())).iterator()) {
+                assertNotNull(cursor.getServerAddress());
+                assertSame(cursor.next(), loaded);
+            }
+            Rectangle projected = session.find(Rectangle.class).filter(eq("_id", rectangle.getId()))
+                                         .first(new FindOptions().projection().include("width"));
+            assertNotSame(projected, loaded);
+            assertEquals(projected.getWidth(), 1, 0.5);
+            assertEquals(projected.getHeight(), 0, 0.5);
+
+            getDs().find(Rectangle.class).update(inc("width", 10)).execute();
+            assertEquals(session.find(Rectangle.class).filter(eq("_id", rectangle.getId())).first().getWidth(), 1, 0.5);
+
+            session.find(Rectangle.class).update(inc("width", 10)).execute();
+            Rectangle updated = session.find(Rectangle.class).filter(eq("_id", rectangle.getId())).first();
+            assertNotSame(updated, loaded);
+            assertEquals(updated.getWidth(), 21, 0.5);
+
+            session.delete(updated);
+            assertNull(session.find(Rectangle.class).filter(eq("_id", rectangle.getId())).first());
+            assertEquals(session.getIdentityMap().size(), 0);
+        }
+    }
+
     @Test
     public void insert() {
         Rectangle rectangle = new Rectangle(1, 1);
@@ -4,6 +4,7 @@ import com.mongodb.client.model.ReturnDocument;
 import com.mongodb.client.result.UpdateResult;
 import dev.morphia.Datastore;
 import dev.morphia.DeleteOptions;
+import dev.morphia.InsertManyOptions;
 import dev.morphia.ModifyOptions;
 import dev.morphia.Morphia;
 import dev.morphia.UpdateOptions;
@@ -44,6 +45,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
 
 public class TestVersioning extends TestBase {
     @Test
@@ -272,6 +274,25 @@ public class TestVersioning extends TestBase {
         assertThrows(VersionMismatchException.class, () -> getDs().save(initial));
     }
 
+    @Test
+    public void testMultiSaveMismatches() {
+        getMapper().map(List.of(VersionedType.class));
+        List<VersionedType> entities = List.of(new VersionedType(), new VersionedType(), new VersionedType());
+        getDs().save(entities);
+
+        VersionedType stale = getDs().find(VersionedType.class).filter(eq("_id", entities.get(1).id)).first();
+        getDs().save(stale);
+
+        VersionMismatchException exception = expectThrows(VersionMismatchException.class,
+            () -> getDs().save(entities, new InsertManyOptions().ordered(false)));
+        assertTrue(exception.getMessage().contains(entities.get(1).id.toString()));
+
+        assertEquals(entities.get(0).version, 2);
+        assertEquals(entities.get(1).version, 1);
+        assertEquals(entities.get(2).version, 2);
+        assertEquals(getDs().find(VersionedType.class).filter(eq("_id", entities.get(2).id)).first().version, 2);
+    }
+
     @Test
     public void testPrimitive() {
         getMapper().map(Primitive.class);
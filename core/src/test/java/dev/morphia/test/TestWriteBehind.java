@@ -0,0 +1,108 @@
+package dev.morphia.test;
+
+import dev.morphia.VersionMismatchException;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Version;
+import dev.morphia.experimental.WriteBehind;
+import dev.morphia.experimental.WriteBehindOptions;
+import dev.morphia.mapping.MappingException;
+import org.bson.types.ObjectId;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static dev.morphia.query.experimental.filters.Filters.eq;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestWriteBehind extends TestBase {
+    @Test
+    public void coalesces() {
+        getMapper().map(Presence.class);
+        List<Throwable> failures = new ArrayList<>();
+        WriteBehind writeBehind = new WriteBehind(getDs(), new WriteBehindOptions()
+                                                               .window(1, TimeUnit.HOURS)
+                                                               .failureHandler((entity, cause) -> failures.add(cause)));
+
+        Presence presence = new Presence();
+        for (int i = 0; i < 10; i++) {
+            presence.status = "status " + i;
+            writeBehind.save(presence);
+        }
+        assertNotNull(presence.id);
+        assertEquals(writeBehind.pending(), 1);
+        assertEquals(getDs().find(Presence.class).count(), 0);
+
+        writeBehind.flush();
+        assertEquals(writeBehind.pending(), 0);
+        assertEquals(presence.version.longValue(), 1);
+        Presence loaded = getDs().find(Presence.class).filter(eq("_id", presence.id)).first();
+        assertEquals(loaded.status, "status 9");
+
+        presence.status = "away";
+        writeBehind.save(presence);
+        writeBehind.merge(presence);
+        writeBehind.flush();
+        assertEquals(presence.version.longValue(), 2);
+
+        loaded.status = "stale";
+        writeBehind.save(loaded);
+        writeBehind.flush();
+        assertEquals(failures.size(), 1);
+        assertTrue(failures.get(0) instanceof VersionMismatchException);
+        assertEquals(loaded.version.longValue(), 1);
+
+        presence.status = "offline";
+        writeBehind.save(presence);
+        writeBehind.close();
+        assertEquals(getDs().find(Presence.class).first().status, "offline");
+        assertThrows(IllegalStateException.class, () -> writeBehind.save(presence));
+    }
+
+    @Test
+    public void flushesWhenFull() throws InterruptedException {
+        getMapper().map(Presence.class);
+        try (WriteBehind writeBehind = new WriteBehind(getDs(), new WriteBehindOptions()
+                                                                    .window(1, TimeUnit.HOURS)
+                                                                    .maxSize(5))) {
+            for (int i = 0; i < 5; i++) {
+                writeBehind.save(new Presence());
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (getDs().find(Presence.class).count() < 5 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(getDs().find(Presence.class).count(), 5);
+        }
+    }
+
+    @Test
+    public void requiresIds() {
+        getMapper().map(Tag.class);
+        try (WriteBehind writeBehind = new WriteBehind(getDs(), new WriteBehindOptions().window(1, TimeUnit.HOURS))) {
+            assertThrows(MappingException.class, () -> writeBehind.save(new Tag()));
+            assertThrows(MappingException.class, () -> writeBehind.merge(new Tag()));
+            assertEquals(writeBehind.pending(), 0);
+        }
+    }
+
+    @Entity("presence")
+    private static class Presence {
+        @Id
+        private ObjectId id;
+        @Version
+        private Long version;
+        private String status = "online";
+    }
+
+    @Entity("tags")
+    private static class Tag {
+        @Id
+        private String name;
+    }
+}
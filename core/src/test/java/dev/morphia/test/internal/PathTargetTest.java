@@ -22,6 +22,7 @@ import dev.morphia.annotations.Property;
 import dev.morphia.internal.PathTarget;
 import dev.morphia.mapping.Mapper;
 import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.query.ValidationException;
 import dev.morphia.test.TestBase;
 import dev.morphia.test.models.City;
 import dev.morphia.test.models.CityPopulation;
@@ -59,6 +60,33 @@ public class PathTargetTest extends TestBase {
         Assert.assertEquals(new PathTarget(mapper, entityModel, "listEmbeddedType.1").translatedPath(), "listEmbeddedType.1");
     }
 
+    @Test
+    public void cached() {
+        getMapper().map(State.class, CityPopulation.class);
+        Mapper mapper = getMapper();
+        EntityModel entityModel = mapper.getEntityModel(State.class);
+        int size = mapper.getPathCache().size();
+
+        Assert.assertEquals(new PathTarget(mapper, entityModel, "biggestCity.population").translatedPath(), "biggestCity.pop");
+        Assert.assertEquals(mapper.getPathCache().size(), size + 1);
+        PathTarget pathTarget = new PathTarget(mapper, entityModel, "biggestCity.population");
+        Assert.assertEquals(pathTarget.translatedPath(), "biggestCity.pop");
+        Assert.assertEquals(mapper.getEntityModel(CityPopulation.class).getProperty("population"), pathTarget.getTarget());
+        Assert.assertEquals(mapper.getPathCache().size(), size + 1);
+
+        new PathTarget(mapper, entityModel, "biggestCity.population", false).translatedPath();
+        Assert.assertEquals(mapper.getPathCache().size(), size + 2);
+
+        for (int i = 0; i < 2; i++) {
+            Assert.assertThrows(ValidationException.class,
+                () -> new PathTarget(mapper, entityModel, "biggestCity.missing").translatedPath());
+        }
+        Assert.assertEquals(mapper.getPathCache().size(), size + 2);
+
+        mapper.map(Grade.class);
+        Assert.assertEquals(mapper.getPathCache().size(), 0);
+    }
+
     @Test
     public void disableValidation() {
         getMapper().map(FatherEntity.class);
@@ -98,6 +98,27 @@ public class TestLifecycles extends TestBase {
 
     }
 
+    @Test
+    public void testLoadDocumentOnlyWhenRequested() {
+        getMapper().map(HoldsLoadedDocument.class);
+        HoldsLoadedDocument entity = new HoldsLoadedDocument();
+        entity.name = "loaded";
+        getDs().save(entity);
+
+        HoldsLoadedDocument loaded = getDs().find(HoldsLoadedDocument.class).first();
+        Assert.assertNotNull(loaded);
+        Assert.assertEquals(loaded.name, "loaded");
+        Assert.assertTrue(loaded.preLoad);
+        Assert.assertNotNull(loaded.postLoadDocument);
+        Assert.assertEquals(loaded.postLoadDocument.getString("name"), "loaded");
+
+        PostLoadDocumentInterceptor interceptor = new PostLoadDocumentInterceptor();
+        getMapper().addInterceptor(interceptor);
+        Assert.assertNotNull(getDs().find(HoldsLoadedDocument.class).first());
+        Assert.assertNotNull(interceptor.document);
+        Assert.assertEquals(interceptor.document.getString("name"), "loaded");
+    }
+
     @Test
     public void testMultipleCallbackAnnotation() {
         final SomeEntity entity = new SomeEntity();
@@ -110,6 +131,34 @@ public class TestLifecycles extends TestBase {
         Assert.assertTrue(reloaded.isPersistent());
     }
 
+    @Test
+    public void testPersistDocumentOnlyWhenRequested() {
+        HoldsPersistedDocument entity = new HoldsPersistedDocument();
+        entity.name = "persisted";
+        getDs().save(entity);
+
+        Assert.assertTrue(entity.prePersist);
+        Assert.assertNotNull(entity.postPersistDocument);
+        Assert.assertEquals(entity.postPersistDocument.getString("name"), "persisted");
+        Assert.assertEquals(entity.postPersistDocument.get("_id"), entity.id);
+
+        HoldsPersistedDocument loaded = getDs().find(HoldsPersistedDocument.class).first();
+        Assert.assertNotNull(loaded);
+        Assert.assertEquals(loaded.name, "persisted");
+    }
+
+    @Test
+    public void testPostPersistDocumentChangesAreWritten() {
+        HoldsPersistedDocument entity = new HoldsPersistedDocument();
+        entity.name = "audited";
+        getDs().save(entity);
+
+        Document stored = getDocumentCollection(HoldsPersistedDocument.class).find(new Document("_id", entity.id)).first();
+        Assert.assertNotNull(stored);
+        Assert.assertEquals(stored.getString("name"), "audited");
+        Assert.assertEquals(stored.getBoolean("audited"), Boolean.TRUE);
+    }
+
     @Test
     public void testWithGeoJson() {
         final Polygon polygon = new Polygon(
@@ -168,6 +217,49 @@ public class TestLifecycles extends TestBase {
         }
     }
 
+    @Entity
+    private static class HoldsLoadedDocument {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Transient
+        private boolean preLoad;
+        @Transient
+        private Document postLoadDocument;
+
+        @PreLoad
+        void preLoad() {
+            preLoad = true;
+        }
+
+        @PostLoad
+        void postLoad(Document document) {
+            postLoadDocument = document;
+        }
+    }
+
+    @Entity
+    private static class HoldsPersistedDocument {
+        @Id
+        private ObjectId id;
+        private String name;
+        @Transient
+        private boolean prePersist;
+        @Transient
+        private Document postPersistDocument;
+
+        @PrePersist
+        void prePersist() {
+            prePersist = true;
+        }
+
+        @PostPersist
+        void postPersist(Document document) {
+            postPersistDocument = document;
+            document.put("audited", true);
+        }
+    }
+
     @Entity(value = "polygon", useDiscriminator = false)
     private static class HoldsPolygon {
         private static boolean lifecycle = false;
@@ -239,6 +331,17 @@ public class TestLifecycles extends TestBase {
         }
     }
 
+    private static class PostLoadDocumentInterceptor implements EntityInterceptor {
+        private Document document;
+
+        @Override
+        public void postLoad(Object ent, Document document, Mapper mapper) {
+            if (ent instanceof HoldsLoadedDocument) {
+                this.document = document;
+            }
+        }
+    }
+
     @Entity
     private static class SomeEntity {
         @Id
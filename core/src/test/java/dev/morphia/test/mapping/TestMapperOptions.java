@@ -8,7 +8,10 @@ import dev.morphia.annotations.Id;
 import dev.morphia.mapping.DiscriminatorFunction;
 import dev.morphia.mapping.MapperOptions;
 import dev.morphia.mapping.MapperOptions.Builder;
+import dev.morphia.mapping.MapperOptions.PropertyAccess;
 import dev.morphia.mapping.NamingStrategy;
+import dev.morphia.mapping.codec.ArrayFieldAccessor;
+import dev.morphia.mapping.codec.MethodHandleAccessor;
 import dev.morphia.mapping.codec.pojo.EntityModel;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.Query;
@@ -176,6 +179,37 @@ public class TestMapperOptions extends TestBase {
         assertEquals(entityModel.getDiscriminator(), HasMap.class.getSimpleName().toLowerCase());
     }
 
+    @Test
+    public void methodHandleAccess() {
+        Datastore datastore = Morphia.createDatastore(getMongoClient(), getDatabase().getName(),
+            MapperOptions.builder()
+                         .propertyAccess(PropertyAccess.METHOD_HANDLES)
+                         .build());
+        EntityModel model = datastore.getMapper().map(HasPrimitives.class).get(0);
+        for (String property : List.of("id", "count", "ratio", "flag", "name")) {
+            assertTrue(model.getProperty(property).getAccessor() instanceof MethodHandleAccessor, property);
+        }
+        assertTrue(model.getProperty("values").getAccessor() instanceof ArrayFieldAccessor);
+
+        HasPrimitives entity = new HasPrimitives();
+        entity.count = 42;
+        entity.ratio = 0.5;
+        entity.flag = true;
+        entity.name = "handles";
+        entity.values = new long[]{1, 2, 3};
+        entity.nested = new int[][]{{1}, {2, 3}};
+        datastore.save(entity);
+
+        HasPrimitives loaded = datastore.find(HasPrimitives.class).first();
+        assertEquals(loaded.id, entity.id);
+        assertEquals(loaded.count, 42);
+        assertEquals(loaded.ratio, 0.5);
+        assertTrue(loaded.flag);
+        assertEquals(loaded.name, "handles");
+        assertEquals(loaded.values, new long[]{1, 2, 3});
+        assertEquals(loaded.nested, new int[][]{{1}, {2, 3}});
+    }
+
     @Test
     public void lowercaseDefaultCollection() {
         DummyEntity entity = new DummyEntity();
@@ -316,6 +350,18 @@ public class TestMapperOptions extends TestBase {
         }
     }
 
+    @Entity
+    private static class HasPrimitives {
+        @Id
+        private final ObjectId id = new ObjectId();
+        private int count;
+        private double ratio;
+        private boolean flag;
+        private String name;
+        private long[] values;
+        private int[][] nested;
+    }
+
     @Entity
     private static class DummyEntity {
         @Id
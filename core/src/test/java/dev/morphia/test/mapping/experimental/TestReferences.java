@@ -1,7 +1,16 @@
 package dev.morphia.test.mapping.experimental;
 
 import com.mongodb.DBRef;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
 import dev.morphia.Datastore;
 import dev.morphia.Key;
 import dev.morphia.aggregation.experimental.Aggregation;
@@ -13,6 +22,7 @@ import dev.morphia.annotations.Property;
 import dev.morphia.annotations.Reference;
 import dev.morphia.mapping.MapperOptions;
 import dev.morphia.mapping.MapperOptions.PropertyDiscovery;
+import dev.morphia.mapping.codec.references.ReferenceBatch;
 import dev.morphia.mapping.experimental.MorphiaReference;
 import dev.morphia.mapping.lazy.proxy.ReferenceException;
 import dev.morphia.query.FindOptions;
@@ -23,6 +33,7 @@ import dev.morphia.test.models.FacebookUser;
 import dev.morphia.test.models.TestEntity;
 import dev.morphia.test.models.methods.MethodMappedFriend;
 import dev.morphia.test.models.methods.MethodMappedUser;
+import org.bson.BsonString;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.testng.annotations.Ignore;
@@ -38,7 +49,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static dev.morphia.Morphia.createDatastore;
 import static dev.morphia.aggregation.experimental.stages.Lookup.lookup;
@@ -187,6 +201,77 @@ public class TestReferences extends ProxyTestBase {
 
     }
 
+    @Test
+    public void testBatchedReferences() {
+        List<Source> sources = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Target target = new Target();
+            target.setFoo("target " + i);
+            getDs().save(target);
+            Source source = new Source();
+            source.setTarget(target);
+            sources.add(source);
+        }
+        getDs().save(sources);
+
+        final Ref ref1 = new Ref("batched 1");
+        final Ref ref2 = new Ref("batched 2");
+        getDs().save(asList(ref1, ref2));
+        Sets sets = new Sets();
+        sets.refs = new HashSet<>(asList(ref1, ref2));
+        getDs().save(sets);
+
+        List<String> targetQueries = new CopyOnWriteArrayList<>();
+        List<Source> loaded = countFinds(Target.class, targetQueries,
+            datastore -> datastore.find(Source.class).iterator(new FindOptions().batchSize(2)).toList(), Source.class);
+        // one $in query per page of two sources rather than one query per reference
+        assertEquals(targetQueries.size(), 3, targetQueries.toString());
+        assertEquals(loaded.size(), sources.size());
+        for (Source source : loaded) {
+            Source original = sources.stream()
+                                     .filter(s -> s.id.equals(source.id))
+                                     .findFirst()
+                                     .orElseThrow();
+            assertEquals(source.getTarget().getId(), original.getTarget().getId());
+            assertEquals(source.getTarget().getFoo(), original.getTarget().getFoo());
+        }
+        assertNull(ReferenceBatch.current());
+
+        Sets loadedSets = getDs().find(Sets.class).first();
+        assertNotNull(loadedSets);
+        assertEquals(loadedSets.refs, sets.refs);
+    }
+
+    @Test
+    public void testBatchedSubtypeReferences() {
+        getMapper().map(Holder.class, TargetHolder.class);
+        List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Target target = new Target();
+            target.setFoo("held " + i);
+            targets.add(target);
+            TargetHolder holder = new TargetHolder();
+            holder.target = target;
+            getDs().save(holder);
+        }
+        getDs().save(targets);
+        getDs().save(new Holder());
+
+        // only the subtype has references so the discriminator of each document decides which of them to collect
+        List<String> targetQueries = new CopyOnWriteArrayList<>();
+        List<Holder> loaded = countFinds(Target.class, targetQueries,
+            datastore -> datastore.find(Holder.class).iterator(new FindOptions().batchSize(5)).toList(),
+            Holder.class, TargetHolder.class);
+        assertEquals(targetQueries.size(), 1, targetQueries.toString());
+        assertEquals(loaded.size(), 5);
+        List<String> foos = loaded.stream()
+                                  .filter(holder -> holder instanceof TargetHolder)
+                                  .map(holder -> ((TargetHolder) holder).target.getFoo())
+                                  .sorted()
+                                  .collect(Collectors.toList());
+        assertEquals(foos, of("held 0", "held 1", "held 2", "held 3"));
+    }
+
     @Test
     public void testComplexIds() {
         ComplexParent parent = new ComplexParent();
@@ -508,6 +593,46 @@ public class TestReferences extends ProxyTestBase {
         assertNotFetched(root.secondReference);
     }
 
+    /**
+     * Runs a load through a datastore whose client records the find commands sent to the collection of a type
+     */
+    private <T> T countFinds(Class<?> type, List<String> finds, Function<Datastore, T> load, Class<?>... mapped) {
+        String collection = getMapper().getEntityModel(type).getCollectionName();
+        List<ServerAddress> hosts = getMongoClient().getClusterDescription().getServerDescriptions().stream()
+                                                    .map(ServerDescription::getAddress)
+                                                    .collect(Collectors.toList());
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandFailed(CommandFailedEvent event) {
+                // only started commands are counted
+            }
+
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (event.getCommandName().equals("find") && new BsonString(collection).equals(event.getCommand().get("find"))) {
+                    finds.add(event.getCommand().toJson());
+                }
+            }
+
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                // only started commands are counted
+            }
+        };
+        MongoClientSettings settings = MongoClientSettings.builder()
+                                                          .applyToClusterSettings(builder -> builder.hosts(hosts))
+                                                          .addCommandListener(listener)
+                                                          .build();
+        try (MongoClient client = MongoClients.create(settings)) {
+            Datastore listened = createDatastore(client, TEST_DB_NAME, MapperOptions.builder()
+                                                                                     .enablePolymorphicQueries(true)
+                                                                                     .build());
+            listened.getMapper().map(type);
+            listened.getMapper().map(mapped);
+            return load.apply(listened);
+        }
+    }
+
     private void testFirstDatastore(Datastore datastore) {
         final FacebookUser user = datastore.find(FacebookUser.class).filter(eq("id", 1)).first();
         assertNotNull(user);
@@ -1071,6 +1196,18 @@ public class TestReferences extends ProxyTestBase {
         private Set<Ref> refs;
     }
 
+    @Entity("holders")
+    private static class Holder {
+        @Id
+        private ObjectId id;
+    }
+
+    @Entity("holders")
+    private static class TargetHolder extends Holder {
+        @Reference
+        private Target target;
+    }
+
     @Entity
     static class Source {
         @Id
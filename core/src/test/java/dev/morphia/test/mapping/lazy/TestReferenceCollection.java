@@ -2,6 +2,7 @@ package dev.morphia.test.mapping.lazy;
 
 
 import dev.morphia.annotations.Reference;
+import dev.morphia.mapping.codec.references.ReferenceCodec;
 import dev.morphia.test.mapping.ProxyTestBase;
 import dev.morphia.test.models.TestEntity;
 import org.testng.Assert;
@@ -57,6 +58,32 @@ public class TestReferenceCollection extends ProxyTestBase {
 
     }
 
+    @Test
+    public void testProxyClassesAreReused() {
+        checkForProxyTypes();
+
+        final Endpoint endpoint = new Endpoint();
+        endpoint.setFoo("reused");
+        getDs().save(endpoint);
+        for (int i = 0; i < 3; i++) {
+            final Origin origin = new Origin();
+            origin.lazyList.add(endpoint);
+            getDs().save(origin);
+        }
+
+        List<Origin> origins = getDs().find(Origin.class).iterator().toList();
+        int proxyClasses = ReferenceCodec.getProxyClassCount();
+        origins.addAll(getDs().find(Origin.class).iterator().toList());
+
+        Assert.assertEquals(ReferenceCodec.getProxyClassCount(), proxyClasses);
+        Assert.assertEquals(origins.size(), 6);
+        for (Origin origin : origins) {
+            assertIsProxy(origin.lazyList);
+            Assert.assertEquals(origin.lazyList.getClass(), origins.get(0).lazyList.getClass());
+            Assert.assertEquals(origin.lazyList.get(0).foo, "reused");
+        }
+    }
+
     public static class Origin extends TestEntity {
         @Reference
         private final List<Endpoint> list = new ArrayList<Endpoint>();
@@ -3,7 +3,12 @@ package dev.morphia.test.mapping.primitives;
 
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Packed;
 import dev.morphia.test.TestBase;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonSerializationException;
+import org.bson.Document;
+import org.bson.types.Binary;
 import org.bson.types.ObjectId;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -48,6 +53,52 @@ public class DoubleMappingTest extends TestBase {
         Assert.assertEquals(loaded.nestedWrapperArray, ent.nestedWrapperArray);
     }
 
+    @Test
+    public void testPacked() {
+        getMapper().map(PackedValues.class);
+        final PackedValues ent = new PackedValues();
+        ent.doubles = new double[]{1.5, -2.25, Double.MAX_VALUE};
+        ent.ints = new int[]{1, -1, Integer.MIN_VALUE};
+        getDs().save(ent);
+
+        Document document = getDatabase().getCollection("packed").find().first();
+        Assert.assertTrue(document.get("doubles") instanceof Binary);
+        Assert.assertEquals(((Binary) document.get("doubles")).length(), ent.doubles.length * Double.BYTES);
+        Assert.assertTrue(document.get("ints") instanceof Binary);
+
+        final PackedValues loaded = getDs().find(PackedValues.class)
+                                           .filter(eq("_id", ent.id))
+                                           .first();
+        Assert.assertEquals(loaded.doubles, ent.doubles);
+        Assert.assertEquals(loaded.ints, ent.ints);
+
+        Assert.assertNotNull(getDs().find(PackedValues.class)
+                                    .filter(eq("ints", ent.ints))
+                                    .first());
+
+        getDatabase().getCollection("packed").insertOne(new Document("ints", Arrays.asList(4, 5, 6)));
+        Assert.assertEquals(getDs().find(PackedValues.class)
+                                   .filter(eq("ints", Arrays.asList(4, 5, 6)))
+                                   .first().ints, new int[]{4, 5, 6});
+    }
+
+    @Test
+    public void testPackedValidation() {
+        getMapper().map(PackedValues.class);
+        ObjectId truncated = new ObjectId();
+        ObjectId generic = new ObjectId();
+        getDatabase().getCollection("packed").insertMany(List.of(
+            new Document("_id", truncated).append("ints", new Binary(BsonBinarySubType.USER_DEFINED, new byte[5])),
+            new Document("_id", generic).append("ints", new Binary(BsonBinarySubType.BINARY, new byte[8]))));
+
+        Assert.assertThrows(BsonSerializationException.class, () -> getDs().find(PackedValues.class)
+                                                                           .filter(eq("_id", truncated))
+                                                                           .first());
+        Assert.assertThrows(BsonSerializationException.class, () -> getDs().find(PackedValues.class)
+                                                                           .filter(eq("_id", generic))
+                                                                           .first());
+    }
+
     @Entity
     private static class Doubles {
         private final List<Double[]> listWrapperArray = new ArrayList<>();
@@ -62,4 +113,14 @@ public class DoubleMappingTest extends TestBase {
         private double[][] nestedPrimitiveArray;
         private Double[][] nestedWrapperArray;
     }
+
+    @Entity("packed")
+    private static class PackedValues {
+        @Id
+        private ObjectId id;
+        @Packed
+        private double[] doubles;
+        @Packed
+        private int[] ints;
+    }
 }
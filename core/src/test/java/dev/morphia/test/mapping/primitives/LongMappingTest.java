@@ -3,6 +3,9 @@ package dev.morphia.test.mapping.primitives;
 
 import dev.morphia.annotations.Entity;
 import dev.morphia.annotations.Id;
+import dev.morphia.mapping.MapperOptions;
+import dev.morphia.mapping.codec.collections.LongList;
+import dev.morphia.mapping.codec.collections.StringLongMap;
 import dev.morphia.test.TestBase;
 import org.bson.types.ObjectId;
 import org.testng.Assert;
@@ -10,7 +13,9 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static dev.morphia.query.experimental.filters.Filters.eq;
 
@@ -48,6 +53,46 @@ public class LongMappingTest extends TestBase {
         Assert.assertEquals(loaded.nestedWrapperArray, ent.nestedWrapperArray);
     }
 
+    @Test
+    public void testPrimitiveCollections() {
+        withOptions(MapperOptions.builder().primitiveCollections(true).build(), () -> {
+            getMapper().map(LongCollections.class);
+            LongCollections ent = new LongCollections();
+            ent.list = new ArrayList<>(List.of(4L, 8L, 15L, 16L, 23L, 42L));
+            ent.map = new LinkedHashMap<>(Map.of("first", 1L));
+            ent.withNulls = new ArrayList<>(Arrays.asList(1L, null, 3L));
+            getDs().save(ent);
+
+            LongCollections loaded = getDs().find(LongCollections.class)
+                                            .filter(eq("_id", ent.id))
+                                            .first();
+            Assert.assertTrue(loaded.list instanceof LongList);
+            Assert.assertEquals(loaded.list, ent.list);
+            Assert.assertTrue(loaded.map instanceof StringLongMap);
+            Assert.assertEquals(loaded.map, ent.map);
+            Assert.assertFalse(loaded.withNulls instanceof LongList);
+            Assert.assertEquals(loaded.withNulls, ent.withNulls);
+
+            loaded.list.add(108L);
+            loaded.map.put("second", 2L);
+            getDs().save(loaded);
+            LongCollections reloaded = getDs().find(LongCollections.class)
+                                              .filter(eq("_id", ent.id))
+                                              .first();
+            Assert.assertEquals(reloaded.list, loaded.list);
+            Assert.assertEquals(reloaded.map, loaded.map);
+        });
+    }
+
+    @Entity
+    private static class LongCollections {
+        @Id
+        private ObjectId id;
+        private List<Long> list;
+        private Map<String, Long> map;
+        private List<Long> withNulls;
+    }
+
     @Entity
     private static class Longs {
         private final List<Long[]> listWrapperArray = new ArrayList<>();
@@ -17,19 +17,23 @@ import dev.morphia.annotations.Indexed;
 import dev.morphia.annotations.PrePersist;
 import dev.morphia.annotations.Property;
 import dev.morphia.annotations.Reference;
+import dev.morphia.mapping.codec.references.MorphiaProxy;
 import dev.morphia.query.ArraySlice;
 import dev.morphia.query.CountOptions;
 import dev.morphia.query.DefaultQueryFactory;
 import dev.morphia.query.FindOptions;
 import dev.morphia.query.LegacyQueryFactory;
 import dev.morphia.query.MorphiaCursor;
+import dev.morphia.query.PreparedQuery;
 import dev.morphia.query.Query;
+import dev.morphia.query.QueryException;
 import dev.morphia.query.QueryFactory;
 import dev.morphia.query.ValidationException;
 import dev.morphia.test.TestBase;
 import dev.morphia.test.models.City;
 import dev.morphia.test.models.CustomId;
 import dev.morphia.test.models.FacebookUser;
+import dev.morphia.test.models.Hotel;
 import dev.morphia.test.models.Keys;
 import dev.morphia.test.models.Rectangle;
 import dev.morphia.test.models.Student;
@@ -41,18 +45,23 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Collation.builder;
+import static dev.morphia.query.Parameter.param;
 import static dev.morphia.query.Sort.ascending;
 import static dev.morphia.query.Sort.descending;
 import static dev.morphia.query.Sort.naturalAscending;
@@ -80,6 +89,7 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -720,6 +730,63 @@ public class TestQuery extends TestBase {
         assertNotNull(k1Loaded.getRect().getId());
     }
 
+    @Test
+    public void testLazyDecoding() {
+        Hotel hotel = new Hotel();
+        hotel.setName("Grand");
+        hotel.setStars(4);
+        hotel.setTags(new HashSet<>(asList("pool", "spa")));
+        getDs().save(hotel);
+
+        Hotel lazy = getDs().find(Hotel.class).first(new FindOptions().lazyDecoding(true));
+        assertNotNull(lazy);
+        assertTrue(lazy instanceof MorphiaProxy);
+        assertFalse(((MorphiaProxy) lazy).isFetched());
+        assertEquals(lazy.getId(), hotel.getId());
+        assertEquals(lazy.getName(), "Grand");
+        assertFalse(((MorphiaProxy) lazy).isFetched());
+        assertEquals(lazy.getStars(), 4);
+        assertEquals(lazy.getTags(), hotel.getTags());
+
+        lazy.setName("Grander");
+        assertEquals(lazy.getName(), "Grander");
+        getDs().save(lazy);
+        assertTrue(((MorphiaProxy) lazy).isFetched());
+
+        Hotel loaded = getDs().find(Hotel.class).first();
+        assertNotNull(loaded);
+        assertFalse(loaded instanceof MorphiaProxy);
+        assertEquals(loaded.getName(), "Grander");
+        assertEquals(loaded.getStars(), 4);
+        assertEquals(loaded.getTags(), hotel.getTags());
+    }
+
+    @Test
+    public void testLazyDecodingAcrossThreads() throws Exception {
+        Hotel hotel = new Hotel();
+        hotel.setName("Grand");
+        hotel.setStars(4);
+        hotel.setTags(new HashSet<>(asList("pool", "spa")));
+        getDs().save(hotel);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 100; round++) {
+                Hotel lazy = getDs().find(Hotel.class).first(new FindOptions().lazyDecoding(true));
+                assertNotNull(lazy);
+                List<Future<String>> reads = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    reads.add(executor.submit(() -> lazy.getName() + lazy.getStars() + lazy.getTags()));
+                }
+                for (Future<String> read : reads) {
+                    assertEquals(read.get(), "Grand4" + hotel.getTags());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testKeys() {
         PhotoWithKeywords pwk1 = new PhotoWithKeywords("california", "nevada", "arizona");
@@ -911,6 +978,25 @@ public class TestQuery extends TestBase {
                           .first());
     }
 
+    @Test
+    public void testPreparedQuery() {
+        getDs().save(asList(new Rectangle(1, 10), new Rectangle(4, 2), new Rectangle(1, 5), new Rectangle(10, 10)));
+
+        PreparedQuery<Rectangle> query = getDs().find(Rectangle.class)
+                                                .filter(eq("height", param("height")), gte("width", param("width")))
+                                                .prepare(new FindOptions().sort(descending("width")));
+        assertEquals(query.getParameterNames(), Set.of("height", "width"));
+
+        List<Rectangle> list = query.iterator(Map.of("height", 1, "width", 1)).toList();
+        assertEquals(list, asList(new Rectangle(1, 10), new Rectangle(1, 5)));
+        assertEquals(query.count(Map.of("height", 1, "width", 6)), 1);
+        assertEquals(query.first(Map.of("height", 10, "width", 0)), new Rectangle(10, 10));
+        assertNull(query.first(Map.of("height", 4, "width", 3)));
+
+        assertThrows(QueryException.class, () -> query.count(Map.of("height", 1)));
+        assertThrows(QueryException.class, () -> query.count(Map.of("height", 1, "width", 1, "depth", 1)));
+    }
+
     @Test
     public void testProject() {
         getDs().save(new ContainsRenamedFields("Frank", "Zappa"));
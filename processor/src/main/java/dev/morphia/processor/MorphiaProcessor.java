@@ -0,0 +1,225 @@
+package dev.morphia.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code dev.morphia.mapping.codec.pojo.GeneratedCodec} for each {@code @Entity} and {@code @Embedded} type it can support.
+ * The generated types read and write properties directly where the java access rules allow and through the mapped accessor where they
+ * don't.  Types which can not be instantiated from generated code, e.g. private types or types without a non-private no-arg constructor,
+ * are skipped and continue to use the reflective codec at runtime.
+ *
+ * @since 2.3
+ */
+@SupportedAnnotationTypes({"dev.morphia.annotations.Entity", "dev.morphia.annotations.Embedded"})
+public class MorphiaProcessor extends AbstractProcessor {
+    private static final String SUFFIX = "_MorphiaCodec";
+    private static final Set<String> TRANSIENT_ANNOTATIONS = Set.of("dev.morphia.annotations.Transient", "java.beans.Transient");
+
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (type.getKind() == ElementKind.CLASS && processed.add(type.getQualifiedName().toString()) && isSupported(type)) {
+                    generate(type);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String codecName = flatName(type) + SUFFIX;
+        String entity = type.getQualifiedName().toString();
+        List<VariableElement> fields = new ArrayList<>(findProperties(type).values());
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(MorphiaProcessor.class.getName()).append("\")\n")
+              .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+              .append("public final class ").append(codecName)
+              .append(" extends dev.morphia.mapping.codec.pojo.GeneratedCodec<").append(entity).append("> {\n")
+              .append("    public ").append(codecName).append("() {\n")
+              .append("        super(").append(entity).append(".class");
+        for (VariableElement field : fields) {
+            source.append(", \"").append(field.getSimpleName()).append("\"");
+        }
+        source.append(");\n")
+              .append("    }\n\n")
+              .append("    @Override\n")
+              .append("    public ").append(entity).append(" newInstance() {\n")
+              .append("        return new ").append(entity).append("();\n")
+              .append("    }\n\n")
+              .append("    @Override\n")
+              .append("    protected void encodeProperties(org.bson.BsonWriter writer, ").append(entity)
+              .append(" entity, org.bson.codecs.EncoderContext context) {\n");
+        for (int slot = 0; slot < fields.size(); slot++) {
+            VariableElement field = fields.get(slot);
+            String value = isReadable(type, field) ? fieldReference(type, field) : "get(entity, " + slot + ")";
+            source.append("        encode(writer, context, ").append(slot).append(", ").append(value).append(");\n");
+        }
+        source.append("    }\n\n")
+              .append("    @Override\n")
+              .append("    protected void decodeProperty(org.bson.BsonReader reader, org.bson.codecs.DecoderContext context, ")
+              .append(entity).append(" entity, int slot) {\n")
+              .append("        switch (slot) {\n");
+        for (int slot = 0; slot < fields.size(); slot++) {
+            VariableElement field = fields.get(slot);
+            String value = "decode(reader, context, " + slot + ")";
+            source.append("            case ").append(slot).append(":\n");
+            if (isWritable(type, field)) {
+                String cast = castType(field);
+                source.append("                ").append(fieldReference(type, field)).append(" = ")
+                      .append(cast.equals("java.lang.Object") ? "" : "(" + cast + ") ").append(value).append(";\n");
+            } else {
+                source.append("                set(entity, ").append(slot).append(", ").append(value).append(");\n");
+            }
+            source.append("                break;\n");
+        }
+        source.append("            default:\n")
+              .append("                reader.skipValue();\n")
+              .append("        }\n")
+              .append("    }\n")
+              .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Could not generate " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+
+    private Map<String, VariableElement> findProperties(TypeElement type) {
+        Map<String, VariableElement> properties = new LinkedHashMap<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC) && !isTransient(field)) {
+                    properties.putIfAbsent(field.getSimpleName().toString(), field);
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return properties;
+    }
+
+    private boolean isTransient(VariableElement field) {
+        if (field.getModifiers().contains(Modifier.TRANSIENT)) {
+            return true;
+        }
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (TRANSIENT_ANNOTATIONS.contains(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSupported(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT) || !isAccessible(type, type)) {
+            return false;
+        }
+        for (Element enclosing = type; enclosing.getKind() != ElementKind.PACKAGE; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.getEnclosingElement().getKind() != ElementKind.PACKAGE && !enclosing.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isReadable(TypeElement type, VariableElement field) {
+        TypeElement declaring = (TypeElement) field.getEnclosingElement();
+        return isAccessible(type, declaring) && isAccessible(type, field);
+    }
+
+    private boolean isWritable(TypeElement type, VariableElement field) {
+        TypeMirror fieldType = field.asType();
+        if (!isReadable(type, field) || field.getModifiers().contains(Modifier.FINAL) || fieldType.getKind() == TypeKind.ARRAY) {
+            return false;
+        }
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(fieldType);
+        return erasure.getKind().isPrimitive()
+               || erasure.getKind() == TypeKind.DECLARED && isAccessible(type, ((DeclaredType) erasure).asElement());
+    }
+
+    /**
+     * Checks whether an element and everything enclosing it can be referenced from a type generated in the package of {@code type}.
+     */
+    private boolean isAccessible(TypeElement type, Element element) {
+        PackageElement target = packageOf(type);
+        for (Element current = element; current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                || !modifiers.contains(Modifier.PUBLIC) && !packageOf(current).equals(target)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String fieldReference(TypeElement type, VariableElement field) {
+        TypeElement declaring = (TypeElement) field.getEnclosingElement();
+        String target = declaring.equals(type) ? "entity" : "((" + declaring.getQualifiedName() + ") entity)";
+        return target + "." + field.getSimpleName();
+    }
+
+    private String castType(VariableElement field) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(field.asType());
+        if (erasure.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(erasure.getKind()))
+                                .getQualifiedName().toString();
+        }
+        return ((TypeElement) ((DeclaredType) erasure).asElement()).getQualifiedName().toString();
+    }
+
+    private String flatName(TypeElement type) {
+        String qualified = type.getQualifiedName().toString();
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String simple = packageName.isEmpty() ? qualified : qualified.substring(packageName.length() + 1);
+        return simple.replace('.', '_');
+    }
+
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+}
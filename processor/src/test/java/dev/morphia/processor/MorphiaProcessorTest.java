@@ -0,0 +1,135 @@
+package dev.morphia.processor;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import dev.morphia.Datastore;
+import dev.morphia.Morphia;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.codec.MorphiaCollectionPropertyCodecProvider;
+import dev.morphia.mapping.codec.pojo.MorphiaCodec;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.testng.annotations.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class MorphiaProcessorTest {
+    private static final String ORDER = "package com.acme;\n"
+                                        + "import dev.morphia.annotations.*;\n"
+                                        + "import java.util.List;\n"
+                                        + "@Entity\n"
+                                        + "public class Order {\n"
+                                        + "    @Id Long id;\n"
+                                        + "    private String name;\n"
+                                        + "    int count;\n"
+                                        + "    List<String> tags;\n"
+                                        + "    @Transient String ignored;\n"
+                                        + "    @Embedded public static class Line { public double price; }\n"
+                                        + "    @Embedded private static class Hidden { }\n"
+                                        + "}\n";
+
+    @Test
+    public void generatesCodecs() throws IOException {
+        Path output = compile(ORDER);
+
+        File acme = output.resolve("com/acme").toFile();
+        String order = Files.readString(acme.toPath().resolve("Order_MorphiaCodec.java"));
+        assertTrue(order.contains("super(com.acme.Order.class, \"id\", \"name\", \"count\", \"tags\");"), order);
+        assertTrue(order.contains("entity.count = (java.lang.Integer) decode(reader, context, 2);"), order);
+        assertTrue(order.contains("set(entity, 1, decode(reader, context, 1));"), order);
+        assertTrue(new File(acme, "Order_Line_MorphiaCodec.java").exists());
+        assertFalse(new File(acme, "Order_Hidden_MorphiaCodec.java").exists());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void roundTripsThroughGeneratedCodec() throws Exception {
+        Path output = compile(ORDER);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+             MongoClient client = MongoClients.create()) {
+            Class<Object> type = (Class<Object>) loader.loadClass("com.acme.Order");
+            Datastore datastore = Morphia.createDatastore(client, "morphia_processor");
+            Mapper mapper = datastore.getMapper();
+            mapper.map(type);
+
+            MorphiaCodec<Object> generated = (MorphiaCodec<Object>) mapper.getCodecRegistry().get(type);
+            Object encoder = generated.getEncoder();
+            assertEquals(encoder.getClass().getSimpleName(), "GeneratedEncoder");
+            MorphiaCodec<Object> reflective = new MorphiaCodec<>(datastore, mapper.getEntityModel(type),
+                List.of(new MorphiaCollectionPropertyCodecProvider()), mapper.getDiscriminatorLookup(), mapper.getCodecRegistry());
+
+            Object order = type.getDeclaredConstructor().newInstance();
+            set(order, "id", 42L);
+            set(order, "name", "widgets");
+            set(order, "count", 3);
+            set(order, "tags", List.of("blue", "large"));
+
+            BsonDocument encoded = encode(generated, order);
+            assertEquals(encoded, encode(reflective, order));
+
+            Object decoded = generated.decode(new BsonDocumentReader(encoded), DecoderContext.builder().build());
+            for (String field : List.of("id", "name", "count", "tags")) {
+                assertEquals(get(decoded, field), get(order, field), field);
+            }
+            assertEquals(encode(reflective, decoded), encoded);
+        }
+    }
+
+    private static Path compile(String source) throws IOException {
+        Path output = Files.createTempDirectory("morphia-processor");
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///com/acme/Order.java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            };
+            List<String> options = List.of("-classpath", System.getProperty("java.class.path"),
+                "-d", output.toString(), "-s", output.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, List.of(file));
+            task.setProcessors(List.of(new MorphiaProcessor()));
+            assertTrue(task.call(), "The generated sources should compile");
+        }
+        return output;
+    }
+
+    private static BsonDocument encode(MorphiaCodec<Object> codec, Object entity) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), entity, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static Object get(Object entity, String name) throws ReflectiveOperationException {
+        Field field = entity.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(entity);
+    }
+
+    private static void set(Object entity, String name, Object value) throws ReflectiveOperationException {
+        Field field = entity.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(entity, value);
+    }
+}
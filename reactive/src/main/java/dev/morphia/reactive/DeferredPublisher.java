@@ -0,0 +1,46 @@
+package dev.morphia.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates the publisher to subscribe to only when subscribed to itself.  Writes change their entities, bumping versions for example, as
+ * they are prepared so deferring the preparation keeps entities untouched until a write is actually requested.
+ *
+ * @param <T> the item type
+ * @morphia.internal
+ * @since 2.3
+ */
+final class DeferredPublisher<T> implements Publisher<T> {
+    private final Supplier<Publisher<T>> supplier;
+
+    DeferredPublisher(Supplier<Publisher<T>> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Publisher<T> publisher;
+        try {
+            publisher = supplier.get();
+        } catch (RuntimeException e) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void cancel() {
+                    // nothing was started
+                }
+
+                @Override
+                public void request(long n) {
+                    // the failure is signalled without any demand
+                }
+            });
+            subscriber.onError(e);
+            return;
+        }
+        publisher.subscribe(subscriber);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.morphia.reactive;
+
+import com.mongodb.lang.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.function.Function;
+
+/**
+ * Maps each item of another publisher as it is delivered.  Requests and cancellations go straight to the source so a subscriber's demand
+ * is what drives the source, and an item is only mapped once it has been requested.  If the mapping fails the source is cancelled and
+ * the failure is signalled instead.  An optional callback is run when the subscriber cancels.
+ *
+ * @param <S> the source item type
+ * @param <T> the mapped item type
+ * @morphia.internal
+ * @since 2.3
+ */
+final class MappingPublisher<S, T> implements Publisher<T> {
+    private final Publisher<S> source;
+    private final Function<? super S, ? extends T> mapper;
+    private final Function<Throwable, Throwable> errors;
+    @Nullable
+    private final Runnable cancelled;
+
+    MappingPublisher(Publisher<S> source, Function<? super S, ? extends T> mapper) {
+        this(source, mapper, Function.identity());
+    }
+
+    MappingPublisher(Publisher<S> source, Function<? super S, ? extends T> mapper, Function<Throwable, Throwable> errors) {
+        this(source, mapper, errors, null);
+    }
+
+    MappingPublisher(Publisher<S> source, Function<? super S, ? extends T> mapper, Function<Throwable, Throwable> errors,
+                     @Nullable Runnable cancelled) {
+        this.source = source;
+        this.mapper = mapper;
+        this.errors = errors;
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        source.subscribe(new MappingSubscriber<>(subscriber, mapper, errors, cancelled));
+    }
+
+    private static final class MappingSubscriber<S, T> implements Subscriber<S> {
+        private final Subscriber<? super T> downstream;
+        private final Function<? super S, ? extends T> mapper;
+        private final Function<Throwable, Throwable> errors;
+        @Nullable
+        private final Runnable cancelled;
+        private Subscription subscription;
+        private boolean done;
+
+        private MappingSubscriber(Subscriber<? super T> downstream, Function<? super S, ? extends T> mapper,
+                                  Function<Throwable, Throwable> errors, @Nullable Runnable cancelled) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.errors = errors;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                Throwable mapped;
+                try {
+                    mapped = errors.apply(throwable);
+                } catch (RuntimeException e) {
+                    mapped = e;
+                }
+                downstream.onError(mapped);
+            }
+        }
+
+        @Override
+        public void onNext(S item) {
+            if (done) {
+                return;
+            }
+            T mapped;
+            try {
+                mapped = mapper.apply(item);
+            } catch (RuntimeException e) {
+                done = true;
+                subscription.cancel();
+                downstream.onError(e);
+                return;
+            }
+            downstream.onNext(mapped);
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled == null) {
+                downstream.onSubscribe(subscription);
+                return;
+            }
+            downstream.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    subscription.request(n);
+                }
+
+                @Override
+                public void cancel() {
+                    subscription.cancel();
+                    cancelled.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,602 @@
+package dev.morphia.reactive;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.lang.Nullable;
+import com.mongodb.reactivestreams.client.AggregatePublisher;
+import com.mongodb.reactivestreams.client.FindPublisher;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import dev.morphia.Datastore;
+import dev.morphia.DeleteOptions;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.InsertOneOptions;
+import dev.morphia.UpdateOptions;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.aggregation.experimental.AggregationOptions;
+import dev.morphia.aggregation.experimental.stages.Stage;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Reference;
+import dev.morphia.internal.BatchSave;
+import dev.morphia.internal.ReadConfigurable;
+import dev.morphia.internal.SessionConfigurable;
+import dev.morphia.mapping.Mapper;
+import dev.morphia.mapping.MappingException;
+import dev.morphia.mapping.codec.pojo.EntityModel;
+import dev.morphia.mapping.codec.pojo.PropertyModel;
+import dev.morphia.mapping.codec.reader.DocumentReader;
+import dev.morphia.mapping.codec.writer.DocumentWriter;
+import dev.morphia.query.CachedEntities;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.Query;
+import dev.morphia.query.ValidationException;
+import dev.morphia.query.experimental.filters.Filter;
+import dev.morphia.query.experimental.updates.UpdateOperator;
+import dev.morphia.sofia.Sofia;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.reactivestreams.Publisher;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static dev.morphia.query.experimental.filters.Filters.eq;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A datastore whose operations return Reactive Streams {@link Publisher}s backed by the reactive streams driver so that they never block
+ * the calling thread.  Mapping, queries, updates and aggregation stages are shared with a synchronous {@link Datastore}: entities, filters,
+ * update operators and stages are built exactly as they are for it, but every read and write here is sent through the reactive client.
+ * <p>
+ * Nothing is sent until a publisher is subscribed to.  Results are read as raw documents and each is decoded only once the subscriber
+ * has requested it, so a slow subscriber holds back the fetching of further batches from the cursor rather than letting decoded entities
+ * pile up.  Unless a batch size is set, the driver sizes each batch by the outstanding demand.
+ * <p>
+ * The client sessions, entity caches and change tracking snapshots of the synchronous datastore are not used here, although its caches are
+ * still told of the writes made here.  Types with eager references, including those of their embedded types and subtypes, can not be
+ * read since resolving the references while decoding would block the driver's threads.  Lazy references and {@code MorphiaReference}
+ * properties are loaded through the synchronous datastore when they are first used.
+ *
+ * @morphia.experimental
+ * @since 2.3
+ */
+public class ReactiveDatastore {
+    private final Datastore datastore;
+    private final Mapper mapper;
+    private final MongoDatabase database;
+    private final Map<Class<?>, Boolean> eagerReferences = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a datastore writing to the same database as the synchronous one given
+     *
+     * @param client    the reactive client to use
+     * @param datastore the synchronous datastore whose mapping is used
+     */
+    public ReactiveDatastore(MongoClient client, Datastore datastore) {
+        this.datastore = datastore;
+        this.mapper = datastore.getMapper();
+        this.database = client.getDatabase(datastore.getDatabase().getName())
+                              .withCodecRegistry(mapper.getCodecRegistry());
+    }
+
+    /**
+     * Runs an aggregation
+     *
+     * @param source     the type whose collection is aggregated
+     * @param resultType the type to decode the results as
+     * @param stages     the stages of the pipeline
+     * @param <T>        the source type
+     * @param <R>        the result type
+     * @return the results
+     * @see dev.morphia.aggregation.experimental.Aggregation
+     */
+    public <T, R> Publisher<R> aggregate(Class<T> source, Class<R> resultType, List<Stage> stages) {
+        return aggregate(source, resultType, stages, new AggregationOptions());
+    }
+
+    /**
+     * Runs an aggregation
+     *
+     * @param source     the type whose collection is aggregated
+     * @param resultType the type to decode the results as
+     * @param stages     the stages of the pipeline
+     * @param options    the options to apply
+     * @param <T>        the source type
+     * @param <R>        the result type
+     * @return the results
+     * @throws UnsupportedOperationException if the result type has eager references
+     * @see dev.morphia.aggregation.experimental.Aggregation
+     */
+    public <T, R> Publisher<R> aggregate(Class<T> source, Class<R> resultType, List<Stage> stages, AggregationOptions options) {
+        checkSession(options);
+        checkReferences(resultType);
+        List<Document> pipeline = stages.stream()
+                                        .map(this::encode)
+                                        .collect(toList());
+        MongoCollection<T> collection = prepare(prepare(getCollection(source), options), options.writeConcern());
+        AggregatePublisher<RawBsonDocument> publisher = collection.aggregate(pipeline, RawBsonDocument.class)
+                                                                  .allowDiskUse(options.getAllowDiskUse())
+                                                                  .bypassDocumentValidation(options.getBypassDocumentValidation());
+        if (options.getBatchSize() > 0) {
+            publisher.batchSize(options.getBatchSize());
+        }
+        if (options.getCollation() != null) {
+            publisher.collation(options.getCollation());
+        }
+        if (options.getMaxTimeMS() > 0) {
+            publisher.maxTime(options.getMaxTimeMS(), TimeUnit.MILLISECONDS);
+        }
+        if (options.hint() != null) {
+            publisher.hint(options.hint());
+        }
+
+        if (mapper.isMappable(resultType) && !resultType.equals(source)) {
+            // as with synchronous aggregations, the source's discriminator must not pick the class the results are decoded as
+            String discriminator = mapper.getEntityModel(source).getDiscriminatorKey();
+            Codec<Document> documentCodec = mapper.getCodecRegistry().get(Document.class);
+            Codec<R> codec = mapper.getCodecRegistry().get(resultType);
+            DecoderContext context = DecoderContext.builder().build();
+            return new MappingPublisher<>(publisher, raw -> {
+                Document document = documentCodec.decode(raw.asBsonReader(), context);
+                document.remove(discriminator);
+                return codec.decode(new DocumentReader(document), context);
+            });
+        }
+        return decode(publisher, resultType);
+    }
+
+    /**
+     * Deletes an entity by its ID
+     *
+     * @param entity the entity to delete
+     * @param <T>    the entity type
+     * @return the result
+     */
+    public <T> Publisher<DeleteResult> delete(T entity) {
+        return delete(entity, new DeleteOptions());
+    }
+
+    /**
+     * Deletes an entity by its ID
+     *
+     * @param entity  the entity to delete
+     * @param options the options to apply
+     * @param <T>     the entity type
+     * @return the result
+     */
+    public <T> Publisher<DeleteResult> delete(T entity, DeleteOptions options) {
+        if (entity instanceof Class<?>) {
+            throw new MappingException(Sofia.deleteWithClass(entity.getClass().getName()));
+        }
+        Object id = mapper.getId(entity);
+        return id != null
+               ? delete(datastore.find(entity.getClass()).filter(eq("_id", id)), options)
+               : new SinglePublisher<>(DeleteResult.acknowledged(0));
+    }
+
+    /**
+     * Deletes the first document matched by a query or, if the options say so, all of them
+     *
+     * @param query   the query to match
+     * @param options the options to apply
+     * @param <T>     the entity type
+     * @return the result
+     */
+    public <T> Publisher<DeleteResult> delete(Query<T> query, DeleteOptions options) {
+        checkSession(options);
+        Document filter = query.toDocument();
+        MongoCollection<T> collection = prepare(getCollection(query.getEntityClass()), options.writeConcern());
+        Publisher<DeleteResult> result = options.isMulti()
+                                         ? collection.deleteMany(filter, options)
+                                         : collection.deleteOne(filter, options);
+        return invalidating(result, query.getEntityClass());
+    }
+
+    /**
+     * Finds the entities matching the filters
+     *
+     * @param type    the entity type
+     * @param filters the filters to apply
+     * @param <T>     the entity type
+     * @return the entities found
+     */
+    public <T> Publisher<T> find(Class<T> type, Filter... filters) {
+        return find(datastore.find(type).filter(filters));
+    }
+
+    /**
+     * Finds the entities matching a query
+     *
+     * @param query the query built using the synchronous datastore
+     * @param <T>   the entity type
+     * @return the entities found
+     */
+    public <T> Publisher<T> find(Query<T> query) {
+        return find(query, new FindOptions());
+    }
+
+    /**
+     * Finds the entities matching a query
+     *
+     * @param query   the query built using the synchronous datastore
+     * @param options the options to apply
+     * @param <T>     the entity type
+     * @return the entities found
+     * @throws UnsupportedOperationException if the entity type has eager references
+     */
+    public <T> Publisher<T> find(Query<T> query, FindOptions options) {
+        checkSession(options);
+        Class<T> type = query.getEntityClass();
+        checkReferences(type);
+        FindOptions compiled = options.compile(mapper, type);
+        FindPublisher<RawBsonDocument> publisher = prepare(getCollection(type), options).find(query.toDocument(), RawBsonDocument.class);
+
+        if (compiled.getMappedProjection() != null) {
+            publisher.projection(compiled.getMappedProjection());
+        }
+        if (compiled.getAllowDiskUse() != null) {
+            publisher.allowDiskUse(compiled.getAllowDiskUse());
+        }
+        if (compiled.getBatchSize() > 0) {
+            publisher.batchSize(compiled.getBatchSize());
+        }
+        publisher.collation(compiled.getCollation());
+        publisher.comment(compiled.getComment());
+        if (compiled.getCursorType() != null) {
+            publisher.cursorType(compiled.getCursorType());
+        }
+        publisher.hint(compiled.getHint());
+        publisher.hintString(compiled.getHintString());
+        publisher.limit(compiled.getLimit());
+        publisher.max(compiled.getMax());
+        publisher.maxAwaitTime(compiled.getMaxAwaitTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        publisher.maxTime(compiled.getMaxTime(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        publisher.min(compiled.getMin());
+        publisher.noCursorTimeout(compiled.isNoCursorTimeout());
+        publisher.partial(compiled.isPartial());
+        publisher.returnKey(compiled.isReturnKey());
+        publisher.showRecordId(compiled.isShowRecordId());
+        publisher.skip(compiled.getSkip());
+        if (compiled.getMappedSort() != null) {
+            publisher.sort(compiled.getMappedSort());
+        }
+        return decode(publisher, type);
+    }
+
+    /**
+     * @param type the entity type
+     * @param <T>  the entity type
+     * @return the reactive collection the type is mapped to
+     */
+    public <T> MongoCollection<T> getCollection(Class<T> type) {
+        EntityModel model = mapper.getEntityModel(type);
+        MongoCollection<T> collection = database.getCollection(model.getCollectionName(), type);
+
+        Entity annotation = model.getEntityAnnotation();
+        if (annotation != null && WriteConcern.valueOf(annotation.concern()) != null) {
+            collection = collection.withWriteConcern(WriteConcern.valueOf(annotation.concern()));
+        }
+        return collection;
+    }
+
+    /**
+     * @return the reactive database
+     */
+    public MongoDatabase getDatabase() {
+        return database;
+    }
+
+    /**
+     * @return the synchronous datastore whose mapping is used
+     */
+    public Datastore getDatastore() {
+        return datastore;
+    }
+
+    /**
+     * @return the mapper used
+     */
+    public Mapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Inserts an entity
+     *
+     * @param entity the entity to insert
+     * @param <T>    the entity type
+     * @return the entity once inserted
+     */
+    public <T> Publisher<T> insert(T entity) {
+        return insert(entity, new InsertOneOptions());
+    }
+
+    /**
+     * Inserts an entity
+     *
+     * @param entity  the entity to insert
+     * @param options the options to apply
+     * @param <T>     the entity type
+     * @return the entity once inserted
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Publisher<T> insert(T entity, InsertOneOptions options) {
+        checkSession(options);
+        return new DeferredPublisher<>(() -> {
+            PropertyModel versionProperty = mapper.getEntityModel(entity.getClass()).getVersionProperty();
+            Object oldVersion = setInitialVersion(versionProperty, entity);
+            MongoCollection<T> collection = prepare(getCollection((Class<T>) entity.getClass()), options.writeConcern());
+            return new MappingPublisher<>(collection.insertOne(entity, options.getOptions()), result -> {
+                invalidate(entity);
+                return entity;
+            }, error -> {
+                updateVersion(entity, versionProperty, oldVersion);
+                return error;
+            });
+        });
+    }
+
+    /**
+     * Inserts entities stored in the same collection
+     *
+     * @param entities the entities to insert
+     * @param options  the options to apply
+     * @param <T>      the entity type
+     * @return the entities once inserted
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Publisher<List<T>> insert(List<T> entities, InsertManyOptions options) {
+        checkSession(options);
+        if (entities.isEmpty()) {
+            return new SinglePublisher<>(entities);
+        }
+        return new DeferredPublisher<>(() -> {
+            Class<T> type = checkCollection(entities);
+            PropertyModel versionProperty = mapper.getEntityModel(type).getVersionProperty();
+            List<Object> oldVersions = new ArrayList<>(entities.size());
+            for (T entity : entities) {
+                oldVersions.add(setInitialVersion(versionProperty, entity));
+            }
+            MongoCollection<T> collection = prepare(getCollection(type), options.writeConcern());
+            return new MappingPublisher<>(collection.insertMany(entities, options.getOptions()), result -> {
+                entities.forEach(this::invalidate);
+                return entities;
+            }, error -> {
+                for (int i = 0; i < entities.size(); i++) {
+                    updateVersion(entities.get(i), versionProperty, oldVersions.get(i));
+                }
+                return error;
+            });
+        });
+    }
+
+    /**
+     * Saves an entity, inserting it if it is new and replacing the stored document otherwise
+     *
+     * @param entity the entity to save
+     * @param <T>    the entity type
+     * @return the entity once saved
+     */
+    public <T> Publisher<T> save(T entity) {
+        return save(entity, new InsertOneOptions());
+    }
+
+    /**
+     * Saves an entity, inserting it if it is new and replacing the stored document otherwise
+     *
+     * @param entity  the entity to save
+     * @param options the options to apply
+     * @param <T>     the entity type
+     * @return the entity once saved
+     * @see Datastore#save(Object, InsertOneOptions)
+     */
+    public <T> Publisher<T> save(T entity, InsertOneOptions options) {
+        checkSession(options);
+        InsertManyOptions insertManyOptions = new InsertManyOptions()
+                                                  .bypassDocumentValidation(options.getBypassDocumentValidation())
+                                                  .writeConcern(options.writeConcern());
+        return new MappingPublisher<>(save(List.of(entity), insertManyOptions), saved -> entity);
+    }
+
+    /**
+     * Saves entities stored in the same collection using a single bulk write
+     *
+     * @param entities the entities to save
+     * @param <T>      the entity type
+     * @return the entities once saved
+     */
+    public <T> Publisher<List<T>> save(List<T> entities) {
+        return save(entities, new InsertManyOptions());
+    }
+
+    /**
+     * Saves entities stored in the same collection using a single bulk write.  New entities are inserted and the others replaced using
+     * the same version checks as {@link Datastore#save(List, InsertManyOptions)}.  When writes fail, the versions of the entities not
+     * written are rolled back and a failed versioned write is signalled as a {@link VersionMismatchException}.
+     *
+     * @param entities the entities to save
+     * @param options  the options to apply
+     * @param <T>      the entity type
+     * @return the entities once saved
+     */
+    public <T> Publisher<List<T>> save(List<T> entities, InsertManyOptions options) {
+        checkSession(options);
+        if (entities.isEmpty()) {
+            return new SinglePublisher<>(entities);
+        }
+        return new DeferredPublisher<>(() -> {
+            Class<T> type = checkCollection(entities);
+            BatchSave<T> batch = new BatchSave<>(mapper, entities, options);
+            MongoCollection<T> collection = prepare(getCollection(type), options.writeConcern());
+            return new MappingPublisher<>(collection.bulkWrite(batch.getModels(), batch.getOptions()), result -> {
+                entities.forEach(this::invalidate);
+                return entities;
+            }, error -> {
+                entities.forEach(this::invalidate);
+                return error instanceof MongoBulkWriteException ? batch.rollback((MongoBulkWriteException) error) : error;
+            }, () -> entities.forEach(this::invalidate));
+        });
+    }
+
+    /**
+     * Updates the first document matched by a query or, if the options say so, all of them
+     *
+     * @param query   the query to match
+     * @param first   the first update operator
+     * @param updates any further update operators
+     * @param <T>     the entity type
+     * @return the result
+     */
+    public <T> Publisher<UpdateResult> update(Query<T> query, UpdateOperator first, UpdateOperator... updates) {
+        return update(query, new UpdateOptions(), first, updates);
+    }
+
+    /**
+     * Updates the first document matched by a query or, if the options say so, all of them.  The version of versioned entities is
+     * incremented just as it is by {@link Query#update(UpdateOperator, UpdateOperator...)}.
+     *
+     * @param query   the query to match
+     * @param options the options to apply
+     * @param first   the first update operator
+     * @param updates any further update operators
+     * @param <T>     the entity type
+     * @return the result
+     */
+    public <T> Publisher<UpdateResult> update(Query<T> query, UpdateOptions options, UpdateOperator first, UpdateOperator... updates) {
+        checkSession(options);
+        Document filter = query.toDocument();
+        Document update = query.update(first, updates).toDocument();
+        MongoCollection<T> collection = prepare(getCollection(query.getEntityClass()), options.writeConcern());
+        Publisher<UpdateResult> result = options.isMulti()
+                                         ? collection.updateMany(filter, update, options)
+                                         : collection.updateOne(filter, update, options);
+        return invalidating(result, query.getEntityClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Class<T> checkCollection(List<T> entities) {
+        Class<T> type = (Class<T>) entities.get(0).getClass();
+        String collection = mapper.getEntityModel(type).getCollectionName();
+        for (T entity : entities) {
+            String other = mapper.getEntityModel(entity.getClass()).getCollectionName();
+            if (!collection.equals(other)) {
+                throw new IllegalArgumentException(Sofia.reactiveMixedCollections(collection, other));
+            }
+        }
+        return type;
+    }
+
+    private void checkReferences(Class<?> type) {
+        if (mapper.isMappable(type)
+            && eagerReferences.computeIfAbsent(type, t -> hasEagerReferences(mapper.getEntityModel(t), new HashSet<>()))) {
+            throw new UnsupportedOperationException(Sofia.reactiveEagerReferences(type.getName()));
+        }
+    }
+
+    private void checkSession(SessionConfigurable<?> options) {
+        if (options.clientSession() != null) {
+            throw new IllegalArgumentException(Sofia.reactiveSessionUnsupported());
+        }
+    }
+
+    private <T> Publisher<T> decode(Publisher<RawBsonDocument> documents, Class<T> type) {
+        Codec<T> codec = mapper.getCodecRegistry().get(type);
+        DecoderContext context = DecoderContext.builder().build();
+        return new MappingPublisher<>(documents, document -> codec.decode(document.asBsonReader(), context));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Document encode(Stage stage) {
+        Codec codec = mapper.getCodecRegistry().get(stage.getClass());
+        DocumentWriter writer = new DocumentWriter();
+        codec.encode(writer, stage, EncoderContext.builder().build());
+        return writer.getDocument();
+    }
+
+    private void invalidate(Object entity) {
+        CachedEntities.invalidate(datastore, mapper.getEntityModel(entity.getClass()).getCollectionName(), mapper.getId(entity));
+    }
+
+    private boolean hasEagerReferences(EntityModel model, Set<EntityModel> visited) {
+        if (!visited.add(model)) {
+            return false;
+        }
+        for (PropertyModel property : model.getProperties()) {
+            Reference reference = property.getAnnotation(Reference.class);
+            if (reference != null) {
+                if (!reference.lazy()) {
+                    return true;
+                }
+            } else if (mapper.isMappable(property.getNormalizedType())
+                       && hasEagerReferences(mapper.getEntityModel(property.getNormalizedType()), visited)) {
+                return true;
+            }
+        }
+        for (EntityModel subtype : model.getSubtypes()) {
+            if (hasEagerReferences(subtype, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Invalidates the cached entities of a collection once a write to it completes, fails or is cancelled since, in each case, the
+     * server may have applied it
+     */
+    private <R> Publisher<R> invalidating(Publisher<R> result, Class<?> type) {
+        String collection = mapper.getEntityModel(type).getCollectionName();
+        return new MappingPublisher<>(result, r -> {
+            CachedEntities.invalidate(datastore, collection, null);
+            return r;
+        }, error -> {
+            CachedEntities.invalidate(datastore, collection, null);
+            return error;
+        }, () -> CachedEntities.invalidate(datastore, collection, null));
+    }
+
+    private <T> MongoCollection<T> prepare(MongoCollection<T> collection, ReadConfigurable<?> options) {
+        MongoCollection<T> updated = collection;
+        if (options.getReadConcern() != null) {
+            updated = updated.withReadConcern(options.getReadConcern());
+        }
+        if (options.getReadPreference() != null) {
+            updated = updated.withReadPreference(options.getReadPreference());
+        }
+        return updated;
+    }
+
+    private <T> MongoCollection<T> prepare(MongoCollection<T> collection, @Nullable WriteConcern writeConcern) {
+        return writeConcern == null ? collection : collection.withWriteConcern(writeConcern);
+    }
+
+    @Nullable
+    private Object setInitialVersion(@Nullable PropertyModel versionProperty, Object entity) {
+        if (versionProperty == null) {
+            return null;
+        }
+        Object value = versionProperty.getValue(entity);
+        if (value != null && !value.equals(0L)) {
+            throw new ValidationException(Sofia.versionManuallySet());
+        }
+        versionProperty.setValue(entity, 1L);
+        return value;
+    }
+
+    private void updateVersion(Object entity, @Nullable PropertyModel versionProperty, @Nullable Object version) {
+        if (versionProperty != null) {
+            versionProperty.setValue(entity, version);
+        }
+    }
+}
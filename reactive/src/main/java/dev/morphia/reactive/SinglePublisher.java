@@ -0,0 +1,46 @@
+package dev.morphia.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes a single, already known item once it is requested.
+ *
+ * @param <T> the item type
+ * @morphia.internal
+ * @since 2.3
+ */
+final class SinglePublisher<T> implements Publisher<T> {
+    private final T item;
+
+    SinglePublisher(T item) {
+        this.item = item;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        AtomicBoolean done = new AtomicBoolean();
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void cancel() {
+                done.set(true);
+            }
+
+            @Override
+            public void request(long n) {
+                if (!done.compareAndSet(false, true)) {
+                    return;
+                }
+                if (n <= 0) {
+                    subscriber.onError(new IllegalArgumentException("Demand must be positive but was " + n));
+                } else {
+                    subscriber.onNext(item);
+                    subscriber.onComplete();
+                }
+            }
+        });
+    }
+}
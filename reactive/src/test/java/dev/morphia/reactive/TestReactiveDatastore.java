@@ -0,0 +1,296 @@
+package dev.morphia.reactive;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import dev.morphia.DeleteOptions;
+import dev.morphia.InsertManyOptions;
+import dev.morphia.VersionMismatchException;
+import dev.morphia.annotations.Entity;
+import dev.morphia.annotations.Id;
+import dev.morphia.annotations.Reference;
+import dev.morphia.annotations.Version;
+import dev.morphia.query.FindOptions;
+import dev.morphia.query.Sort;
+import dev.morphia.test.TestBase;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static dev.morphia.aggregation.experimental.stages.Limit.limit;
+import static dev.morphia.aggregation.experimental.stages.Match.match;
+import static dev.morphia.query.experimental.filters.Filters.eq;
+import static dev.morphia.query.experimental.filters.Filters.gte;
+import static dev.morphia.query.experimental.updates.UpdateOperators.inc;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestReactiveDatastore extends TestBase {
+    private MongoClient client;
+
+    @AfterClass
+    public void closeClient() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    public void backpressure() throws InterruptedException {
+        ReactiveDatastore reactive = getReactive();
+        List<Widget> widgets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            widgets.add(new Widget("widget " + i, i));
+        }
+        await(reactive.insert(widgets, new InsertManyOptions()));
+
+        List<Widget> received = new ArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(3);
+        CompletableFuture<Subscription> subscribed = new CompletableFuture<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        reactive.find(Widget.class).subscribe(new Subscriber<>() {
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onNext(Widget widget) {
+                received.add(widget);
+                delivered.countDown();
+            }
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscribed.complete(subscription);
+                subscription.request(3);
+            }
+        });
+
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(received.size(), 3);
+        assertFalse(completed.isDone());
+        subscribed.join().cancel();
+    }
+
+    @Test
+    public void findAndAggregate() {
+        ReactiveDatastore reactive = getReactive();
+        List<Widget> widgets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            widgets.add(new Widget("widget " + i, i));
+        }
+        await(reactive.save(widgets));
+        assertEquals(getDs().find(Widget.class).count(), 10);
+
+        List<Widget> found = await(reactive.find(getDs().find(Widget.class).filter(gte("count", 5)),
+            new FindOptions().sort(Sort.descending("count")).limit(3).batchSize(2)));
+        assertEquals(found.stream().map(w -> w.count).collect(toList()), List.of(9, 8, 7));
+
+        List<Document> aggregated = await(reactive.aggregate(Widget.class, Document.class,
+            List.of(match(eq("name", "widget 4")), limit(1))));
+        assertEquals(aggregated.size(), 1);
+        assertEquals(aggregated.get(0).get("count"), 4);
+    }
+
+    @Test
+    public void invalidatesOnErrorAndCancel() {
+        List<String> signals = new ArrayList<>();
+        Publisher<String> failing = subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    subscriber.onError(new IllegalStateException("failed"));
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        };
+        MappingPublisher<String, String> mapped = new MappingPublisher<>(failing, s -> s, error -> {
+            signals.add("error");
+            return error;
+        }, () -> signals.add("cancel"));
+        assertThrows(IllegalStateException.class, () -> await(mapped));
+        assertEquals(signals, List.of("error"));
+
+        Publisher<String> silent = subscriber -> {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                    signals.add("source cancelled");
+                }
+            });
+        };
+        MappingPublisher<String, String> cancelled = new MappingPublisher<>(silent, s -> s, error -> error, () -> signals.add("cancel"));
+        cancelled.subscribe(new Subscriber<>() {
+            @Override
+            public void onComplete() {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onNext(String item) {
+            }
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.cancel();
+            }
+        });
+        assertEquals(signals, List.of("error", "source cancelled", "cancel"));
+    }
+
+    @Test
+    public void rejectsEagerReferences() {
+        ReactiveDatastore reactive = getReactive();
+        getMapper().map(Order.class);
+        assertThrows(UnsupportedOperationException.class, () -> reactive.find(Order.class));
+        assertThrows(UnsupportedOperationException.class, () -> reactive.aggregate(Order.class, Order.class, List.of(limit(1))));
+        assertEquals(await(reactive.aggregate(Order.class, Document.class, List.of(limit(1)))), List.of());
+    }
+
+    @Test
+    public void writes() {
+        ReactiveDatastore reactive = getReactive();
+        Widget widget = new Widget("sprocket", 1);
+        Publisher<Widget> save = reactive.save(widget);
+        assertNull(widget.version, "nothing is written until subscribed to");
+
+        assertEquals(await(save), List.of(widget));
+        assertNotNull(widget.id);
+        assertEquals(widget.version.longValue(), 1);
+
+        Widget stale = getDs().find(Widget.class).filter(eq("_id", widget.id)).first();
+        widget.count = 2;
+        await(reactive.save(widget));
+        assertEquals(widget.version.longValue(), 2);
+
+        stale.count = 5;
+        assertThrows(VersionMismatchException.class, () -> await(reactive.save(stale)));
+        assertEquals(stale.version.longValue(), 1);
+
+        assertEquals(await(reactive.update(getDs().find(Widget.class).filter(eq("_id", widget.id)), inc("count", 3)))
+                         .get(0).getModifiedCount(), 1);
+        Widget updated = await(reactive.find(Widget.class, eq("_id", widget.id))).get(0);
+        assertEquals(updated.count, 5);
+        assertEquals(updated.version.longValue(), 3);
+
+        assertEquals(await(reactive.delete(getDs().find(Widget.class), new DeleteOptions().multi(true)))
+                         .get(0).getDeletedCount(), 1);
+        assertEquals(getDs().find(Widget.class).count(), 0);
+    }
+
+    private static <T> List<T> await(Publisher<T> publisher) {
+        CompletableFuture<List<T>> future = new CompletableFuture<>();
+        publisher.subscribe(new Subscriber<>() {
+            private final List<T> items = new ArrayList<>();
+            private Subscription subscription;
+
+            @Override
+            public void onComplete() {
+                future.complete(items);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+        });
+        try {
+            return future.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException | TimeoutException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private ReactiveDatastore getReactive() {
+        getMapper().map(Widget.class);
+        if (client == null) {
+            List<ServerAddress> hosts = getMongoClient().getClusterDescription()
+                                                        .getServerDescriptions().stream()
+                                                        .map(ServerDescription::getAddress)
+                                                        .collect(toList());
+            client = MongoClients.create(MongoClientSettings.builder()
+                                                            .applyToClusterSettings(builder -> builder.hosts(hosts))
+                                                            .build());
+        }
+        return new ReactiveDatastore(client, getDs());
+    }
+
+    @Entity("orders")
+    private static class Order {
+        @Id
+        private ObjectId id;
+        @Reference
+        private Widget widget;
+    }
+
+    @Entity("widgets")
+    private static class Widget {
+        @Id
+        private ObjectId id;
+        @Version
+        private Long version;
+        private String name;
+        private int count;
+
+        Widget() {
+        }
+
+        Widget(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+}